@@ -0,0 +1,25 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous relationship resolver contract.
+ * <p>
+ * Works the same way as {@link RelationshipResolver}, but returns without waiting for the response. All resolvable
+ * relationships of a resource are requested at once, so a resource with several relationships costs a single round
+ * trip instead of one per relationship.
+ * </p>
+ *
+ * @see ResourceConverter#setGlobalAsyncResolver(AsyncRelationshipResolver)
+ * @see ResourceConverter#setMaxConcurrentResolutions(int)
+ */
+public interface AsyncRelationshipResolver {
+
+	/**
+	 * Starts resolving relationship data.
+	 * @param relationshipURL URL. eg. <code>users/1</code> or <code>https://api.myhost.com/uers/1</code>
+	 * @return future completed with raw response returned by the server (should be JSONAPI spec document), or
+	 * completed exceptionally in case request fails
+	 */
+	CompletableFuture<byte []> resolve(String relationshipURL);
+}
@@ -0,0 +1,26 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch relationship resolver contract.
+ * <p>
+ * Receives relationship URLs of a whole level of the resource graph at once, e.g. links of all resources of a
+ * collection document, so that implementors can fetch them using a single bulk request (e.g.
+ * <code>users?filter[id]=1,2,3</code>) instead of one request per URL. Documents returned for the first level are
+ * scanned for the next level of URLs, until no new URLs are found.
+ * </p>
+ *
+ * @see ResourceConverter#setBatchResolver(BatchRelationshipResolver)
+ */
+public interface BatchRelationshipResolver {
+
+	/**
+	 * Resolve relationship data of multiple relationships.
+	 * @param relationshipURLs URLs. eg. <code>users/1</code> or <code>https://api.myhost.com/uers/1</code>
+	 * @return raw response for each URL (should be JSONAPI spec document), keyed by URL. URLs missing from the result
+	 * are resolved one by one using the regular resolvers
+	 */
+	Map<String, byte []> resolve(Set<String> relationshipURLs);
+}
@@ -0,0 +1,121 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Entry of the <code>included</code> array that is indexed by its identifier, but bound only once resource linkage
+ * refers to it (see {@link DeserializationFeature#BIND_INCLUDED_ON_DEMAND}).
+ * <p>
+ * Entries are stored in the index of included resources in place of bound objects and are replaced by the bound
+ * object on first lookup. Entries that are never referred to are never bound.
+ * </p>
+ */
+abstract class DeferredResource {
+	private final ResourceIdentifier identifier;
+	private final ResourceDescriptor descriptor;
+	private Linker linker;
+	private Object object;
+
+	DeferredResource(ResourceIdentifier identifier, ResourceDescriptor descriptor) {
+		this.identifier = identifier;
+		this.descriptor = descriptor;
+	}
+
+	/**
+	 * Binds the resource, excluding its relationships.
+	 * @return bound object
+	 */
+	abstract Object bind() throws IOException, IllegalAccessException, InstantiationException;
+
+	/**
+	 * Returns <code>relationships</code> node of the resource. Called only after the resource has been bound.
+	 * @return relationships node, may be <code>null</code>
+	 */
+	abstract JsonNode getRelationships();
+
+	ResourceIdentifier getIdentifier() {
+		return identifier;
+	}
+
+	ResourceDescriptor getDescriptor() {
+		return descriptor;
+	}
+
+	/**
+	 * Binds the resource and links its relationships, replacing this entry in the index with the bound object.
+	 * @return bound object
+	 */
+	Object materialize() throws IOException, IllegalAccessException, InstantiationException {
+		return linker.materialize(this);
+	}
+
+	/**
+	 * Binds deferred resources of a single document and links their relationships.
+	 * <p>
+	 * Resources are indexed as soon as they are bound, so cyclic linkage ends up referring to the same instance.
+	 * Relationships of resources bound while linking are queued rather than linked recursively, so long chains of
+	 * included resources do not grow the stack.
+	 * </p>
+	 */
+	static final class Linker {
+		private final ResourceConverter converter;
+		private final Map<ResourceIdentifier, Object> index;
+		private final ResolverState resolverState;
+		private final Deque<DeferredResource> unlinked = new ArrayDeque<>();
+		private boolean linking;
+
+		/**
+		 * Creates new linker.
+		 * @param converter converter used to link relationships
+		 * @param index index of included resources of the document
+		 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+		 */
+		Linker(ResourceConverter converter, Map<ResourceIdentifier, Object> index, ResolverState resolverState) {
+			this.converter = converter;
+			this.index = index;
+			this.resolverState = resolverState;
+		}
+
+		Map<ResourceIdentifier, Object> getIndex() {
+			return index;
+		}
+
+		/**
+		 * Adds deferred resource to the index.
+		 * @param resource deferred resource
+		 */
+		void add(DeferredResource resource) {
+			resource.linker = this;
+			index.put(resource.identifier, resource);
+		}
+
+		private Object materialize(DeferredResource resource)
+				throws IOException, IllegalAccessException, InstantiationException {
+			resource.object = resource.bind();
+			index.put(resource.identifier, resource.object);
+			unlinked.add(resource);
+
+			if (!linking) {
+				linking = true;
+
+				try {
+					DeferredResource next;
+
+					while ((next = unlinked.poll()) != null) {
+						converter.handleRelationships(next.getRelationships(), next.object, next.descriptor, index,
+								resolverState, true, true, null);
+					}
+				} finally {
+					linking = false;
+				}
+			}
+
+			return resource.object;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enumerates deserialization options that can be turned on or off on a {@link ResourceConverter} instance.
+ *
+ * @see ResourceConverter#enableDeserializationOption(DeserializationFeature)
+ * @see ResourceConverter#disableDeserializationOption(DeserializationFeature)
+ */
+public enum DeserializationFeature {
+
+	/**
+	 * Reads documents with a token-streaming parser instead of first building a {@code JsonNode} tree of the whole
+	 * document. Attributes, links and meta are bound directly from the token stream, which avoids materializing
+	 * large documents twice. Produces the same results as the tree-based reader.
+	 */
+	USE_STREAMING_PARSER(false),
+
+	/**
+	 * Indexes resources of the <code>included</code> array by their identifiers, but binds each of them only the first
+	 * time resource linkage refers to it. Included resources that are not referred to, directly or through other
+	 * included resources, are never bound. Useful when servers include many more resources than are actually used.
+	 */
+	BIND_INCLUDED_ON_DEMAND(false),
+
+	/**
+	 * Binds elements of large <code>data</code> arrays concurrently, using the pool set with
+	 * {@link ResourceConverter#setBindingPool(java.util.concurrent.ForkJoinPool)} or the common pool. Order of the
+	 * elements is kept. Applies to documents read by the tree-based reader, without
+	 * {@link DeserializationSettings}, that are not fetched by relationship resolvers. Relationships are linked and
+	 * resolved on the reading thread once elements are bound, in the order of the array, so the resulting objects are
+	 * the same as when binding sequentially.
+	 * Arrays are bound sequentially when the pool has a single thread, or when they are smaller than the threshold
+	 * set with {@link ResourceConverter#setParallelBindingThreshold(int)}.
+	 * <p>
+	 * Cannot be enabled together with {@link #USE_STREAMING_PARSER}, enabling one while the other is enabled throws
+	 * {@link IllegalArgumentException}.
+	 * </p>
+	 */
+	BIND_DATA_IN_PARALLEL(false),
+
+	/**
+	 * Shares relationship requests for the same URL that are in flight at the same time, across all threads reading
+	 * documents with the converter. Only the first read calls the resolver, concurrent reads wait for its response and
+	 * bind their own objects from it. Should not be enabled when responses of resolvers depend on the calling thread,
+	 * e.g. on credentials of the current user.
+	 */
+	COALESCE_RESOLUTIONS(false);
+
+	private final boolean enabledByDefault;
+
+	DeserializationFeature(boolean enabledByDefault) {
+		this.enabledByDefault = enabledByDefault;
+	}
+
+	/**
+	 * Returns <code>true</code> if this feature is turned on for newly created converters.
+	 * @return default state of the feature
+	 */
+	public boolean isEnabledByDefault() {
+		return enabledByDefault;
+	}
+
+	/**
+	 * Returns a new, mutable set containing all features that are enabled by default.
+	 * @return default features
+	 */
+	public static Set<DeserializationFeature> getDefaultFeatures() {
+		Set<DeserializationFeature> result = EnumSet.noneOf(DeserializationFeature.class);
+
+		for (DeserializationFeature feature : values()) {
+			if (feature.isEnabledByDefault()) {
+				result.add(feature);
+			}
+		}
+
+		return result;
+	}
+}
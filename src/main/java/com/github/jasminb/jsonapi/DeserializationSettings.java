@@ -0,0 +1,78 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-document deserialization options, passed to the read methods of {@link ResourceConverter}.
+ * <p>
+ * Settings are immutable and can be shared between threads. Use {@link Builder} to create them.
+ * </p>
+ * <p>
+ * Documents read with settings are always read by the streaming reader (see
+ * {@link DeserializationFeature#USE_STREAMING_PARSER}), so that attributes and relationships left out of sparse
+ * fieldsets are skipped while parsing rather than bound into a tree first.
+ * </p>
+ *
+ * @see ResourceConverter#readObject(byte[], Class, DeserializationSettings)
+ * @see ResourceConverter#readObjectCollection(byte[], Class, DeserializationSettings)
+ */
+public final class DeserializationSettings {
+	private final Map<String, Set<String>> fields;
+
+	private DeserializationSettings(Builder builder) {
+		this.fields = Collections.unmodifiableMap(new HashMap<>(builder.fields));
+	}
+
+	/**
+	 * Returns names of attributes and relationships that are read for resources of given type.
+	 * @param type resource type name
+	 * @return field names or {@code null} in case all fields are read
+	 */
+	public Set<String> getFields(String type) {
+		return fields.get(type);
+	}
+
+	/**
+	 * Checks if any of the resource types is limited to a subset of its fields.
+	 * @return <code>true</code> if sparse fieldsets are set
+	 */
+	public boolean hasFields() {
+		return !fields.isEmpty();
+	}
+
+	/**
+	 * Builds {@link DeserializationSettings} instances.
+	 */
+	public static class Builder {
+		private final Map<String, Set<String>> fields = new HashMap<>();
+
+		/**
+		 * Limits resources of given type to a
+		 * <a href="http://jsonapi.org/format/#fetching-sparse-fieldsets">sparse fieldset</a>. Attributes and
+		 * relationships that are not listed are skipped without being bound, and are left unset on resulting objects.
+		 * @param type resource type name
+		 * @param names names of attributes and relationships to read, as they appear in the document
+		 * @return this builder
+		 */
+		public Builder fields(String type, String... names) {
+			if (type == null) {
+				throw new IllegalArgumentException("Type must not be null.");
+			}
+			fields.put(type, Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names))));
+			return this;
+		}
+
+		/**
+		 * Creates settings.
+		 * @return settings
+		 */
+		public DeserializationSettings build() {
+			return new DeserializationSettings(this);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.github.jasminb.jsonapi;
+
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes a single annotated field of a resource class.
+ * <p>
+ * Accessors are created once per field, when the resource class is registered. Fields handled by a generated
+ * {@link ResourceAccessor} are accessed through it, remaining fields are accessed reflectively. Reflective access
+ * does not invoke getters or setters of the resource class, values are read and written exactly as they are stored.
+ * </p>
+ */
+abstract class FieldAccessor {
+
+	/**
+	 * Creates accessor for given field.
+	 * @param field annotated field
+	 * @param accessor accessor generated for the resource class, <code>null</code> if there is none
+	 * @return field accessor
+	 */
+	static FieldAccessor create(Field field, ResourceAccessor<Object> accessor) {
+		if (accessor != null) {
+			return new Generated(accessor, accessor.slot(field.getName()));
+		}
+
+		field.setAccessible(true);
+		return new Reflective(field);
+	}
+
+	/**
+	 * Reads field value.
+	 * @param resource resource instance
+	 * @return field value
+	 * @throws IllegalAccessException thrown in case field is not accessible
+	 */
+	abstract Object get(Object resource) throws IllegalAccessException;
+
+	/**
+	 * Sets field value.
+	 * @param resource resource instance
+	 * @param value field value
+	 * @throws IllegalAccessException thrown in case field is not accessible
+	 */
+	abstract void set(Object resource, Object value) throws IllegalAccessException;
+
+	/**
+	 * Checks if given class is visible from the class loader of this library, which is where classes implementing
+	 * generated constructor references are defined.
+	 * @param clazz class to check
+	 * @return <code>true</code> if class can be linked against from this library
+	 */
+	static boolean isVisible(Class<?> clazz) {
+		try {
+			return Class.forName(clazz.getName(), false, FieldAccessor.class.getClassLoader()) == clazz;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Field accessed through the accessor generated for its class.
+	 */
+	private static final class Generated extends FieldAccessor {
+		private final ResourceAccessor<Object> accessor;
+		private final int slot;
+
+		Generated(ResourceAccessor<Object> accessor, int slot) {
+			this.accessor = accessor;
+			this.slot = slot;
+		}
+
+		@Override
+		Object get(Object resource) {
+			return accessor.get(resource, slot);
+		}
+
+		@Override
+		void set(Object resource, Object value) {
+			accessor.set(resource, slot, value);
+		}
+	}
+
+	/**
+	 * Field accessed reflectively.
+	 */
+	private static final class Reflective extends FieldAccessor {
+		private final Field field;
+
+		Reflective(Field field) {
+			this.field = field;
+		}
+
+		@Override
+		Object get(Object resource) throws IllegalAccessException {
+			return field.get(resource);
+		}
+
+		@Override
+		void set(Object resource, Object value) throws IllegalAccessException {
+			field.set(resource, value);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Read-only list of related resources that is resolved on first access.
+ * <p>
+ * Set on relationships using {@link ResolutionStrategy#LAZY}. Relationship link is resolved once, when any of the
+ * list methods is called for the first time, and the resolved resources are kept for subsequent calls. Failures of
+ * the resolver are thrown from the method that triggered resolution, and resolution is retried on the next access.
+ * </p>
+ * <p>
+ * Writing a resource never resolves the list: unresolved relationships are written as their link only, and are
+ * serialized as <code>null</code> by Jackson.
+ * </p>
+ *
+ * @param <E> type of related resources
+ */
+@JsonSerialize(using = LazyResourceList.Serializer.class)
+class LazyResourceList<E> extends AbstractList<E> {
+	private final ResourceConverter converter;
+	private final RelationshipDescriptor relationship;
+	private final String link;
+	private final Class<E> type;
+	private final RelationshipResolver resolver;
+
+	private volatile List<E> resources;
+
+	LazyResourceList(ResourceConverter converter, RelationshipDescriptor relationship, String link, Class<E> type,
+					 RelationshipResolver resolver) {
+		this.converter = converter;
+		this.relationship = relationship;
+		this.link = link;
+		this.type = type;
+		this.resolver = resolver;
+	}
+
+	/**
+	 * Checks if relationship was already resolved.
+	 * @return <code>true</code> if resources are available without calling the resolver
+	 */
+	boolean isResolved() {
+		return resources != null;
+	}
+
+	/**
+	 * Checks if given relationship value is a lazy list that was not resolved yet.
+	 * @param value relationship value, may be <code>null</code>
+	 * @return <code>true</code> if accessing the value would call the resolver
+	 */
+	static boolean isUnresolved(Object value) {
+		return value instanceof LazyResourceList && !((LazyResourceList<?>) value).isResolved();
+	}
+
+	/**
+	 * Returns link the relationship is resolved from.
+	 * @return relationship link
+	 */
+	String getLink() {
+		return link;
+	}
+
+	@Override
+	public E get(int index) {
+		return resources().get(index);
+	}
+
+	@Override
+	public int size() {
+		List<E> result = resources();
+		int size = result.size();
+
+		// Paginated collections report -1 until all pages are fetched if the total is not known
+		if (size < 0 && result instanceof PaginatedResourceList) {
+			size = ((PaginatedResourceList<E>) result).pages().fetchAll();
+		}
+
+		return size;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return resources().iterator();
+	}
+
+	private List<E> resources() {
+		List<E> result = resources;
+
+		if (result == null) {
+			synchronized (this) {
+				result = resources;
+
+				if (result == null) {
+					result = converter.resolveLazily(relationship, link, type, resolver);
+					resources = result;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Serializes resolved resources, without resolving the list. Resources are iterated rather than copied, as copying
+	 * a paginated collection would fetch all of its pages to know its size first.
+	 */
+	static class Serializer extends StdSerializer<LazyResourceList<?>> {
+		private static final long serialVersionUID = 1L;
+
+		@SuppressWarnings("unchecked")
+		Serializer() {
+			super((Class<LazyResourceList<?>>) (Class<?>) LazyResourceList.class);
+		}
+
+		@Override
+		public void serialize(LazyResourceList<?> value, JsonGenerator generator, SerializerProvider provider)
+				throws IOException {
+			if (value.isResolved()) {
+				generator.writeStartArray();
+
+				for (Object resource : value) {
+					provider.defaultSerializeValue(resource, generator);
+				}
+
+				generator.writeEndArray();
+			} else {
+				generator.writeNull();
+			}
+		}
+	}
+}
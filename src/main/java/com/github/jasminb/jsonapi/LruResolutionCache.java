@@ -0,0 +1,193 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded {@link ResolutionCache} evicting least recently used documents.
+ * <p>
+ * Size of the cache is limited by the total weight of cached documents, which is their length in bytes. Documents
+ * can also expire a fixed time after they were cached. Hit, miss, eviction and expiration counts are kept for
+ * monitoring.
+ * </p>
+ */
+public class LruResolutionCache implements ResolutionCache {
+	private final long maxWeight;
+	private final long ttlNanos;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+	private long expirationCount;
+
+	/**
+	 * Creates cache whose documents never expire.
+	 * @param maxWeight maximum total length of cached documents, in bytes
+	 */
+	public LruResolutionCache(long maxWeight) {
+		this(maxWeight, 0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Creates cache.
+	 * @param maxWeight maximum total length of cached documents, in bytes
+	 * @param ttl time after which cached document expires, <code>0</code> if documents never expire
+	 * @param unit unit of the <code>ttl</code>
+	 */
+	public LruResolutionCache(long maxWeight, long ttl, TimeUnit unit) {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("Maximum weight must be positive.");
+		}
+		if (ttl < 0) {
+			throw new IllegalArgumentException("Time to live must not be negative.");
+		}
+		this.maxWeight = maxWeight;
+		this.ttlNanos = unit.toNanos(ttl);
+	}
+
+	@Override
+	public synchronized byte [] get(String relationshipURL) {
+		Entry entry = entries.get(relationshipURL);
+
+		if (entry != null && isExpired(entry, nanoTime())) {
+			remove(relationshipURL);
+			expirationCount++;
+			entry = null;
+		}
+
+		if (entry == null) {
+			missCount++;
+			return null;
+		}
+
+		hitCount++;
+		return entry.content;
+	}
+
+	@Override
+	public synchronized void put(String relationshipURL, byte [] content) {
+		remove(relationshipURL);
+
+		// Documents heavier than the whole cache would only evict everything else
+		if (content.length > maxWeight) {
+			return;
+		}
+
+		entries.put(relationshipURL, new Entry(content, nanoTime()));
+		weight += content.length;
+
+		Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+
+		while (weight > maxWeight && iterator.hasNext()) {
+			Entry eldest = iterator.next().getValue();
+			iterator.remove();
+			weight -= eldest.content.length;
+			evictionCount++;
+		}
+	}
+
+	@Override
+	public synchronized void invalidate(String relationshipURL) {
+		remove(relationshipURL);
+	}
+
+	@Override
+	public synchronized void invalidateAll() {
+		entries.clear();
+		weight = 0;
+	}
+
+	/**
+	 * Returns number of cached documents, including the ones that expired but were not requested since.
+	 * @return number of documents
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns total length of cached documents.
+	 * @return weight in bytes
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Returns number of requests that found a cached document.
+	 * @return hit count
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns number of requests that did not find a cached document, including expired ones.
+	 * @return miss count
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns number of documents removed to keep the cache within its maximum weight.
+	 * @return eviction count
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Returns number of documents removed because they expired.
+	 * @return expiration count
+	 */
+	public synchronized long getExpirationCount() {
+		return expirationCount;
+	}
+
+	/**
+	 * Returns ratio of requests that found a cached document.
+	 * @return hit rate, <code>0</code> in case there were no requests
+	 */
+	public synchronized double getHitRate() {
+		long requests = hitCount + missCount;
+		return requests == 0 ? 0 : (double) hitCount / requests;
+	}
+
+	/**
+	 * Returns current time used to expire documents, overridden by tests.
+	 * @return time in nanoseconds
+	 */
+	long nanoTime() {
+		return System.nanoTime();
+	}
+
+	private boolean isExpired(Entry entry, long now) {
+		return ttlNanos > 0 && now - entry.created >= ttlNanos;
+	}
+
+	private void remove(String relationshipURL) {
+		Entry entry = entries.remove(relationshipURL);
+
+		if (entry != null) {
+			weight -= entry.content.length;
+		}
+	}
+
+	/**
+	 * Cached document together with the time it was cached at.
+	 */
+	private static class Entry {
+		private final byte [] content;
+		private final long created;
+
+		Entry(byte [] content, long created) {
+			this.content = content;
+			this.created = created;
+		}
+	}
+}
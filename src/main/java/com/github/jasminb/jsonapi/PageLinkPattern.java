@@ -0,0 +1,106 @@
+package com.github.jasminb.jsonapi;
+
+/**
+ * Builds links to arbitrary pages of a paginated collection, based on the number that changes between its "first" and
+ * "last" links.
+ * <p>
+ * Works for the common pagination strategies, where the number is either a page number (e.g.
+ * {@code ?page[number]=1} ... {@code ?page[number]=5}) or an offset (e.g. {@code ?page[offset]=0} ...
+ * {@code ?page[offset]=40}).  The pattern is only used if it also reproduces the "next" link of the first page.
+ * </p>
+ */
+class PageLinkPattern {
+
+    private final String prefix;
+
+    private final String suffix;
+
+    private final long start;
+
+    private final long step;
+
+    private PageLinkPattern(final String prefix, final String suffix, final long start, final long step) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.start = start;
+        this.step = step;
+    }
+
+    /**
+     * Detects the pattern of the links to the pages of a collection.
+     *
+     * @param first the "first" link
+     * @param last the "last" link
+     * @param next the "next" link of the first page
+     * @param pages the number of pages in the collection
+     * @return the pattern, or {@code null} if the links do not differ in a single number that changes by the same step
+     *         from page to page
+     */
+    static PageLinkPattern parse(final String first, final String last, final String next, final int pages) {
+        if (first == null || last == null || next == null || pages < 2) {
+            return null;
+        }
+
+        int prefixLength = 0;
+        while (prefixLength < first.length() && prefixLength < last.length() &&
+                first.charAt(prefixLength) == last.charAt(prefixLength)) {
+            prefixLength++;
+        }
+
+        int suffixLength = 0;
+        while (suffixLength < first.length() - prefixLength && suffixLength < last.length() - prefixLength &&
+                first.charAt(first.length() - 1 - suffixLength) == last.charAt(last.length() - 1 - suffixLength)) {
+            suffixLength++;
+        }
+
+        // the common prefix and suffix may have swallowed digits of the number, e.g. 'page=1' and 'page=15'
+        while (prefixLength > 0 && Character.isDigit(first.charAt(prefixLength - 1))) {
+            prefixLength--;
+        }
+
+        while (suffixLength > 0 && Character.isDigit(first.charAt(first.length() - suffixLength))) {
+            suffixLength--;
+        }
+
+        final Long startValue = parseNumber(first.substring(prefixLength, first.length() - suffixLength));
+        final Long lastValue = parseNumber(last.substring(prefixLength, last.length() - suffixLength));
+
+        if (startValue == null || lastValue == null || lastValue <= startValue ||
+                (lastValue - startValue) % (pages - 1) != 0) {
+            return null;
+        }
+
+        final PageLinkPattern pattern = new PageLinkPattern(first.substring(0, prefixLength),
+                first.substring(first.length() - suffixLength), startValue, (lastValue - startValue) / (pages - 1));
+
+        // numbers formatted differently, e.g. zero-padded, are not reproduced
+        if (!first.equals(pattern.link(0)) || !last.equals(pattern.link(pages - 1)) || !next.equals(pattern.link(1))) {
+            return null;
+        }
+
+        return pattern;
+    }
+
+    /**
+     * @param page the index of the page, {@code 0} being the first page
+     * @return the link to the page
+     */
+    String link(final int page) {
+        return prefix + (start + page * step) + suffix;
+    }
+
+    private static Long parseNumber(final String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return null;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return null;
+            }
+        }
+
+        return Long.parseLong(value);
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of pages of a paginated collection, which splits by halving the range of pages.  Links to
+ * pages are built from a {@link PageLinkPattern}, so each split fetches and reads its pages independently of the
+ * others, e.g. in parallel by the threads of a {@code ForkJoinPool}.  Pages are fetched through the {@link PageStore}
+ * of the collection, so pages that were already fetched, by this or any other consumer, are not fetched again.
+ * <p>
+ * Implementation note: the spliterator is ORDERED and NONNULL.  It is not SIZED, because the number of elements is
+ * estimated from the pagination metadata of the first page, which other pages do not have to agree with.  A page
+ * that cannot be retrieved fails the traversal with a {@code RuntimeException}, rather than silently leaving out a
+ * range of elements.
+ * </p>
+ */
+class PageSpliterator<E> implements Spliterator<E> {
+
+    private final ResourceList<E> first;
+
+    private final PageLinkPattern pattern;
+
+    private final PageStore<E> pages;
+
+    private final int perPage;
+
+    private final int total;
+
+    /**
+     * Index of the next page to be read
+     */
+    private int page;
+
+    /**
+     * Index of the page following the last page covered by this spliterator
+     */
+    private final int end;
+
+    /**
+     * Elements of the page being consumed, {@code null} if no page is being consumed
+     */
+    private Iterator<E> current;
+
+    private PageSpliterator(final ResourceList<E> first, final PageLinkPattern pattern, final PageStore<E> pages,
+                            final int perPage, final int total, final int page, final int end) {
+        this.first = first;
+        this.pattern = pattern;
+        this.pages = pages;
+        this.perPage = perPage;
+        this.total = total;
+        this.page = page;
+        this.end = end;
+    }
+
+    /**
+     * Creates a spliterator over all pages of a collection, if links to its pages can be built.
+     *
+     * @param first the first page of the collection
+     * @param pages the pages of the collection, used to fetch the other pages
+     * @param total the number of elements in the collection, or {@code -1} if unknown
+     * @param perPage the maximum number of elements per page, or {@code -1} if unknown
+     * @return the spliterator, or {@code null} if the collection has a single page, its size is unknown, or its links
+     *         do not follow a pattern
+     */
+    static <E> PageSpliterator<E> create(final ResourceList<E> first, final PageStore<E> pages, final int total,
+                                         final int perPage) {
+        if (total < 0 || perPage <= 0) {
+            return null;
+        }
+
+        final int count = (int) ((total + (long) perPage - 1) / perPage);
+        final PageLinkPattern pattern = PageLinkPattern.parse(first.getFirst(), first.getLast(), first.getNext(),
+                count);
+
+        if (pattern == null) {
+            return null;
+        }
+
+        return new PageSpliterator<>(first, pattern, pages, perPage, total, 0, count);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+        while (current == null || !current.hasNext()) {
+            if (page >= end) {
+                current = null;
+                return false;
+            }
+
+            current = read(page++);
+        }
+
+        action.accept(current.next());
+        return true;
+    }
+
+    /**
+     * Splits off the first half of the pages that have not been started.  Does not split while a page is being
+     * consumed, as the remaining elements of that page would have to precede the split.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Spliterator<E> trySplit() {
+        final int remaining = end - page;
+
+        if ((current != null && current.hasNext()) || remaining < 2) {
+            return null;
+        }
+
+        final int mid = page + remaining / 2;
+        final PageSpliterator<E> prefix = new PageSpliterator<>(first, pattern, pages, perPage, total, page, mid);
+        page = mid;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        final long from = (long) page * perPage;
+        final long to = Math.min((long) end * perPage, total);
+
+        return Math.max(to - from, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+
+    private Iterator<E> read(final int index) {
+        if (index == 0) {
+            return first.iterator();
+        }
+
+        return pages.page(pattern.link(index)).iterator();
+    }
+
+}
@@ -0,0 +1,750 @@
+package com.github.jasminb.jsonapi;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps the pages of a paginated collection that have been fetched so far, providing random access to their elements.
+ * <p>
+ * Pages are fetched in order by following the "next" link of the last fetched page, and each page is fetched at most
+ * once.  Elements of fetched pages are located using the {@code per_page} pagination metadata when it is available,
+ * so access to an element that was already fetched does not depend on the number of pages.
+ * </p>
+ * <p>
+ * Pages can also be fetched out of order by their link, e.g. by parallel streams that build links to arbitrary pages.
+ * Such pages are kept as well, and become part of the collection, without being fetched again, once the "next" link
+ * of the last fetched page leads to them.
+ * </p>
+ * <p>
+ * The store is thread-safe and is shared by all consumers of a {@link PaginatedResourceList}.  Consumers that need a
+ * page while it is being fetched wait for that request rather than issuing their own, and elements that were already
+ * fetched remain accessible while a page is being fetched.
+ * </p>
+ * <p>
+ * Memory can be bounded by a window: only the most recently used pages are kept in memory, besides the first page.
+ * Pages that fall out of the window are either discarded and requested again when next needed, or read again from a
+ * temporary file.  In the latter case, each page is appended to the file as the document it was read from when it is
+ * fetched, before it is added to the store, so evicting a page only drops its elements, and the file grows to the
+ * size of all documents fetched.  Either way, elements of a page brought back into the window are new instances.
+ * The temporary file is deleted when the store is closed, or otherwise when the JVM exits.
+ * </p>
+ */
+class PageStore<E> implements Closeable {
+
+    private final RelationshipResolver resolver;
+
+    private final ResourceConverter converter;
+
+    private final Class<E> type;
+
+    /**
+     * Maximum number of elements per page, or {@code -1} if unknown
+     */
+    private final int perPage;
+
+    /**
+     * Maximum number of pages kept in memory besides the first page, or {@code 0} to keep all pages
+     */
+    private final int window;
+
+    /**
+     * Whether pages are spilled to a temporary file, so they are read from there rather than requested again once
+     * they fell out of the window
+     */
+    private final boolean spill;
+
+    /**
+     * The fetched pages; empty pages are not kept
+     */
+    private final List<Page<E>> pages = new ArrayList<>();
+
+    /**
+     * Index of the first element of each page in {@code pages}
+     */
+    private final List<Integer> offsets = new ArrayList<>();
+
+    /**
+     * Pages fetched so far besides the first page, including pages fetched out of order, by the link they were
+     * fetched from
+     */
+    private final Map<String, Page<E>> linked = new HashMap<>();
+
+    /**
+     * Requests for pages fetched out of order that are in flight, by link; completed once the page is in
+     * {@code linked}, or could not be fetched
+     */
+    private final Map<String, CompletableFuture<Void>> requests = new HashMap<>();
+
+    /**
+     * Pages in memory besides the first page, by link, from the least to the most recently used
+     */
+    private final Map<String, Page<E>> resident = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Link to the page following the last fetched page, or {@code null} if all pages were fetched
+     */
+    private String next;
+
+    /**
+     * Request for the page at {@code next} that is in flight, or {@code null}; completes with {@code true} if the page
+     * was fetched
+     */
+    private CompletableFuture<Boolean> pending;
+
+    /**
+     * File holding spilled pages, created when the first page is spilled; guarded by {@code spillLock}, rather than
+     * by the lock of the store, so pages are spilled while the store is in use
+     */
+    private Path spillFile;
+
+    /**
+     * Whether the store was closed, after which pages are no longer spilled; guarded by {@code spillLock}
+     */
+    private boolean closed;
+
+    private final Object spillLock = new Object();
+
+    private int size;
+
+    /**
+     * @param first the first page of the collection
+     * @param resolver used to fetch subsequent pages
+     * @param converter used to read subsequent pages
+     * @param type type of the elements
+     * @param perPage maximum number of elements per page, or {@code -1} if unknown
+     */
+    PageStore(final ResourceList<E> first, final RelationshipResolver resolver, final ResourceConverter converter,
+              final Class<E> type, final int perPage) {
+        this(first, resolver, converter, type, perPage, 0, false);
+    }
+
+    /**
+     * @param first the first page of the collection
+     * @param resolver used to fetch subsequent pages
+     * @param converter used to read subsequent pages
+     * @param type type of the elements
+     * @param perPage maximum number of elements per page, or {@code -1} if unknown
+     * @param window maximum number of pages kept in memory besides the first page, or {@code 0} to keep all pages
+     * @param spill {@code true} to spill pages falling out of the window to a temporary file, {@code false} to
+     *              request them again
+     */
+    PageStore(final ResourceList<E> first, final RelationshipResolver resolver, final ResourceConverter converter,
+              final Class<E> type, final int perPage, final int window, final boolean spill) {
+        if (window < 0) {
+            throw new IllegalArgumentException("Page window must not be negative");
+        }
+
+        this.resolver = resolver;
+        this.converter = converter;
+        this.type = type;
+        this.perPage = perPage;
+        this.window = window;
+        this.spill = spill && window > 0;
+
+        add(first, null, -1, 0);
+    }
+
+    /**
+     * Fetches pages until at least {@code count} elements are available, or there are no more pages.
+     *
+     * @param count the number of elements needed
+     * @return {@code true} if at least {@code count} elements are available
+     */
+    boolean fetch(final int count) {
+        return fetch(count, 0);
+    }
+
+    /**
+     * Fetches all remaining pages.
+     *
+     * @return the number of elements in the collection
+     */
+    int fetchAll() {
+        fetch(Integer.MAX_VALUE);
+        return size();
+    }
+
+    /**
+     * Fetches pages in the background until {@code pageCount} non-empty pages are available, or there are no more
+     * pages.  Returns immediately; pages are fetched one after another using {@code executor}.
+     *
+     * @param pageCount the number of pages needed
+     * @param executor executes the requests
+     */
+    void prefetch(final int pageCount, final Executor executor) {
+        final CompletableFuture<Boolean> request;
+        final String link;
+
+        synchronized (this) {
+            if (pages.size() >= pageCount || next == null) {
+                return;
+            }
+
+            final CompletableFuture<?> inFlight = pending != null ? pending : requests.get(next);
+
+            if (inFlight != null) {
+                // continue once the request in flight completes, without blocking a thread of the executor
+                inFlight.thenRunAsync(() -> prefetch(pageCount, executor), executor);
+                return;
+            }
+
+            request = pending = new CompletableFuture<>();
+            link = next;
+        }
+
+        executor.execute(() -> {
+            if (fetchNext(link, request)) {
+                prefetch(pageCount, executor);
+            }
+        });
+    }
+
+    /**
+     * Returns an element that was already fetched; callers are expected to {@link #fetch(int)} it first.  If the
+     * page holding the element fell out of the window, it is brought back, and consumers needing it at the same time
+     * wait for it rather than bringing it back themselves.
+     *
+     * @param index the index of the element
+     * @return the element
+     * @throws IndexOutOfBoundsException if the element has not been fetched
+     * @throws RuntimeException if the page holding the element cannot be brought back
+     */
+    E get(final int index) {
+        final Page<E> page;
+
+        synchronized (this) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Element at index " + index + " has not been fetched");
+            }
+
+            page = pages.get(pageOf(index));
+        }
+
+        return load(page).get(index - page.offset);
+    }
+
+    /**
+     * Returns the elements of the page at given link, fetching the page unless it was already fetched, in order or by
+     * its link.  Consumers needing the same page at the same time wait for a single request.
+     *
+     * @param link the link to the page
+     * @return the elements of the page
+     * @throws RuntimeException if the page cannot be retrieved
+     */
+    List<E> page(final String link) {
+        while (true) {
+            final Page<E> page;
+            final CompletableFuture<?> inFlight;
+            final CompletableFuture<Void> request;
+
+            synchronized (this) {
+                page = linked.get(link);
+
+                if (page == null) {
+                    inFlight = pending != null && link.equals(next) ? pending : requests.get(link);
+                    request = inFlight == null ? new CompletableFuture<>() : null;
+
+                    if (request != null) {
+                        requests.put(link, request);
+                    }
+                } else {
+                    inFlight = null;
+                    request = null;
+                }
+            }
+
+            if (page != null) {
+                return load(page);
+            }
+
+            if (request != null) {
+                return fetchDetached(link, request);
+            }
+
+            // the page is in the store once the request completes, unless it failed, in which case it is requested
+            // again
+            inFlight.handle((result, failure) -> null).join();
+        }
+    }
+
+    /**
+     * Returns the elements of a page, bringing the page back if it fell out of the window.  Consumers needing it at
+     * the same time wait for it rather than bringing it back themselves.
+     */
+    private List<E> load(final Page<E> page) {
+        final CompletableFuture<List<E>> load;
+        final boolean loading;
+
+        synchronized (this) {
+            if (page.elements != null) {
+                resident.get(page.link);
+                return page.elements;
+            }
+
+            loading = page.loading == null;
+            if (loading) {
+                page.loading = new CompletableFuture<>();
+            }
+            load = page.loading;
+        }
+
+        if (loading) {
+            reload(page);
+        }
+
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the number of elements fetched so far
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of pages in memory, including the first page
+     */
+    synchronized int residentPages() {
+        return resident.size() + (pages.isEmpty() || pages.get(0).index != 0 ? 0 : 1);
+    }
+
+    /**
+     * @return the file holding spilled pages, or {@code null} if no page was spilled
+     */
+    Path spillPath() {
+        synchronized (spillLock) {
+            return spillFile;
+        }
+    }
+
+    /**
+     * Locates the non-empty page holding an element that was already fetched.
+     *
+     * @param index the index of the element
+     * @return the index of the page, counting only non-empty pages
+     */
+    synchronized int pageOf(final int index) {
+        if (perPage > 0) {
+            final int page = index / perPage;
+            if (page < pages.size() && offsets.get(page) <= index &&
+                    index < offsets.get(page) + pages.get(page).size) {
+                return page;
+            }
+        }
+
+        // All pages but the last are expected to hold 'per_page' elements; if they do not, e.g. because the server
+        // returned a short page, the page is searched for.
+        final int found = Collections.binarySearch(offsets, index);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * Fetches pages until at least {@code count} elements and {@code pageCount} non-empty pages are available, or
+     * there are no more pages.  Only one page is requested at a time; callers arriving while it is in flight wait for
+     * it.  Mirrors {@link PagingIterator}: a page that cannot be retrieved ends the collection for the caller, but it
+     * is requested again the next time more elements are needed.
+     */
+    private boolean fetch(final int count, final int pageCount) {
+        while (true) {
+            final CompletableFuture<Boolean> request;
+            final CompletableFuture<Void> inFlightDetached;
+            final String link;
+
+            synchronized (this) {
+                if (size >= count && pages.size() >= pageCount) {
+                    return true;
+                }
+
+                if (next == null) {
+                    return false;
+                }
+
+                final CompletableFuture<Void> detached = requests.get(next);
+
+                if (detached != null) {
+                    // the next page is being fetched out of order; it is added once fetched, or requested again
+                    request = null;
+                    link = null;
+                    inFlightDetached = detached;
+                } else if (pending != null) {
+                    request = pending;
+                    link = null;
+                    inFlightDetached = null;
+                } else {
+                    request = pending = new CompletableFuture<>();
+                    link = next;
+                    inFlightDetached = null;
+                }
+            }
+
+            if (inFlightDetached != null) {
+                inFlightDetached.handle((result, failure) -> null).join();
+                continue;
+            }
+
+            final boolean fetched = link != null ? fetchNext(link, request) : request.join();
+
+            if (!fetched) {
+                synchronized (this) {
+                    return size >= count && pages.size() >= pageCount;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches the page following the last fetched page, outside of the lock, and completes {@code request}.
+     *
+     * @return {@code true} if the page was fetched
+     */
+    private boolean fetchNext(final String link, final CompletableFuture<Boolean> request) {
+        ResourceList<E> page = null;
+        long position = -1;
+        int length = 0;
+
+        try {
+            final byte[] content = resolver.resolve(link);
+            page = converter.readObjectCollection(content, type);
+            position = spill(content);
+            length = content.length;
+        } catch (Exception e) {
+//            LOG.info("Error retrieving results page '{}': {}", link, e.getMessage(), e);
+        }
+
+        boolean fetched = false;
+
+        synchronized (this) {
+            try {
+                if (page != null) {
+                    add(page, link, position, length);
+                    fetched = true;
+                }
+            } catch (Exception e) {
+//                LOG.info("Error reading results page '{}': {}", link, e.getMessage(), e);
+            } finally {
+                pending = null;
+            }
+        }
+
+        request.complete(fetched);
+        return fetched;
+    }
+
+    /**
+     * Fetches a page out of order by its link, outside of the lock, keeps it and completes {@code request}.
+     *
+     * @return the elements of the page
+     */
+    private List<E> fetchDetached(final String link, final CompletableFuture<Void> request) {
+        try {
+            final byte[] content = resolver.resolve(link);
+            final ResourceList<E> fetched = converter.readObjectCollection(content, type);
+            final List<E> elements = elements(fetched);
+            final long position = spill(content);
+
+            synchronized (this) {
+                final Page<E> page = new Page<>(-1, -1, elements.size(), link);
+                page.elements = elements;
+                page.position = position;
+                page.length = content.length;
+                page.next = fetched.getNext();
+
+                linked.put(link, page);
+
+                if (!elements.isEmpty()) {
+                    resident.put(link, page);
+                    evict();
+                }
+
+                adoptDetached();
+            }
+
+            return elements;
+        } finally {
+            synchronized (this) {
+                requests.remove(link);
+            }
+            request.complete(null);
+        }
+    }
+
+    /**
+     * Brings a page that fell out of the window back, outside of the lock, and completes its loading request.
+     */
+    private void reload(final Page<E> page) {
+        List<E> elements = null;
+        RuntimeException failure = null;
+
+        try {
+            final byte[] spilled = page.position >= 0 ? readSpilled(page) : null;
+            final byte[] content = spilled != null ? spilled : resolver.resolve(page.link);
+            elements = elements(converter.readObjectCollection(content, type));
+
+            if (elements.size() != page.size) {
+                throw new IllegalStateException("Results page '" + page.link + "' has " + elements.size() +
+                        " elements, but had " + page.size + " when it was first fetched");
+            }
+        } catch (IOException e) {
+            failure = new RuntimeException("Unable to read spilled results page '" + page.link + "'", e);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        final CompletableFuture<List<E>> load;
+
+        synchronized (this) {
+            load = page.loading;
+            page.loading = null;
+
+            if (failure == null) {
+                page.elements = elements;
+                resident.put(page.link, page);
+                evict();
+            }
+        }
+
+        if (failure == null) {
+            load.complete(elements);
+        } else {
+            load.completeExceptionally(failure);
+        }
+    }
+
+    private void add(final ResourceList<E> page, final String link, final long position, final int length) {
+        final List<E> elements = elements(page);
+
+        if (!elements.isEmpty()) {
+            final Page<E> added = new Page<>(pages.size(), size, elements.size(), link);
+            added.elements = elements;
+            added.position = position;
+            added.length = length;
+
+            offsets.add(size);
+            pages.add(added);
+            size += elements.size();
+
+            // the first page is kept by the PaginatedResourceList anyway, so it is never evicted
+            if (link != null) {
+                linked.put(link, added);
+                resident.put(link, added);
+                evict();
+            }
+        }
+
+        next = page.getNext();
+        adoptDetached();
+    }
+
+    /**
+     * Adds pages that were fetched out of order to the end of the collection, as long as the "next" link of the last
+     * page leads to one of them.
+     */
+    private void adoptDetached() {
+        Page<E> page;
+
+        while (next != null && (page = linked.get(next)) != null && page.index < 0) {
+            if (page.size > 0) {
+                page.index = pages.size();
+                page.offset = size;
+
+                offsets.add(size);
+                pages.add(page);
+                size += page.size;
+            }
+
+            next = page.next;
+        }
+    }
+
+    /**
+     * Evicts the least recently used pages until the pages in memory fit the window.  Spilled pages were written when
+     * they were fetched, so evicting a page only drops its elements.
+     */
+    private void evict() {
+        if (window == 0) {
+            return;
+        }
+
+        final Iterator<Page<E>> itr = resident.values().iterator();
+
+        while (resident.size() > window && itr.hasNext()) {
+            final Page<E> page = itr.next();
+            itr.remove();
+            page.elements = null;
+        }
+    }
+
+    /**
+     * Appends a fetched page to the spill file, outside of the lock of the store.
+     *
+     * @param content the document the page was read from
+     * @return the position of the page in the file, or {@code -1} if pages are not spilled or the page could not be
+     *         written, in which case it is requested again once it fell out of the window
+     */
+    private long spill(final byte[] content) {
+        if (!spill) {
+            return -1;
+        }
+
+        synchronized (spillLock) {
+            if (closed) {
+                return -1;
+            }
+
+            try {
+                if (spillFile == null) {
+                    spillFile = Files.createTempFile("jsonapi-pages-", ".json");
+                    spillFile.toFile().deleteOnExit();
+                }
+
+                try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND)) {
+                    final long position = channel.size();
+                    final ByteBuffer buffer = ByteBuffer.wrap(content);
+
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+
+                    return position;
+                }
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Reads a spilled page back from the spill file.
+     *
+     * @return the document the page was read from, or {@code null} if the spill file was deleted when the store was
+     *         closed, in which case the page is requested again
+     */
+    private byte[] readSpilled(final Page<E> page) throws IOException {
+        synchronized (spillLock) {
+            if (closed) {
+                return null;
+            }
+
+            try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(page.length);
+
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, page.position + buffer.position()) < 0) {
+                        throw new EOFException("Spilled results page '" + page.link + "' is truncated");
+                    }
+                }
+
+                return buffer.array();
+            }
+        }
+    }
+
+    /**
+     * Deletes the spill file.  The store remains usable, pages that fell out of the window are requested again from
+     * then on.
+     */
+    @Override
+    public void close() {
+        synchronized (spillLock) {
+            closed = true;
+
+            if (spillFile != null) {
+                try {
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    // nothing else can be done, the file is deleted when the JVM exits
+                }
+            }
+        }
+    }
+
+    private static <E> List<E> elements(final ResourceList<E> page) {
+        final List<E> elements = new ArrayList<>();
+        final Iterator<E> itr = page.iterator();
+
+        while (itr.hasNext()) {
+            elements.add(itr.next());
+        }
+
+        return elements;
+    }
+
+    /**
+     * A non-empty page, which may or may not be in memory.
+     */
+    private static class Page<E> {
+
+        /**
+         * Index of the page, counting only non-empty pages, {@code -1} while the page was fetched out of order and is
+         * not yet part of the collection
+         */
+        private int index;
+
+        /**
+         * Index of the first element of the page, {@code -1} while the page is not yet part of the collection
+         */
+        private int offset;
+
+        private final int size;
+
+        /**
+         * Link the page was fetched from, {@code null} for the first page
+         */
+        private final String link;
+
+        /**
+         * Link to the following page, only kept for pages fetched out of order
+         */
+        private String next;
+
+        /**
+         * Elements of the page, {@code null} if the page is not in memory
+         */
+        private List<E> elements;
+
+        /**
+         * Position of the document the page was read from in the spill file, {@code -1} if the page was not spilled
+         */
+        private long position = -1;
+
+        private int length;
+
+        /**
+         * Request bringing the page back into memory, or {@code null}
+         */
+        private CompletableFuture<List<E>> loading;
+
+        Page(final int index, final int offset, final int size, final String link) {
+            this.index = index;
+            this.offset = offset;
+            this.size = size;
+            this.link = link;
+        }
+    }
+
+}
@@ -15,26 +15,28 @@
  */
 package com.github.jasminb.jsonapi;
 
+import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
  * @author Elliot Metsger (emetsger@jhu.edu)
  */
-public class PaginatedResourceList<E> implements List<E> {
+public class PaginatedResourceList<E> implements List<E>, Closeable {
 
     private static final String READ_ONLY = "This list is read-only.";
 
@@ -54,11 +56,53 @@ public class PaginatedResourceList<E> implements List<E> {
 
     private Class<E> type;
 
+    /**
+     * Pages fetched for random access to the elements, created on first use
+     */
+    private PageStore<E> pages;
+
+    /**
+     * Maximum number of pages requested ahead by iterators, {@code 0} if pages are requested only when needed
+     */
+    private int prefetchDepth;
+
+    private Executor prefetchExecutor;
+
+    /**
+     * Maximum number of pages kept in memory besides the first page, {@code 0} to keep all fetched pages
+     */
+    private int pageWindow;
+
+    private boolean spillPages;
+
     public PaginatedResourceList(ResourceList<E> resources, RelationshipResolver resolver, ResourceConverter converter, Class<E> type) {
+        this(resources, resolver, converter, type, 0, null, 0, false);
+    }
+
+    /**
+     * @param resources the first page of the collection
+     * @param resolver used to fetch subsequent pages
+     * @param converter used to read subsequent pages
+     * @param type type of the elements
+     * @param prefetchDepth maximum number of pages iterators request ahead of the page being consumed
+     * @param prefetchExecutor executes requests for pages ahead, may be {@code null} if {@code prefetchDepth} is
+     *                         {@code 0}
+     * @param pageWindow maximum number of fetched pages kept in memory besides the first page, {@code 0} to keep all
+     *                   of them
+     * @param spillPages {@code true} to spill pages falling out of the window to a temporary file, {@code false} to
+     *                   request them again when needed
+     */
+    PaginatedResourceList(ResourceList<E> resources, RelationshipResolver resolver, ResourceConverter converter,
+                          Class<E> type, int prefetchDepth, Executor prefetchExecutor, int pageWindow,
+                          boolean spillPages) {
         this.resources = resources;
         this.resolver = resolver;
         this.converter = converter;
         this.type = type;
+        this.prefetchDepth = prefetchDepth;
+        this.prefetchExecutor = prefetchExecutor;
+        this.pageWindow = pageWindow;
+        this.spillPages = spillPages;
     }
 
     public int total() {
@@ -99,9 +143,45 @@ public class PaginatedResourceList<E> implements List<E> {
         return -1;
     }
 
+    /**
+     * Returns the pages fetched so far, shared by all iterators, streams and random access methods of this list.  Each
+     * page is fetched only once for the lifetime of this list, however many consumers use it, unless it falls out of
+     * the page window.
+     *
+     * @return the page store
+     */
+    synchronized PageStore<E> pages() {
+        if (pages == null) {
+            pages = new PageStore<>(resources, resolver, converter, type, perPage(), pageWindow, spillPages);
+        }
+
+        return pages;
+    }
+
+    /**
+     * Deletes the temporary file holding pages that fell out of the page window, if any.  The list remains usable,
+     * such pages are requested again when needed.  Lists that are not closed keep the file until the JVM exits.
+     */
+    @Override
+    public synchronized void close() {
+        if (pages != null) {
+            pages.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementation note: iterators share the pages fetched by this list, so pages fetched by one iterator are not
+     * fetched again by another, including iterators used at the same time by different threads.  Pages are requested
+     * ahead as configured by {@link ResourceConverter#setPagePrefetch(int, Executor)}.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     */
     @Override
     public Iterator<E> iterator() {
-        return new PagingIterator<>(resolver, converter, resources, type);
+        return new PageIterator();
     }
 
     /**
@@ -115,7 +195,7 @@ public class PaginatedResourceList<E> implements List<E> {
      */
     @Override
     public Spliterator<E> spliterator() {
-        final PagingIterator<E> iterator = new PagingIterator<>(resolver, converter, resources, type);
+        final Iterator<E> iterator = iterator();
         final int flags = Spliterator.ORDERED | Spliterator.NONNULL;
 
         if (total() > -1) {
@@ -144,13 +224,27 @@ public class PaginatedResourceList<E> implements List<E> {
     /**
      * {@inheritDoc}
      * <p>
-     * Implementation note: simply returns a sequential stream; parallel streams are not supported.
+     * Implementation note: returns a parallel stream if the total size of the collection and results per page are
+     * known, and links to arbitrary pages can be built from the 'first' and 'last' links (see {@link PageLinkPattern}).
+     * Pages are then fetched and read independently, by the threads of the {@code ForkJoinPool} running the stream
+     * pipeline.  Pages fetched by the stream are shared with the other consumers of this list, like pages fetched by
+     * iterators.  Otherwise, pages can only be reached by following 'next' links, and a sequential stream is returned.
      * </p>
      * @return
      */
     @Override
     public Stream<E> parallelStream() {
-        return stream();
+        if (total() < 0 || perPage() <= 0) {
+            return stream();
+        }
+
+        final PageSpliterator<E> pages = PageSpliterator.create(resources, pages(), total(), perPage());
+
+        if (pages == null) {
+            return stream();
+        }
+
+        return StreamSupport.stream(pages, true);
     }
 
     @Override
@@ -170,7 +264,14 @@ public class PaginatedResourceList<E> implements List<E> {
 
     @Override
     public Object[] toArray() {
-        return stream().toArray();
+        final PageStore<E> pages = pages();
+        final Object[] elements = new Object[pages.fetchAll()];
+
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = pages.get(i);
+        }
+
+        return elements;
     }
 
     @Override
@@ -201,8 +302,13 @@ public class PaginatedResourceList<E> implements List<E> {
                     size() + "'");
         }
 
-        return stream().skip(index).findFirst().orElseThrow(() ->
-                new IndexOutOfBoundsException("Unable to retrieve element at index " + index));
+        final PageStore<E> pages = pages();
+
+        if (!pages.fetch(index + 1)) {
+            throw new IndexOutOfBoundsException("Unable to retrieve element at index " + index);
+        }
+
+        return pages.get(index);
     }
 
     @Override
@@ -221,12 +327,12 @@ public class PaginatedResourceList<E> implements List<E> {
     }
 
     /**
-     * Advances sequentially through the stream, stopping at the first matching object if {@code shortCircuit} is
-     * {@code true}.  Will scan the entire stream if {@code shortCircuit} is {@code false}.  It may make sense to
-     * start at the end of the results and work backward if this implementation is too inefficient.
+     * Advances sequentially through the elements, stopping at the first matching object if {@code shortCircuit} is
+     * {@code true}.  Will scan all elements if {@code shortCircuit} is {@code false}.  Pages are fetched only as far as
+     * the scan reaches, and are kept for subsequent calls.
      *
      * @param o the object to match
-     * @param shortCircuit {@code true} to stop at the first match, will scan the entire stream otherwise
+     * @param shortCircuit {@code true} to stop at the first match, will scan all elements otherwise
      * @return the first ({@code shortCircuit} = {@code true}) or last ({@code shortCircuit} = {@code false}) index of
      *         {@code o} in the list.  Returns {@code -1} if {@code o} is not found.
      */
@@ -235,30 +341,23 @@ public class PaginatedResourceList<E> implements List<E> {
             return -1;
         }
 
-        // current position in the list
-        final AtomicInteger i = new AtomicInteger(0);
+        final PageStore<E> pages = pages();
 
         // position of the most recently matched object
-        final AtomicInteger j = new AtomicInteger(-1);
+        int j = -1;
 
-        final Stream<E> stream = stream().filter(e -> {
+        for (int i = 0; pages.fetch(i + 1); i++) {
+            final E e = pages.get(i);
             if (o == null ? e == null : o.equals(e)) {
-                j.set(i.getAndIncrement());
-                return true;
+                j = i;
+                if (shortCircuit) {
+                    break;
+                }
             }
-            i.getAndIncrement();
-            return false;
-        });
-
-        if (shortCircuit) {
-            stream.findFirst();
-        } else {
-            // any terminal operation will work
-            stream.count();
         }
 
         // will contain the first index found (short-circuit = true) or the last index found (short-circuit = false)
-        return j.get();
+        return j;
     }
 
     @Override
@@ -276,10 +375,14 @@ public class PaginatedResourceList<E> implements List<E> {
                     "this List '" + size() + "'");
         }
 
-        return stream()
-                .skip(fromIndex)
-                .limit(toIndex - fromIndex)
-                .collect(Collectors.toList());
+        final PageStore<E> pages = pages();
+        final List<E> result = new ArrayList<>(toIndex - fromIndex);
+
+        for (int i = fromIndex; i < toIndex && pages.fetch(i + 1); i++) {
+            result.add(pages.get(i));
+        }
+
+        return result;
     }
 
     /**
@@ -502,4 +605,47 @@ public class PaginatedResourceList<E> implements List<E> {
         throw new UnsupportedOperationException(READ_ONLY);
     }
 
+    /**
+     * Iterates over the shared pages of this list.  Pages are fetched when the iterator first needs them, unless
+     * another consumer has already fetched them.
+     */
+    private class PageIterator implements Iterator<E> {
+
+        /**
+         * Index of the next element
+         */
+        private int index;
+
+        /**
+         * Non-empty page holding the most recently returned element, {@code -1} before the first element
+         */
+        private int page = -1;
+
+        @Override
+        public boolean hasNext() {
+            return pages().fetch(index + 1);
+        }
+
+        @Override
+        public E next() {
+            final PageStore<E> pages = pages();
+
+            if (!pages.fetch(index + 1)) {
+                throw new NoSuchElementException();
+            }
+
+            final E element = pages.get(index);
+            final int current = pages.pageOf(index++);
+
+            if (current != page) {
+                page = current;
+                if (prefetchDepth > 0) {
+                    pages.prefetch(page + 1 + prefetchDepth, prefetchExecutor);
+                }
+            }
+
+            return element;
+        }
+    }
+
 }
@@ -58,7 +58,8 @@ public class ReflectionUtils {
 	public static Class<?> getFieldType(Field field) {
 		Class<?> targetType = field.getType();
 
-		if (targetType.equals(List.class)) {
+		// Relationship collections are bound as lists, which may be declared using any of their supertypes
+		if (targetType.isAssignableFrom(List.class) && Iterable.class.isAssignableFrom(targetType)) {
 			ParameterizedType stringListType = (ParameterizedType) field.getGenericType();
 			targetType = (Class<?>) stringListType.getActualTypeArguments()[0];
 		}
@@ -0,0 +1,91 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Relationship;
+
+import java.lang.reflect.Field;
+
+/**
+ * Immutable, precompiled metadata of a single relationship field of a registered resource class.
+ */
+final class RelationshipDescriptor {
+	private final Field field;
+	private final FieldAccessor accessor;
+	private final String name;
+	private final Class<?> targetType;
+	private final boolean resolve;
+	private final boolean serialise;
+	private final RelType relType;
+	private final ResolutionStrategy strategy;
+
+	RelationshipDescriptor(Field field, Relationship relationship, Class<?> targetType,
+						   ResourceAccessor<Object> accessor) {
+		this.field = field;
+		this.accessor = FieldAccessor.create(field, accessor);
+		this.name = relationship.value();
+		this.targetType = targetType;
+		this.resolve = relationship.resolve();
+		this.serialise = relationship.serialise();
+		this.relType = relationship.relType();
+		this.strategy = relationship.strategy();
+	}
+
+	/**
+	 * Returns the relationship field.
+	 * @return field
+	 */
+	Field getField() {
+		return field;
+	}
+
+	/**
+	 * Returns relationship name, as used in serialized JSON.
+	 * @return name
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns type of the related resource (element type in case of collection relationships).
+	 * @return related resource type
+	 */
+	Class<?> getTargetType() {
+		return targetType;
+	}
+
+	boolean isResolve() {
+		return resolve;
+	}
+
+	boolean isSerialise() {
+		return serialise;
+	}
+
+	RelType getRelType() {
+		return relType;
+	}
+
+	ResolutionStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * Reads relationship value from given resource.
+	 * @param resource resource instance
+	 * @return relationship value
+	 * @throws IllegalAccessException thrown in case field is not accessible
+	 */
+	Object get(Object resource) throws IllegalAccessException {
+		return accessor.get(resource);
+	}
+
+	/**
+	 * Sets relationship value on given resource.
+	 * @param resource resource instance
+	 * @param value relationship value
+	 * @throws IllegalAccessException thrown in case field is not accessible
+	 */
+	void set(Object resource, Object value) throws IllegalAccessException {
+		accessor.set(resource, value);
+	}
+}
@@ -0,0 +1,39 @@
+package com.github.jasminb.jsonapi;
+
+/**
+ * Cache of documents fetched by relationship resolvers, shared by all reads of a {@link ResourceConverter}.
+ * <p>
+ * Documents are cached in their raw form and bound anew on each read, so cached entries never share objects between
+ * reads. Implementations must be thread-safe. Cached arrays must not be modified.
+ * </p>
+ *
+ * @see ResourceConverter#setResolutionCache(ResolutionCache)
+ * @see LruResolutionCache
+ */
+public interface ResolutionCache {
+
+	/**
+	 * Returns cached document.
+	 * @param relationshipURL URL the document was fetched from
+	 * @return raw document or {@code null} in case it is not cached
+	 */
+	byte [] get(String relationshipURL);
+
+	/**
+	 * Caches document fetched from given URL.
+	 * @param relationshipURL URL the document was fetched from
+	 * @param content raw document
+	 */
+	void put(String relationshipURL, byte [] content);
+
+	/**
+	 * Removes document fetched from given URL.
+	 * @param relationshipURL URL the document was fetched from
+	 */
+	void invalidate(String relationshipURL);
+
+	/**
+	 * Removes all documents.
+	 */
+	void invalidateAll();
+}
@@ -0,0 +1,119 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Limits number of requests to asynchronous resolvers that are in flight at the same time.
+ * <p>
+ * Requests over the limit do not block the caller, they are queued and issued in order as earlier requests complete,
+ * from the thread completing them. Requests completing synchronously are issued one after another rather than
+ * recursively, so long queues do not grow the stack.
+ * </p>
+ */
+class ResolutionLimiter {
+	private final Deque<Pending> queue = new ArrayDeque<>();
+	private final ThreadLocal<Boolean> draining = new ThreadLocal<>();
+	private int available;
+
+	/**
+	 * Creates new limiter.
+	 * @param limit maximum number of requests in flight
+	 */
+	ResolutionLimiter(int limit) {
+		this.available = limit;
+	}
+
+	/**
+	 * Issues request as soon as the limit allows.
+	 * @param request issues the request
+	 * @return pending response, completed once the request is issued and completes
+	 */
+	CompletableFuture<byte []> submit(Supplier<CompletableFuture<byte []>> request) {
+		Pending pending = new Pending(request);
+
+		synchronized (this) {
+			queue.add(pending);
+		}
+
+		drain();
+
+		return pending.response;
+	}
+
+	private void drain() {
+		// Issued from a request completing synchronously, the loop further up the stack issues the next one
+		if (draining.get() != null) {
+			return;
+		}
+
+		draining.set(Boolean.TRUE);
+
+		try {
+			Pending next;
+
+			while ((next = poll()) != null) {
+				start(next);
+			}
+		} finally {
+			draining.remove();
+		}
+	}
+
+	private synchronized Pending poll() {
+		if (available == 0 || queue.isEmpty()) {
+			return null;
+		}
+
+		available--;
+		return queue.poll();
+	}
+
+	private void release() {
+		synchronized (this) {
+			available++;
+		}
+
+		drain();
+	}
+
+	private void start(final Pending pending) {
+		CompletableFuture<byte []> response;
+
+		try {
+			response = pending.request.get();
+		} catch (RuntimeException e) {
+			pending.response.completeExceptionally(e);
+			release();
+			return;
+		}
+
+		response.whenComplete(new BiConsumer<byte [], Throwable>() {
+			@Override
+			public void accept(byte [] content, Throwable throwable) {
+				release();
+
+				if (throwable != null) {
+					pending.response.completeExceptionally(throwable);
+				} else {
+					pending.response.complete(content);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Request waiting to be issued.
+	 */
+	private static class Pending {
+		private final Supplier<CompletableFuture<byte []>> request;
+		private final CompletableFuture<byte []> response = new CompletableFuture<>();
+
+		Pending(Supplier<CompletableFuture<byte []>> request) {
+			this.request = request;
+		}
+	}
+}
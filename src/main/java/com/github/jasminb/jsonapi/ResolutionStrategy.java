@@ -16,6 +16,16 @@ public enum ResolutionStrategy {
      * Strategy which simply stores the relationship URL (as specified by the {@code relType} attribute on the
      * {@code Relationship}) in String field on an object.
      */
-    REF
+    REF,
+
+    /**
+     * Strategy which defers resolving the relationship URL (as specified by the {@code relType} attribute on the
+     * {@code Relationship}) until the relationship is first accessed.  The field must be declared as a {@code List},
+     * {@code Collection} or {@code Iterable}, which is checked when the resource class is registered; it is set to
+     * a read-only list that uses a {@link RelationshipResolver} when any of its methods is called for the first time,
+     * and keeps the deserialized objects for subsequent calls.  Writing a resource does not resolve the list, while
+     * unresolved it is written as the relationship link only.
+     */
+    LAZY
 
 }
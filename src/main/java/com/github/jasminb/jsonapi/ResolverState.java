@@ -32,6 +32,25 @@ class ResolverState {
      */
     private final Map<String, Object> cache = new HashMap<>();
 
+    /**
+     * Maintains responses fetched ahead of resolving relationships, e.g. by a {@link BatchRelationshipResolver}
+     */
+    private final Map<String, byte[]> responses = new HashMap<>();
+
+    /**
+     * Maintains urls whose responses ahead were taken from the {@link ResolutionCache} rather than fetched
+     */
+    private final Set<String> cachedResponses = new HashSet<>();
+
+    /**
+     * Constructs a new state object shared by all resources of a document, rather than maintained for a single
+     * {@code Field}.
+     */
+    ResolverState() {
+        this.relType = null;
+        this.field = null;
+    }
+
     /**
      * Constructs a new state object.
      *
@@ -64,11 +83,66 @@ class ResolverState {
         return !this.visited.add(url);
     }
 
+    /**
+     * Checks if a URL has been visited, without recording a visit.
+     *
+     * @param url a link url
+     * @return true if {@code url} has already been visited, {@code false} otherwise
+     */
+    boolean isVisited(String url) {
+        return this.visited.contains(url);
+    }
+
     Object cache(String url, Object object) {
         cache.put(url, object);
         return object;
     }
 
+    /**
+     * Records response fetched for a URL ahead of resolving the relationship it belongs to.
+     *
+     * @param url a link url
+     * @param content raw response
+     * @param cached {@code true} if response was taken from the resolution cache
+     */
+    void putResponse(String url, byte[] content, boolean cached) {
+        responses.put(url, content);
+
+        if (cached) {
+            cachedResponses.add(url);
+        }
+    }
+
+    /**
+     * Checks if response ahead for a URL was taken from the resolution cache.
+     *
+     * @param url a link url
+     * @return {@code true} if response was not fetched
+     */
+    boolean isCachedResponse(String url) {
+        return cachedResponses.contains(url);
+    }
+
+    /**
+     * Checks if response was fetched ahead for a URL.
+     *
+     * @param url a link url
+     * @return {@code true} if response is available
+     */
+    boolean hasResponse(String url) {
+        return responses.containsKey(url);
+    }
+
+    /**
+     * Removes and returns response fetched ahead for a URL.
+     *
+     * @param url a link url
+     * @return raw response, or {@code null} if no response was fetched ahead
+     */
+    byte[] takeResponse(String url) {
+        return responses.remove(url);
+    }
+
     boolean isCached(String url) {
         return cache.containsKey(url);
     }
@@ -0,0 +1,57 @@
+package com.github.jasminb.jsonapi;
+
+/**
+ * Creates instances of a resource class and accesses its id, relationship, links and meta fields.
+ * <p>
+ * Implementations are generated at compile time by
+ * {@link com.github.jasminb.jsonapi.processor.ResourceAccessorProcessor} and picked up by {@link ResourceConverter}
+ * when the resource class is registered, so that reading and writing resources does not need reflection. Resource
+ * classes without a generated accessor are handled reflectively.
+ * </p>
+ * <p>
+ * Generated accessor for class <code>com.example.Outer.Book</code> is named
+ * <code>com.example.Outer_Book{@value #SUFFIX}</code>.
+ * </p>
+ *
+ * @param <T> resource type
+ */
+public interface ResourceAccessor<T> {
+
+	/**
+	 * Suffix appended to the (nested) name of the resource class to form the name of its generated accessor.
+	 */
+	String SUFFIX = "_ResourceAccessor";
+
+	/**
+	 * Creates new resource instance using no-argument constructor.
+	 * @return new instance
+	 */
+	T newInstance();
+
+	/**
+	 * Resolves the slot of an annotated field. Slots are resolved once, when the resource class is registered, and
+	 * used to access the field afterwards.
+	 * @param field name of the Java field
+	 * @return field slot
+	 * @throws IllegalArgumentException in case field is not handled by this accessor
+	 */
+	int slot(String field);
+
+	/**
+	 * Reads the value of an annotated field.
+	 * @param resource resource instance
+	 * @param slot field slot, as returned by {@link #slot(String)}
+	 * @return field value
+	 * @throws IllegalArgumentException in case slot is not handled by this accessor
+	 */
+	Object get(T resource, int slot);
+
+	/**
+	 * Sets the value of an annotated field.
+	 * @param resource resource instance
+	 * @param slot field slot, as returned by {@link #slot(String)}
+	 * @param value field value
+	 * @throws IllegalArgumentException in case slot is not handled by this accessor
+	 */
+	void set(T resource, int slot, Object value);
+}
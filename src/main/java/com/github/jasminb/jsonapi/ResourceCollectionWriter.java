@@ -0,0 +1,233 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+
+import static com.github.jasminb.jsonapi.JSONAPISpecConstants.*;
+
+/**
+ * Writes a resource collection document one resource at a time.
+ * <p>
+ * Each resource is written as soon as it is passed to the writer, so exporting collections of unknown or unbounded
+ * size (for example database cursors) takes constant memory. Top-level
+ * <a href="http://jsonapi.org/format/#document-links">links</a> and
+ * <a href="http://jsonapi.org/format/#document-meta">meta</a> can be set at any time before the writer is closed and
+ * are written after the <code>data</code> array, so they can describe the written resources (e.g. their count).
+ * </p>
+ * <p>
+ * Document is completed when the writer is closed. In case writing a resource fails, closing the writer releases the
+ * output without completing the document.
+ * </p>
+ *
+ * @see ResourceConverter#createCollectionWriter(java.io.OutputStream)
+ */
+public class ResourceCollectionWriter implements Closeable, Flushable {
+	private final StreamingWriter writer;
+	private final JsonGenerator generator;
+	private final SerializerProvider provider;
+	private final boolean closeGenerator;
+
+	private Map<String, Link> links = Collections.emptyMap();
+	private Map<String, ?> meta = Collections.emptyMap();
+
+	private int flushInterval;
+	private long count;
+	private boolean failed;
+	private boolean closed;
+
+	/**
+	 * Creates writer and writes the start of the document.
+	 * @param writer write engine
+	 * @param generator target generator
+	 * @param closeGenerator <code>true</code> if generator should be closed together with the writer
+	 * @throws IOException in case start of the document cannot be written
+	 */
+	ResourceCollectionWriter(StreamingWriter writer, JsonGenerator generator, boolean closeGenerator)
+			throws IOException {
+		this.writer = writer;
+		this.generator = generator;
+		this.provider = writer.createProvider();
+		this.closeGenerator = closeGenerator;
+
+		writer.configure(generator);
+
+		generator.writeStartObject();
+		generator.writeArrayFieldStart(DATA);
+	}
+
+	/**
+	 * Sets number of resources after which the output is flushed. By default output is flushed only once it fills the
+	 * generator's buffer.
+	 * @param resources number of resources, <code>0</code> disables periodic flushing
+	 * @return this writer
+	 */
+	public ResourceCollectionWriter setFlushInterval(int resources) {
+		if (resources < 0) {
+			throw new IllegalArgumentException("Flush interval must not be negative.");
+		}
+		this.flushInterval = resources;
+		return this;
+	}
+
+	/**
+	 * Writes single resource.
+	 * @param resource resource to write
+	 * @throws IOException in case resource cannot be written
+	 * @throws IllegalAccessException in case resource fields cannot be accessed
+	 */
+	public void write(Object resource) throws IOException, IllegalAccessException {
+		if (closed) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+
+		try {
+			writer.writeResource(generator, provider, resource);
+		} catch (IOException | IllegalAccessException | RuntimeException e) {
+			failed = true;
+			throw e;
+		}
+
+		count++;
+
+		if (flushInterval > 0 && count % flushInterval == 0) {
+			generator.flush();
+		}
+	}
+
+	/**
+	 * Writes all remaining resources of the iterator.
+	 * @param resources resources to write
+	 * @throws IOException in case resource cannot be written
+	 * @throws IllegalAccessException in case resource fields cannot be accessed
+	 */
+	public void writeAll(Iterator<?> resources) throws IOException, IllegalAccessException {
+		while (resources.hasNext()) {
+			write(resources.next());
+		}
+	}
+
+	/**
+	 * Writes all remaining resources of the spliterator, in encounter order.
+	 * @param resources resources to write
+	 * @throws IOException in case resource cannot be written
+	 * @throws IllegalAccessException in case resource fields cannot be accessed
+	 */
+	public void writeAll(Spliterator<?> resources) throws IOException, IllegalAccessException {
+		writeAll(Spliterators.iterator(resources));
+	}
+
+	/**
+	 * Writes all resources of the stream, in encounter order. Stream is consumed, but not closed.
+	 * @param resources resources to write
+	 * @throws IOException in case resource cannot be written
+	 * @throws IllegalAccessException in case resource fields cannot be accessed
+	 */
+	public void writeAll(Stream<?> resources) throws IOException, IllegalAccessException {
+		writeAll(resources.iterator());
+	}
+
+	/**
+	 * Returns number of resources written so far.
+	 * @return resource count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Sets top-level links, written once the writer is closed.
+	 * @param links links keyed by link name, must not be {@code null}
+	 */
+	public void setLinks(Map<String, Link> links) {
+		if (links == null) {
+			throw new IllegalArgumentException("Links map must not be null.");
+		}
+		this.links = links;
+	}
+
+	/**
+	 * Sets top-level meta information, written once the writer is closed.
+	 * @param meta meta information keyed by field name, must not be {@code null}
+	 */
+	public void setMeta(Map<String, ?> meta) {
+		if (meta == null) {
+			throw new IllegalArgumentException("Meta information must not be null.");
+		}
+		this.meta = meta;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		generator.flush();
+	}
+
+	/**
+	 * Completes the document, writing top-level meta and links, and releases the output.
+	 * @throws IOException in case end of the document cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		try {
+			if (!failed) {
+				generator.writeEndArray();
+
+				if (!meta.isEmpty()) {
+					generator.writeFieldName(META);
+					provider.defaultSerializeValue(meta, generator);
+				}
+
+				if (!links.isEmpty()) {
+					writeLinks();
+				}
+
+				generator.writeEndObject();
+			}
+
+			generator.flush();
+		} finally {
+			if (closeGenerator) {
+				if (failed) {
+					// Leave the document incomplete rather than have generator close open structures
+					generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+				}
+				generator.close();
+			}
+		}
+	}
+
+	private void writeLinks() throws IOException {
+		generator.writeObjectFieldStart(LINKS);
+
+		for (Map.Entry<String, Link> entry : links.entrySet()) {
+			Link link = entry.getValue();
+
+			if (link.getMeta() == null || link.getMeta().isEmpty()) {
+				generator.writeStringField(entry.getKey(), link.getHref());
+			} else {
+				generator.writeObjectFieldStart(entry.getKey());
+				generator.writeStringField(HREF, link.getHref());
+				generator.writeFieldName(META);
+				provider.defaultSerializeValue(link.getMeta(), generator);
+				generator.writeEndObject();
+			}
+		}
+
+		generator.writeEndObject();
+	}
+}
@@ -1,29 +1,46 @@
 package com.github.jasminb.jsonapi;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.MapType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
-import com.github.jasminb.jsonapi.annotations.Id;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.github.jasminb.jsonapi.annotations.Links;
-import com.github.jasminb.jsonapi.annotations.Meta;
-import com.github.jasminb.jsonapi.annotations.Relationship;
-import com.github.jasminb.jsonapi.annotations.Type;
 import com.github.jasminb.jsonapi.models.errors.Error;
 import com.github.jasminb.jsonapi.models.errors.ErrorResponse;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
 
 import static com.github.jasminb.jsonapi.JSONAPISpecConstants.*;
 
@@ -36,102 +53,47 @@ import static com.github.jasminb.jsonapi.JSONAPISpecConstants.*;
  * @author jbegic
  */
 public class ResourceConverter {
-	private static final Map<String, Class<?>> TYPE_TO_CLASS_MAPPING = new HashMap<>();
-	private static final Map<Class<?>, Type> TYPE_ANNOTATIONS = new HashMap<>();
-	private static final Map<Class<?>, Field> ID_MAP = new HashMap<>();
-	private static final Map<Class<?>, List<Field>> RELATIONSHIPS_MAP = new HashMap<>();
-	private static final Map<Class<?>, Map<String, Class<?>>> RELATIONSHIP_TYPE_MAP = new HashMap<>();
-	private static final Map<Class<?>, Map<String, Field>> RELATIONSHIP_FIELD_MAP = new HashMap<>();
-	private static final Map<Field, Relationship> FIELD_RELATIONSHIP_MAP = new HashMap<>();
-	private static final Map<Class<?>, Field> LINK_FIELD = new HashMap<>();
-	private static final Map<Class<?>, Class<?>> META_TYPE_MAP = new HashMap<>();
-	private static final Map<Class<?>, Field> META_FIELD = new HashMap<>();
+	/**
+	 * Default minimal number of <code>data</code> elements bound in parallel, smaller arrays are bound on the calling
+	 * thread.
+	 */
+	private static final int PARALLEL_THRESHOLD = 512;
 
+	/**
+	 * Minimal number of <code>data</code> elements bound by a single task.
+	 */
+	private static final int PARALLEL_BATCH_SIZE = 64;
+
+	private final TypeRegistry registry;
 
 	private ObjectMapper objectMapper;
 
 	private RelationshipResolver globalResolver;
 	private Map<Class<?>, RelationshipResolver> typedResolvers = new HashMap<>();
+	private AsyncRelationshipResolver globalAsyncResolver;
+	private Map<Class<?>, AsyncRelationshipResolver> typedAsyncResolvers = new HashMap<>();
+	private BatchRelationshipResolver batchResolver;
+	private ResolutionCache resolutionCache;
+	private volatile ResolutionLimiter resolutionLimiter;
+	private final SingleFlight inFlightResolutions = new SingleFlight();
+
+	private final Set<DeserializationFeature> deserializationFeatures = DeserializationFeature.getDefaultFeatures();
+	private final Set<SerializationFeature> serializationFeatures = SerializationFeature.getDefaultFeatures();
+	private StreamingReader streamingReader;
+	private StreamingWriter streamingWriter;
+	private ForkJoinPool bindingPool;
+	private int parallelThreshold = PARALLEL_THRESHOLD;
+	private int pagePrefetchDepth;
+	private Executor pagePrefetchExecutor;
+	private int pageWindow;
+	private boolean spillPages;
 
 	public ResourceConverter(Class<?>... classes) {
 		this(null, classes);
 	}
 
 	public ResourceConverter(ObjectMapper mapper, Class<?>... classes) {
-		for (Class<?> clazz : classes) {
-			if (clazz.isAnnotationPresent(Type.class)) {
-				Type annotation = clazz.getAnnotation(Type.class);
-				TYPE_TO_CLASS_MAPPING.put(annotation.value(), clazz);
-				TYPE_ANNOTATIONS.put(clazz, annotation);
-				RELATIONSHIP_TYPE_MAP.put(clazz, new HashMap<String, Class<?>>());
-				RELATIONSHIP_FIELD_MAP.put(clazz, new HashMap<String, Field>());
-
-				// collecting Relationship fields
-				List<Field> relationshipFields = ReflectionUtils.getAnnotatedFields(clazz, Relationship.class, true);
-
-				for (Field relationshipField : relationshipFields) {
-					relationshipField.setAccessible(true);
-
-					Relationship relationship = relationshipField.getAnnotation(Relationship.class);
-					Class<?> targetType = ReflectionUtils.getFieldType(relationshipField);
-					RELATIONSHIP_TYPE_MAP.get(clazz).put(relationship.value(), targetType);
-					RELATIONSHIP_FIELD_MAP.get(clazz).put(relationship.value(), relationshipField);
-					FIELD_RELATIONSHIP_MAP.put(relationshipField, relationship);
-					if (relationship.resolve() && relationship.relType() == null) {
-						throw new IllegalArgumentException("@Relationship on " + clazz.getName() + "#" +
-								relationshipField.getName() + " with 'resolve = true' must have a relType attribute " +
-								"set." );
-					}
-				}
-
-				RELATIONSHIPS_MAP.put(clazz, relationshipFields);
-
-				// collecting Id fields
-				List<Field> idAnnotatedFields = ReflectionUtils.getAnnotatedFields(clazz, Id.class, true);
-
-				if (!idAnnotatedFields.isEmpty() && idAnnotatedFields.size() == 1) {
-					Field idField = idAnnotatedFields.get(0);
-					idField.setAccessible(true);
-					ID_MAP.put(clazz, idField);
-				} else {
-					if (idAnnotatedFields.isEmpty()) {
-						throw new IllegalArgumentException("All resource classes must have a field annotated with the " +
-								"@Id annotation");
-					} else {
-						throw new IllegalArgumentException("Only single @Id annotation is allowed per defined type!");
-					}
-
-				}
-
-				// collecting Meta fields
-				List<Field> metaFields = ReflectionUtils.getAnnotatedFields(clazz, Meta.class, true);
-				if (metaFields.size() > 1) {
-					throw new IllegalArgumentException(String.format("Only one meta field is allowed for type '%s'",
-							clazz.getCanonicalName()));
-				}
-				if (metaFields.size() == 1) {
-					Field metaField = metaFields.get(0);
-					metaField.setAccessible(true);
-					Class<?> metaType = ReflectionUtils.getFieldType(metaField);
-					META_TYPE_MAP.put(clazz, metaType);
-					META_FIELD.put(clazz, metaField);
-				}
-
-				// link fields
-				List<Field> linkFields = ReflectionUtils.getAnnotatedFields(clazz, Links.class, true);
-				if (linkFields.size() > 1) {
-					throw new IllegalArgumentException(String.format("Only one link field is allowed for type '%s'",
-							clazz.getCanonicalName()));
-				}
-				if (linkFields.size() == 1) {
-					Field linkField = linkFields.get(0);
-					linkField.setAccessible(true);
-					LINK_FIELD.put(clazz, linkField);
-				}
-			} else {
-				throw new IllegalArgumentException("All resource classes must be annotated with Type annotation!");
-			}
-		}
+		registry = TypeRegistry.of(classes);
 
 		// Set custom mapper if provided
 		if (mapper != null) {
@@ -141,6 +103,9 @@ public class ResourceConverter {
 		}
 
 		objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+		streamingReader = new StreamingReader(this, objectMapper);
+		streamingWriter = new StreamingWriter(this, objectMapper);
 	}
 
 	/**
@@ -172,6 +137,190 @@ public class ResourceConverter {
 		}
 	}
 
+	/**
+	 * Registers global asynchronous relationship resolver. All resolvable relationships of a resource are requested
+	 * from this resolver at once, before any of them is bound, so their round trips overlap.
+	 * <p>
+	 * Type resolvers take precedence over the global ones. Asynchronous resolver takes precedence over the synchronous
+	 * one registered for the same scope.
+	 * </p>
+	 * @param resolver resolver instance
+	 */
+	public void setGlobalAsyncResolver(AsyncRelationshipResolver resolver) {
+		this.globalAsyncResolver = resolver;
+	}
+
+	/**
+	 * Registers asynchronous relationship resolver for given type. Resolver will be used if relationship resolution
+	 * is enabled trough relationship annotation.
+	 * @param resolver resolver instance
+	 * @param type type
+	 */
+	public void setTypeAsyncResolver(AsyncRelationshipResolver resolver, Class<?> type) {
+		if (resolver != null) {
+			String typeName = ReflectionUtils.getTypeName(type);
+
+			if (typeName != null) {
+				typedAsyncResolvers.put(type, resolver);
+			}
+		}
+	}
+
+	/**
+	 * Registers batch relationship resolver. Before a document is bound, links of all its resolvable relationships are
+	 * passed to this resolver at once, and so are links found in the documents it returns, one level of the resource
+	 * graph at a time. Relationships are then bound from the fetched documents.
+	 * <p>
+	 * Batch resolver handles relationships whose type has no type resolver registered. Links it does not return a
+	 * document for are resolved one by one, using global resolvers if registered or the batch resolver otherwise.
+	 * </p>
+	 * @param resolver resolver instance
+	 */
+	public void setBatchResolver(BatchRelationshipResolver resolver) {
+		this.batchResolver = resolver;
+	}
+
+	/**
+	 * Sets cache of documents fetched by relationship resolvers. Cache is shared by all reads of this converter, so
+	 * relationships pointing to the same URL are fetched once for as long as the document stays cached, rather than
+	 * once per read. Documents are cached once they are successfully bound.
+	 * @param cache cache to use, or <code>null</code> to disable caching (default)
+	 * @see LruResolutionCache
+	 */
+	public void setResolutionCache(ResolutionCache cache) {
+		this.resolutionCache = cache;
+	}
+
+	/**
+	 * Limits number of relationship requests issued to asynchronous resolvers that can be in flight at the same
+	 * time, across all documents read by this converter. Requests over the limit are queued and issued as earlier
+	 * ones complete, reading thread is blocked only once it needs a response that was not received yet.
+	 * @param maxConcurrentResolutions maximum number of requests in flight, <code>0</code> for no limit (default)
+	 */
+	public void setMaxConcurrentResolutions(int maxConcurrentResolutions) {
+		if (maxConcurrentResolutions < 0) {
+			throw new IllegalArgumentException("Concurrency limit must not be negative.");
+		}
+		this.resolutionLimiter = maxConcurrentResolutions > 0 ? new ResolutionLimiter(maxConcurrentResolutions) :
+				null;
+	}
+
+	/**
+	 * Sets pool used to bind <code>data</code> elements when {@link DeserializationFeature#BIND_DATA_IN_PARALLEL} is
+	 * enabled.
+	 * @param pool pool to use, or <code>null</code> to use {@link ForkJoinPool#commonPool()}
+	 */
+	public void setBindingPool(ForkJoinPool pool) {
+		this.bindingPool = pool;
+	}
+
+	/**
+	 * Sets minimal size of <code>data</code> arrays bound in parallel when
+	 * {@link DeserializationFeature#BIND_DATA_IN_PARALLEL} is enabled, smaller arrays are bound on the calling thread.
+	 * Break-even point depends on the resource types and on the number of cores available to the binding pool.
+	 * @param elements minimal number of elements, default is 512
+	 */
+	public void setParallelBindingThreshold(int elements) {
+		if (elements < 1) {
+			throw new IllegalArgumentException("Parallel binding threshold must be positive.");
+		}
+		this.parallelThreshold = elements;
+	}
+
+	/**
+	 * Makes iterators and streams of paginated collections request following pages in the background, while earlier
+	 * pages are consumed. Pages are requested using relationship resolvers from the threads of given executor.
+	 * @param depth maximum number of pages requested ahead of the page being consumed, <code>0</code> to request
+	 *              pages only when needed (default)
+	 * @param executor executor to use, or <code>null</code> to use {@link ForkJoinPool#commonPool()}
+	 */
+	public void setPagePrefetch(int depth, Executor executor) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("Prefetch depth must not be negative.");
+		}
+		this.pagePrefetchDepth = depth;
+		this.pagePrefetchExecutor = executor;
+	}
+
+	/**
+	 * Bounds the memory used by paginated collections to a window of recently used pages. Pages falling out of the
+	 * window are either discarded and requested again using relationship resolvers when needed, or read again from a
+	 * temporary file, to which pages are written as the documents they were read from when they are fetched. Every
+	 * fetched page is written, so the file takes as much disk space as all documents fetched for the collection. The
+	 * file is deleted when the collection is closed (see {@link PaginatedResourceList#close()}), or otherwise when the
+	 * JVM exits. Elements of pages brought back into the window are new instances. The first page of a collection is
+	 * always kept.
+	 * @param pages maximum number of pages kept in memory besides the first page, <code>0</code> to keep all
+	 *              fetched pages (default)
+	 * @param spillToDisk <code>true</code> to spill pages falling out of the window to a temporary file,
+	 *                    <code>false</code> to request them again
+	 */
+	public void setPageWindow(int pages, boolean spillToDisk) {
+		if (pages < 0) {
+			throw new IllegalArgumentException("Page window must not be negative.");
+		}
+		this.pageWindow = pages;
+		this.spillPages = spillToDisk;
+	}
+
+	/**
+	 * Turns on given deserialization feature for this converter instance.
+	 * @param option feature to enable
+	 * @throws IllegalArgumentException in case feature cannot be combined with a feature that is already enabled
+	 */
+	public void enableDeserializationOption(DeserializationFeature option) {
+		if ((option == DeserializationFeature.BIND_DATA_IN_PARALLEL &&
+				isEnabled(DeserializationFeature.USE_STREAMING_PARSER)) ||
+				(option == DeserializationFeature.USE_STREAMING_PARSER &&
+						isEnabled(DeserializationFeature.BIND_DATA_IN_PARALLEL))) {
+			throw new IllegalArgumentException("Parallel binding of data cannot be combined with the streaming " +
+					"parser, which binds elements while they are being read.");
+		}
+		deserializationFeatures.add(option);
+	}
+
+	/**
+	 * Turns off given deserialization feature for this converter instance.
+	 * @param option feature to disable
+	 */
+	public void disableDeserializationOption(DeserializationFeature option) {
+		deserializationFeatures.remove(option);
+	}
+
+	/**
+	 * Checks if given deserialization feature is turned on.
+	 * @param option feature to check
+	 * @return <code>true</code> if feature is enabled, else <code>false</code>
+	 */
+	public boolean isEnabled(DeserializationFeature option) {
+		return deserializationFeatures.contains(option);
+	}
+
+	/**
+	 * Turns on given serialization feature for this converter instance.
+	 * @param option feature to enable
+	 */
+	public void enableSerializationOption(SerializationFeature option) {
+		serializationFeatures.add(option);
+	}
+
+	/**
+	 * Turns off given serialization feature for this converter instance.
+	 * @param option feature to disable
+	 */
+	public void disableSerializationOption(SerializationFeature option) {
+		serializationFeatures.remove(option);
+	}
+
+	/**
+	 * Checks if given serialization feature is turned on.
+	 * @param option feature to check
+	 * @return <code>true</code> if feature is enabled, else <code>false</code>
+	 */
+	public boolean isEnabled(SerializationFeature option) {
+		return serializationFeatures.contains(option);
+	}
+
 	/**
 	 * Converts raw data input into requested target type.
 	 * @param data raw-data
@@ -184,6 +333,73 @@ public class ResourceConverter {
 		return readObjectInternal(data, clazz, null);
 	}
 
+	/**
+	 * Converts raw data input into requested target type, using given per-document settings.
+	 * @param data raw-data
+	 * @param clazz target object
+	 * @param settings deserialization settings
+	 * @param <T>
+	 * @return converted object
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> T readObject(byte [] data, Class<T> clazz, DeserializationSettings settings) {
+		return readObjectInternal(createParser(data), clazz, null, settings);
+	}
+
+	/**
+	 * Converts input stream into requested target type, using given per-document settings. Stream is closed after
+	 * reading in case <code>JsonParser.Feature.AUTO_CLOSE_SOURCE</code> is enabled on the object mapper (default).
+	 * @param data input stream
+	 * @param clazz target object
+	 * @param settings deserialization settings
+	 * @param <T>
+	 * @return converted object
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> T readObject(InputStream data, Class<T> clazz, DeserializationSettings settings) {
+		return readObjectInternal(createParser(data), clazz, null, settings);
+	}
+
+	/**
+	 * Converts input stream into requested target type. Stream is parsed incrementally, without buffering the whole
+	 * document first. Stream is closed after reading in case <code>JsonParser.Feature.AUTO_CLOSE_SOURCE</code> is
+	 * enabled on the object mapper (default).
+	 * @param data input stream
+	 * @param clazz target object
+	 * @param <T>
+	 * @return converted object
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> T readObject(InputStream data, Class<T> clazz) {
+		return readObjectInternal(createParser(data), clazz, null, null);
+	}
+
+	/**
+	 * Converts remaining bytes of the buffer into requested target type. Both heap and direct (including memory-mapped)
+	 * buffers are read in place, without copying their content. Position of the buffer is not changed.
+	 * @param data buffer
+	 * @param clazz target object
+	 * @param <T>
+	 * @return converted object
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> T readObject(ByteBuffer data, Class<T> clazz) {
+		return readObjectInternal(createParser(data), clazz, null, null);
+	}
+
+	/**
+	 * Converts data read from the channel into requested target type. Channel is parsed incrementally, without
+	 * buffering the whole document first.
+	 * @param data channel
+	 * @param clazz target object
+	 * @param <T>
+	 * @return converted object
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> T readObject(ReadableByteChannel data, Class<T> clazz) {
+		return readObject(Channels.newInputStream(data), clazz);
+	}
+
 	/**
 	 * Converts raw data input into requested target type.
 	 * @param data raw-data
@@ -194,14 +410,37 @@ public class ResourceConverter {
 	 * @throws RuntimeException in case conversion fails
 	 */
 	private <T> T readObjectInternal(byte [] data, Class<T> clazz, ResolverState resolverState) {
-		try {
-			JsonNode rootNode = objectMapper.readTree(data);
+		return readObjectInternal(createParser(data), clazz, resolverState, null);
+	}
+
+	/**
+	 * Converts document read from the parser into requested target type. Parser is closed once done.
+	 * @param parser parser positioned before the document
+	 * @param clazz target object
+	 * @param <T>
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return converted object
+	 * @throws RuntimeException in case conversion fails
+	 */
+	private <T> T readObjectInternal(JsonParser parser, Class<T> clazz, ResolverState resolverState,
+									 DeserializationSettings settings) {
+		try (JsonParser source = parser) {
+			if (settings != null || isEnabled(DeserializationFeature.USE_STREAMING_PARSER)) {
+				return streamingReader.readObject(source, clazz, resolverState, settings);
+			}
+
+			JsonNode rootNode = objectMapper.readTree(source);
 
 			// Validate
 			ValidationUtils.ensureNotError(rootNode);
 			ValidationUtils.ensureObject(rootNode);
 
-			Map<String, Object> included = parseIncluded(rootNode, resolverState);
+			if (resolverState == null && batchResolver != null) {
+				resolverState = batchResolve(rootNode);
+			}
+
+			Map<ResourceIdentifier, Object> included = parseIncluded(rootNode, resolverState);
 
 			JsonNode dataNode = rootNode.get(DATA);
 
@@ -209,11 +448,10 @@ public class ResourceConverter {
 
 			// handling of meta node
 			if (rootNode.has(META)) {
-				Field field = META_FIELD.get(clazz);
-				if (field != null) {
-					Class<?> metaType = META_TYPE_MAP.get(clazz);
-					Object metaObject = objectMapper.treeToValue(rootNode.get(META), metaType);
-					field.set(result, metaObject);
+				ResourceDescriptor descriptor = registry.getDescriptor(clazz);
+				if (descriptor != null && descriptor.getMetaField() != null) {
+					Object metaObject = objectMapper.treeToValue(rootNode.get(META), descriptor.getMetaType());
+					descriptor.setMeta(result, metaObject);
 				}
 			}
 
@@ -237,6 +475,154 @@ public class ResourceConverter {
 		return readObjectCollectionInternal(data, clazz, null);
 	}
 
+	/**
+	 * Converts raw-data input into a collection of requested output objects, using given per-document settings.
+	 * @param data raw-data input
+	 * @param clazz target type
+	 * @param settings deserialization settings
+	 * @param <T>
+	 * @return collection of converted elements
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceList<T> readObjectCollection(byte [] data, Class<T> clazz, DeserializationSettings settings) {
+		return readObjectCollectionInternal(createParser(data), clazz, null, settings);
+	}
+
+	/**
+	 * Converts input stream into a collection of requested output objects, using given per-document settings. Stream
+	 * is closed after reading in case <code>JsonParser.Feature.AUTO_CLOSE_SOURCE</code> is enabled on the object
+	 * mapper (default).
+	 * @param data input stream
+	 * @param clazz target type
+	 * @param settings deserialization settings
+	 * @param <T>
+	 * @return collection of converted elements
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceList<T> readObjectCollection(InputStream data, Class<T> clazz,
+													DeserializationSettings settings) {
+		return readObjectCollectionInternal(createParser(data), clazz, null, settings);
+	}
+
+	/**
+	 * Converts input stream into a collection of requested output objects. Stream is parsed incrementally, without
+	 * buffering the whole document first. Stream is closed after reading in case
+	 * <code>JsonParser.Feature.AUTO_CLOSE_SOURCE</code> is enabled on the object mapper (default).
+	 * @param data input stream
+	 * @param clazz target type
+	 * @param <T>
+	 * @return collection of converted elements
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceList<T> readObjectCollection(InputStream data, Class<T> clazz) {
+		return readObjectCollectionInternal(createParser(data), clazz, null, null);
+	}
+
+	/**
+	 * Converts remaining bytes of the buffer into a collection of requested output objects. Both heap and direct
+	 * (including memory-mapped) buffers are read in place, without copying their content. Position of the buffer is
+	 * not changed.
+	 * @param data buffer
+	 * @param clazz target type
+	 * @param <T>
+	 * @return collection of converted elements
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceList<T> readObjectCollection(ByteBuffer data, Class<T> clazz) {
+		return readObjectCollectionInternal(createParser(data), clazz, null, null);
+	}
+
+	/**
+	 * Converts data read from the channel into a collection of requested output objects. Channel is parsed
+	 * incrementally, without buffering the whole document first.
+	 * @param data channel
+	 * @param clazz target type
+	 * @param <T>
+	 * @return collection of converted elements
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceList<T> readObjectCollection(ReadableByteChannel data, Class<T> clazz) {
+		return readObjectCollection(Channels.newInputStream(data), clazz);
+	}
+
+	/**
+	 * Converts raw-data input into a lazily bound collection of requested output objects. Elements of the
+	 * <code>data</code> array are converted one at a time as the returned iterator is advanced.
+	 * <p>
+	 * Elements are linked against included resources wherever <code>included</code> appears in the document. In case
+	 * it follows <code>data</code>, it is located by a separate pass over the document before the first element is
+	 * bound.
+	 * </p>
+	 * @param data raw-data input
+	 * @param clazz target type
+	 * @param <T>
+	 * @return lazy collection iterator
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceIterator<T> readObjectIterator(final byte [] data, Class<T> clazz) {
+		return streamingReader.readObjectIterator(createParser(data), new Supplier<JsonParser>() {
+			@Override
+			public JsonParser get() {
+				return createParser(data);
+			}
+		}, clazz);
+	}
+
+	/**
+	 * Converts remaining bytes of the buffer into a lazily bound collection of requested output objects. Buffer is
+	 * read in place and its position is not changed.
+	 * <p>
+	 * Elements are linked against included resources wherever <code>included</code> appears in the document. In case
+	 * it follows <code>data</code>, it is located by a separate pass over the buffer before the first element is
+	 * bound.
+	 * </p>
+	 * @param data buffer
+	 * @param clazz target type
+	 * @param <T>
+	 * @return lazy collection iterator
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceIterator<T> readObjectIterator(final ByteBuffer data, Class<T> clazz) {
+		return streamingReader.readObjectIterator(createParser(data), new Supplier<JsonParser>() {
+			@Override
+			public JsonParser get() {
+				return createParser(data);
+			}
+		}, clazz);
+	}
+
+	/**
+	 * Converts input stream into a lazily bound collection of requested output objects. Elements of the
+	 * <code>data</code> array are converted one at a time as the returned iterator is advanced.
+	 * <p>
+	 * Elements are always handed out linked against included resources. Since the stream is read only once, memory
+	 * use is only independent of the number of elements when <code>included</code> precedes <code>data</code> in the
+	 * document, or when elements have no relationships. Otherwise the data array is buffered as tokens until the rest
+	 * of the document, which may hold included resources, is read.
+	 * </p>
+	 * @param data input stream
+	 * @param clazz target type
+	 * @param <T>
+	 * @return lazy collection iterator
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceIterator<T> readObjectIterator(InputStream data, Class<T> clazz) {
+		return streamingReader.readObjectIterator(createParser(data), null, clazz);
+	}
+
+	/**
+	 * Converts data read from the channel into a lazily bound collection of requested output objects. Same
+	 * restrictions as for {@link #readObjectIterator(InputStream, Class)} apply.
+	 * @param data channel
+	 * @param clazz target type
+	 * @param <T>
+	 * @return lazy collection iterator
+	 * @throws RuntimeException in case conversion fails
+	 */
+	public <T> ResourceIterator<T> readObjectIterator(ReadableByteChannel data, Class<T> clazz) {
+		return readObjectIterator(Channels.newInputStream(data), clazz);
+	}
+
 	/**
 	 * Converts raw-data input into a collection of requested output objects.
 	 * @param data raw-data input
@@ -247,21 +633,62 @@ public class ResourceConverter {
 	 * @throws RuntimeException in case conversion fails
 	 */
 	private <T> ResourceList<T> readObjectCollectionInternal(byte [] data, Class<T> clazz, ResolverState resolverState) {
+		return readObjectCollectionInternal(createParser(data), clazz, resolverState, null);
+	}
 
-		try {
-			JsonNode rootNode = objectMapper.readTree(data);
+	/**
+	 * Converts document read from the parser into a collection of requested output objects. Parser is closed once
+	 * done.
+	 * @param parser parser positioned before the document
+	 * @param clazz target type
+	 * @param <T>
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return collection of converted elements
+	 * @throws RuntimeException in case conversion fails
+	 */
+	private <T> ResourceList<T> readObjectCollectionInternal(JsonParser parser, Class<T> clazz,
+															 ResolverState resolverState,
+															 DeserializationSettings settings) {
+		try (JsonParser source = parser) {
+			if (settings != null || isEnabled(DeserializationFeature.USE_STREAMING_PARSER)) {
+				return streamingReader.readObjectCollection(source, clazz, resolverState, settings);
+			}
+
+			JsonNode rootNode = objectMapper.readTree(source);
 
 			// Validate
 			ValidationUtils.ensureNotError(rootNode);
 			ValidationUtils.ensureCollection(rootNode);
 
-			Map<String, Object> included = parseIncluded(rootNode, resolverState);
+			if (resolverState == null && batchResolver != null) {
+				resolverState = batchResolve(rootNode);
+			}
+
+			JsonNode dataNode = rootNode.get(DATA);
+
+			// Documents fetched by resolvers are part of a sequential resolution, they are always bound sequentially.
+			// Single threaded pool only adds the cost of handing elements over to it.
+			boolean parallel = resolverState == null && dataNode.size() >= parallelThreshold &&
+					isEnabled(DeserializationFeature.BIND_DATA_IN_PARALLEL) && getBindingPool().getParallelism() > 1;
+
+			// Relationships of all elements are requested before any of them waits for a response
+			Map<String, CompletableFuture<byte []>> prefetched = prefetchRelationships(dataNode, clazz,
+					resolverState);
 
-			List<T> result = new ArrayList<>();
+			Map<ResourceIdentifier, Object> included = parseIncluded(rootNode, resolverState);
 
-			for (JsonNode element : rootNode.get(DATA)) {
-				T pojo = readObjectInternal(element, clazz, included, resolverState);
-				result.add(pojo);
+			List<T> result;
+
+			if (parallel) {
+				result = readParallel(dataNode, clazz, included, prefetched);
+			} else {
+				result = new ArrayList<>(dataNode.size());
+
+				for (JsonNode element : dataNode) {
+					T pojo = readObjectInternal(element, clazz, included, resolverState, prefetched);
+					result.add(pojo);
+				}
 			}
 
 			ResourceList<T> wrapper = new ResourceList<>(result);
@@ -285,6 +712,83 @@ public class ResourceConverter {
 
 	}
 
+	/**
+	 * Binds elements of the <code>data</code> array using the binding pool.
+	 * <p>
+	 * Pool threads bind attributes, links and identifiers of the elements. Relationships are linked afterwards on the
+	 * calling thread, one element at a time and in the order of the array, exactly as sequential binding links them,
+	 * so both produce the same object graph.
+	 * </p>
+	 * @param dataNode data array
+	 * @param clazz target type
+	 * @param included index of included resources
+	 * @param prefetched responses requested ahead for the whole document, keyed by relationship link
+	 * @param <T> target type
+	 * @return bound elements, in the order of the data array
+	 */
+	private <T> List<T> readParallel(JsonNode dataNode, Class<T> clazz, Map<ResourceIdentifier, Object> included,
+									 Map<String, CompletableFuture<byte []>> prefetched)
+			throws IOException, IllegalAccessException, InstantiationException {
+		ForkJoinPool pool = getBindingPool();
+
+		int batchSize = Math.max(PARALLEL_BATCH_SIZE, dataNode.size() / (pool.getParallelism() * 4));
+
+		ResourceDescriptor descriptor = registry.getDescriptor(clazz);
+		Object[] result = new Object[dataNode.size()];
+		pool.invoke(new BindTask(dataNode, clazz, result, 0, result.length, batchSize));
+
+		List<T> elements = new ArrayList<>(result.length);
+
+		for (int i = 0; i < result.length; i++) {
+			JsonNode element = dataNode.get(i);
+
+			handleRelationships(element.get(RELATIONSHIPS), result[i], descriptor, included, null, true, true,
+					prefetched);
+			included.put(createIdentifier(element), result[i]);
+			elements.add(clazz.cast(result[i]));
+		}
+
+		return elements;
+	}
+
+	private ForkJoinPool getBindingPool() {
+		return bindingPool != null ? bindingPool : ForkJoinPool.commonPool();
+	}
+
+	private JsonParser createParser(byte [] data) {
+		try {
+			return objectMapper.getFactory().createParser(data);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private JsonParser createParser(InputStream data) {
+		try {
+			return objectMapper.getFactory().createParser(data);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Creates parser reading remaining bytes of the buffer. Array backed buffers are parsed directly from the
+	 * backing array, other buffers are streamed from a duplicate so that position of the source buffer is preserved.
+	 * @param data buffer
+	 * @return parser
+	 */
+	private JsonParser createParser(ByteBuffer data) {
+		try {
+			if (data.hasArray()) {
+				return objectMapper.getFactory().createParser(data.array(), data.arrayOffset() + data.position(),
+						data.remaining());
+			}
+			return objectMapper.getFactory().createParser(new ByteBufferBackedInputStream(data.duplicate()));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * Converts provided input into a target object. After conversion completes any relationships defined are resolved.
 	 * @param source JSON source
@@ -296,24 +800,44 @@ public class ResourceConverter {
 	 * @throws IOException
 	 * @throws IllegalAccessException
 	 */
-	private <T> T readObjectInternal(JsonNode source, Class<T> clazz, Map<String, Object> cache, ResolverState resolverState)
+	private <T> T readObjectInternal(JsonNode source, Class<T> clazz, Map<ResourceIdentifier, Object> cache, ResolverState resolverState)
+			throws IOException, IllegalAccessException, InstantiationException {
+		return readObjectInternal(source, clazz, cache, resolverState, null);
+	}
+
+	/**
+	 * Converts provided input into a target object, using responses requested ahead for the whole document to resolve
+	 * relationships.
+	 * @param source JSON source
+	 * @param clazz target type
+	 * @param cache resolved objects (either from included element or already parsed objects)
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param prefetched responses requested ahead, keyed by relationship link, {@code null} to request relationships
+	 *                   of this resource ahead
+	 * @param <T>
+	 * @return converted target object
+	 */
+	private <T> T readObjectInternal(JsonNode source, Class<T> clazz, Map<ResourceIdentifier, Object> cache,
+									 ResolverState resolverState, Map<String, CompletableFuture<byte []>> prefetched)
 			throws IOException, IllegalAccessException, InstantiationException {
+		ResourceDescriptor descriptor = registry.getDescriptor(clazz);
 		T result;
 
 		if (source.has(ATTRIBUTES)) {
 			result = objectMapper.treeToValue(source.get(ATTRIBUTES), clazz);
 		} else {
-			result = clazz.newInstance();
+			result = clazz.cast(descriptor.newInstance());
 		}
 
-		mapAndSetLinks(source, result);
+		mapAndSetLinks(source, result, descriptor);
 
-		// Set object id
-		setIdValue(result, source.get(ID));
+		// Set object id, by specification id value is always a String type
+		descriptor.setId(result, source.get(ID).asText());
 
 		if (cache != null) {
 			// Handle relationships
-			handleRelationships(source, result, cache, resolverState);
+			handleRelationships(source.get(RELATIONSHIPS), result, descriptor, cache, resolverState, true, true,
+					prefetched);
 
 			// Add parsed object to cache
 			cache.put(createIdentifier(source), result);
@@ -331,16 +855,17 @@ public class ResourceConverter {
 	 *
 	 * @param source the {@code JsonNode} that may or may not contain a "links" object
 	 * @param target the Java object that may or may not have a {@code Links} annotation
+	 * @param descriptor descriptor of the target type
 	 * @param <T> the target type
 	 * @throws JsonProcessingException
 	 * @throws IllegalAccessException
      */
-	private <T> void mapAndSetLinks(JsonNode source, T target) throws JsonProcessingException,
-			IllegalAccessException {
-		Class<?> targetClass = target.getClass();
-		if (LINK_FIELD.containsKey(targetClass) && source.has(LINKS)) {
-			Object linkObj = objectMapper.treeToValue(source.get(LINKS), LINK_FIELD.get(targetClass).getType());
-			LINK_FIELD.get(targetClass).set(target, linkObj);
+	private <T> void mapAndSetLinks(JsonNode source, T target, ResourceDescriptor descriptor)
+			throws JsonProcessingException, IllegalAccessException {
+		Field linkField = descriptor.getLinksField();
+		if (linkField != null && source.has(LINKS)) {
+			Object linkObj = objectMapper.treeToValue(source.get(LINKS), linkField.getType());
+			descriptor.setLinks(target, linkObj);
 		}
 	}
 
@@ -353,11 +878,22 @@ public class ResourceConverter {
 	 * @throws IOException
 	 * @throws IllegalAccessException
 	 */
-	private Map<String, Object> parseIncluded(JsonNode parent, ResolverState resolverState)
+	private Map<ResourceIdentifier, Object> parseIncluded(JsonNode parent, ResolverState resolverState)
 			throws IOException, IllegalAccessException, InstantiationException {
-		Map<String, Object> result = new HashMap<>();
+		Map<ResourceIdentifier, Object> result = ResourceIdentifier.createIndex(parent.has(INCLUDED) ?
+				parent.get(INCLUDED).size() : 0);
 
-		if (parent.has(INCLUDED)) {
+		if (parent.has(INCLUDED) && isEnabled(DeserializationFeature.BIND_INCLUDED_ON_DEMAND)) {
+			DeferredResource.Linker linker = new DeferredResource.Linker(this, result, resolverState);
+
+			for (JsonNode jsonNode : parent.get(INCLUDED)) {
+				ResourceDescriptor descriptor = registry.getDescriptor(jsonNode.get(TYPE).asText());
+
+				if (descriptor != null) {
+					linker.add(new DeferredNode(createIdentifier(jsonNode), descriptor, jsonNode));
+				}
+			}
+		} else if (parent.has(INCLUDED)) {
 			// Get resources
 			List<Resource> includedResources = getIncludedResources(parent);
 
@@ -374,7 +910,8 @@ public class ResourceConverter {
 
 					// Handle relationships
 					JsonNode node = includedArray.get(i);
-					handleRelationships(node, resource.getObject(), result, resolverState);
+					handleRelationships(node.get(RELATIONSHIPS), resource.getObject(), resource.getDescriptor(), result,
+							resolverState);
 				}
 			}
 		}
@@ -399,11 +936,11 @@ public class ResourceConverter {
 				String type = jsonNode.get(TYPE).asText();
 
 				if (type != null) {
-					Class<?> clazz = TYPE_TO_CLASS_MAPPING.get(type);
+					ResourceDescriptor descriptor = registry.getDescriptor(type);
 
-					if (clazz != null) {
-						Object object = readObjectInternal(jsonNode, clazz, null, null);
-						result.add(new Resource(createIdentifier(jsonNode), object));
+					if (descriptor != null) {
+						Object object = readObjectInternal(jsonNode, descriptor.getResourceClass(), null, null);
+						result.add(new Resource(createIdentifier(jsonNode), object, descriptor));
 					}
 				}
 			}
@@ -412,9 +949,51 @@ public class ResourceConverter {
 		return result;
 	}
 
-	private void handleRelationships(JsonNode source, Object object, Map<String, Object> includedData, ResolverState resolverState)
+	/**
+	 * Links relationships of a bound resource, using included resources or relationship resolvers.
+	 * @param relationships <code>relationships</code> node of the resource, may be <code>null</code>
+	 * @param object bound resource
+	 * @param descriptor descriptor of the resource type
+	 * @param includedData resolved objects (either from included element or already parsed objects)
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @throws IllegalAccessException
+	 * @throws IOException
+	 * @throws InstantiationException
+	 */
+	void handleRelationships(JsonNode relationships, Object object, ResourceDescriptor descriptor,
+							 Map<ResourceIdentifier, Object> includedData, ResolverState resolverState)
 			throws IllegalAccessException, IOException, InstantiationException {
-		JsonNode relationships = source.get(RELATIONSHIPS);
+		handleRelationships(relationships, object, descriptor, includedData, resolverState, true, true, null);
+	}
+
+	/**
+	 * Links relationships of a bound resource, limited to relationships linked to included resources or to
+	 * relationships handled by relationship resolvers.
+	 * @param relationships <code>relationships</code> node of the resource, may be <code>null</code>
+	 * @param object bound resource
+	 * @param descriptor descriptor of the resource type
+	 * @param includedData resolved objects (either from included element or already parsed objects)
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param linkIncluded <code>true</code> to link relationships using resource linkage
+	 * @param useResolvers <code>true</code> to handle relationships using relationship resolvers
+	 * @param prefetched responses requested ahead for the whole document, keyed by relationship link, {@code null}
+	 *                   to request relationships of this resource ahead
+	 * @throws IllegalAccessException
+	 * @throws IOException
+	 * @throws InstantiationException
+	 */
+	void handleRelationships(JsonNode relationships, Object object, ResourceDescriptor descriptor,
+							 Map<ResourceIdentifier, Object> includedData, ResolverState resolverState,
+							 boolean linkIncluded, boolean useResolvers,
+							 Map<String, CompletableFuture<byte []>> prefetched)
+			throws IllegalAccessException, IOException, InstantiationException {
+		if (prefetched == null) {
+			prefetched = new HashMap<>();
+
+			if (useResolvers) {
+				prefetchRelationships(relationships, descriptor, resolverState, prefetched);
+			}
+		}
 
 		if (relationships != null) {
 			Iterator<String> fields = relationships.fieldNames();
@@ -423,11 +1002,13 @@ public class ResourceConverter {
 				String field = fields.next();
 
 				JsonNode relationship = relationships.get(field);
-				Field relationshipField = RELATIONSHIP_FIELD_MAP.get(object.getClass()).get(field);
+				RelationshipDescriptor relationshipDescriptor = descriptor.getRelationship(field);
+
+				if (relationshipDescriptor != null) {
+					Field relationshipField = relationshipDescriptor.getField();
 
-				if (relationshipField != null) {
 					// Get target type
-					Class<?> type = RELATIONSHIP_TYPE_MAP.get(object.getClass()).get(field);
+					Class<?> type = relationshipDescriptor.getTargetType();
 
 					// In case type is not defined, relationship object cannot be processed
 					if (type == null) {
@@ -435,12 +1016,16 @@ public class ResourceConverter {
 					}
 
 					// Get resolve flag
-					boolean resolveRelationship = FIELD_RELATIONSHIP_MAP.get(relationshipField).resolve();
+					boolean resolveRelationship = relationshipDescriptor.isResolve();
 					RelationshipResolver resolver = getResolver(type);
 
 					// Use resolver if possible
 					if (resolveRelationship && resolver != null && relationship.has(LINKS)) {
-						String relType = FIELD_RELATIONSHIP_MAP.get(relationshipField).relType().getRelName();
+						if (!useResolvers) {
+							continue;
+						}
+
+						String relType = relationshipDescriptor.getRelType().getRelName();
 
 						if (resolverState == null) {
 							resolverState = new ResolverState(relationshipField, relType);
@@ -453,9 +1038,9 @@ public class ResourceConverter {
 						if (linkNode != null) {
 							link = getLink(linkNode);
 
-							if (FIELD_RELATIONSHIP_MAP.get(relationshipField).strategy() == ResolutionStrategy.REF) {
+							if (relationshipDescriptor.getStrategy() == ResolutionStrategy.REF) {
 								if (String.class.isAssignableFrom(relationshipField.getType())) {
-									relationshipField.set(object, link);
+									relationshipDescriptor.set(object, link);
 									continue;
 								}
 
@@ -465,23 +1050,47 @@ public class ResourceConverter {
 										relationshipField.getType().getName());
 							}
 
+							// Field type was validated when the resource class was registered
+							if (relationshipDescriptor.getStrategy() == ResolutionStrategy.LAZY) {
+								relationshipDescriptor.set(object, new LazyResourceList<>(this,
+										relationshipDescriptor, link, type, resolver));
+								continue;
+							}
+
 							if (resolverState.visited(link)) {
 								if (resolverState.isCached(link)) {
-									relationshipField.set(object, resolverState.retrieve(link));
+									relationshipDescriptor.set(object, resolverState.retrieve(link));
 								}
 								continue;
 							}
 
-							byte[] content = resolver.resolve(link);
+							// Responses fetched ahead, by the batch or asynchronous resolvers, are used first
+							CompletableFuture<byte []> prefetch = prefetched.get(link);
+							boolean fetched = !resolverState.isCachedResponse(link);
+							byte[] content = resolverState.takeResponse(link);
+
+							if (content == null && prefetch != null) {
+								content = await(prefetch);
+								fetched = !(prefetch instanceof CachedResponse);
+							}
+
+							if (content == null && resolutionCache != null) {
+								content = resolutionCache.get(link);
+								fetched = content == null;
+							}
+
+							if (content == null) {
+								content = resolver.resolve(link);
+							}
 
 							if (hasResourceLinkage(relationship)) {
 								Object resolvedObject = null;
 								if (isCollection(relationship)) {
 									resolvedObject = unmarshalAndSetCollection(
-											object, relationshipField, content, type, resolverState);
+											object, relationshipDescriptor, content, type, resolverState);
 								} else if (hasResourceLinkage(relationship)) {
 									resolvedObject = unmarshalAndSetObject(
-											object, relationshipField, content, type, resolverState);
+											object, relationshipDescriptor, content, type, resolverState);
 								}
 								cacheObject(resolverState, link, resolvedObject);
 							} else {
@@ -489,10 +1098,10 @@ public class ResourceConverter {
 								Object resolvedObject = null;
 								if (ValidationUtils.isCollection(resolvedNode)) {
 									resolvedObject = unmarshalAndSetCollection(
-											object, relationshipField, content, type, resolverState);
+											object, relationshipDescriptor, content, type, resolverState);
 								} else if (ValidationUtils.isObject(resolvedNode)) {
 									resolvedObject = unmarshalAndSetObject(
-											object, relationshipField, content, type, resolverState);
+											object, relationshipDescriptor, content, type, resolverState);
 								} else if (ErrorUtils.hasErrors(resolvedNode)){
 									ErrorResponse errors = ErrorUtils.parseError(resolvedNode);
 									StringBuilder msg = buildErrorResponse(link, errors);
@@ -503,8 +1112,13 @@ public class ResourceConverter {
 								}
 								cacheObject(resolverState, link, resolvedObject);
 							}
+
+							// Only documents that were bound successfully are cached
+							if (fetched && resolutionCache != null) {
+								resolutionCache.put(link, content);
+							}
 						}
-					} else {
+					} else if (linkIncluded) {
 						if (isCollection(relationship)) {
 							@SuppressWarnings("rawtypes")
 							List elements = new ArrayList<>();
@@ -515,11 +1129,11 @@ public class ResourceConverter {
 									elements.add(relationshipObject);
 								}
 							}
-							relationshipField.set(object, elements);
+							relationshipDescriptor.set(object, elements);
 						} else {
 							Object relationshipObject = parseRelationship(relationship.get(DATA), type, includedData, resolverState);
 							if (relationshipObject != null) {
-								relationshipField.set(object, relationshipObject);
+								relationshipDescriptor.set(object, relationshipObject);
 							}
 						}
 					}
@@ -528,6 +1142,262 @@ public class ResourceConverter {
 		}
 	}
 
+	/**
+	 * Requests relationships of all elements of the <code>data</code> array that are going to be resolved using
+	 * asynchronous resolvers, before any of the elements is bound, so that responses for the whole document are
+	 * fetched concurrently.
+	 * @param dataNode data array
+	 * @param clazz element type
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @return pending responses keyed by relationship link
+	 */
+	private Map<String, CompletableFuture<byte []>> prefetchRelationships(JsonNode dataNode, Class<?> clazz,
+																		 ResolverState resolverState) {
+		Map<String, CompletableFuture<byte []>> result = new HashMap<>();
+		ResourceDescriptor descriptor = registry.getDescriptor(clazz);
+
+		for (JsonNode element : dataNode) {
+			prefetchRelationships(element.get(RELATIONSHIPS), descriptor, resolverState, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Requests all relationships of a resource that are going to be resolved using asynchronous resolvers, so that
+	 * responses are fetched concurrently while relationships are bound one by one.
+	 * @param relationships <code>relationships</code> node of the resource, may be <code>null</code>
+	 * @param descriptor descriptor of the resource type
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param result pending responses keyed by relationship link, links already present are not requested again
+	 */
+	void prefetchRelationships(JsonNode relationships, ResourceDescriptor descriptor, ResolverState resolverState,
+							   Map<String, CompletableFuture<byte []>> result) {
+		if (relationships == null || (globalAsyncResolver == null && typedAsyncResolvers.isEmpty())) {
+			return;
+		}
+
+		Iterator<Map.Entry<String, JsonNode>> fields = relationships.fields();
+
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			RelationshipDescriptor relationshipDescriptor = descriptor.getRelationship(field.getKey());
+			String link = getResolvableLink(relationshipDescriptor, field.getValue());
+
+			if (link == null || result.containsKey(link)) {
+				continue;
+			}
+
+			AsyncRelationshipResolver resolver = getAsyncResolver(relationshipDescriptor.getTargetType());
+
+			// Links visited earlier or fetched by the batch resolver are not fetched again, see handleRelationships
+			if (resolver != null && (resolverState == null ||
+					!(resolverState.isVisited(link) || resolverState.hasResponse(link)))) {
+				byte [] cached = resolutionCache != null ? resolutionCache.get(link) : null;
+				result.put(link, cached != null ? new CachedResponse(cached) : fetch(resolver, link));
+			}
+		}
+	}
+
+	/**
+	 * Returns link used to resolve given relationship.
+	 * @param relationshipDescriptor relationship, may be {@code null}
+	 * @param relationship relationship object
+	 * @return link or {@code null} in case relationship is not resolved using a link
+	 */
+	private String getResolvableLink(RelationshipDescriptor relationshipDescriptor, JsonNode relationship) {
+		if (relationshipDescriptor == null || !relationshipDescriptor.isResolve() ||
+				relationshipDescriptor.getStrategy() == ResolutionStrategy.REF ||
+				relationshipDescriptor.getStrategy() == ResolutionStrategy.LAZY ||
+				relationshipDescriptor.getTargetType() == null || !relationship.has(LINKS)) {
+			return null;
+		}
+
+		JsonNode linkNode = relationship.get(LINKS).get(relationshipDescriptor.getRelType().getRelName());
+		return linkNode != null ? getLink(linkNode) : null;
+	}
+
+	/**
+	 * Checks if documents should be scanned for relationship links to resolve in batches.
+	 * @return <code>true</code> if batch resolver is registered
+	 */
+	boolean isBatchResolving() {
+		return batchResolver != null;
+	}
+
+	/**
+	 * Collects links of relationships of all resources in the document that will be resolved using the batch
+	 * resolver.
+	 * @param document document node
+	 * @param links collected links
+	 */
+	private void collectBatchLinks(JsonNode document, Set<String> links) {
+		for (String member : new String[] {DATA, INCLUDED}) {
+			JsonNode resources = document.get(member);
+
+			if (resources == null) {
+				continue;
+			}
+
+			for (JsonNode resource : resources.isArray() ? resources : Collections.singletonList(resources)) {
+				ResourceDescriptor descriptor = resource.has(TYPE) ? getDescriptor(resource.get(TYPE).asText()) : null;
+
+				if (descriptor != null) {
+					collectBatchLinks(descriptor, resource.get(RELATIONSHIPS), links);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects links of relationships of a resource that will be resolved using the batch resolver.
+	 * @param descriptor descriptor of the resource type
+	 * @param relationships <code>relationships</code> node of the resource, may be <code>null</code>
+	 * @param links collected links
+	 */
+	void collectBatchLinks(ResourceDescriptor descriptor, JsonNode relationships, Set<String> links) {
+		if (relationships == null || !relationships.isObject()) {
+			return;
+		}
+
+		Iterator<Map.Entry<String, JsonNode>> fields = relationships.fields();
+
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			RelationshipDescriptor relationshipDescriptor = descriptor.getRelationship(field.getKey());
+			String link = getResolvableLink(relationshipDescriptor, field.getValue());
+
+			// Type resolvers take precedence over the batch resolver
+			if (link != null && !typedResolvers.containsKey(relationshipDescriptor.getTargetType()) &&
+					!typedAsyncResolvers.containsKey(relationshipDescriptor.getTargetType())) {
+				links.add(link);
+			}
+		}
+	}
+
+	/**
+	 * Fetches documents of links found in the top-level document using the batch resolver.
+	 * @param rootNode top-level document
+	 * @return state holding fetched documents, or {@code null} in case there is nothing to resolve
+	 */
+	private ResolverState batchResolve(JsonNode rootNode) throws IOException {
+		Set<String> links = new LinkedHashSet<>();
+		collectBatchLinks(rootNode, links);
+		return batchResolve(links);
+	}
+
+	/**
+	 * Fetches documents of given links using the batch resolver, one level of the resource graph at a time: documents
+	 * fetched for one level are scanned for links of the next one, until no new links are found.
+	 * @param links links of relationships of a top-level document
+	 * @return state holding fetched documents, to be used when binding the top-level document, or {@code null} in
+	 * case there is nothing to resolve
+	 */
+	ResolverState batchResolve(Set<String> links) throws IOException {
+		if (links.isEmpty()) {
+			return null;
+		}
+
+		ResolverState resolverState = new ResolverState();
+		Set<String> requested = new HashSet<>(links);
+		Set<String> level = links;
+
+		while (!level.isEmpty()) {
+			Set<String> nextLevel = new LinkedHashSet<>();
+			Set<String> missing = new LinkedHashSet<>();
+
+			for (String link : level) {
+				byte [] cached = resolutionCache != null ? resolutionCache.get(link) : null;
+
+				if (cached != null) {
+					resolverState.putResponse(link, cached, true);
+					collectBatchLinks(objectMapper.readTree(cached), nextLevel);
+				} else {
+					missing.add(link);
+				}
+			}
+
+			Map<String, byte []> responses = missing.isEmpty() ? null :
+					batchResolver.resolve(Collections.unmodifiableSet(missing));
+
+			for (String link : missing) {
+				byte [] content = responses != null ? responses.get(link) : null;
+
+				if (content != null) {
+					resolverState.putResponse(link, content, false);
+					collectBatchLinks(objectMapper.readTree(content), nextLevel);
+				}
+			}
+
+			nextLevel.removeAll(requested);
+			requested.addAll(nextLevel);
+			level = nextLevel;
+		}
+
+		return resolverState;
+	}
+
+	/**
+	 * Requests relationship data from asynchronous resolver, sharing requests in flight in case
+	 * {@link DeserializationFeature#COALESCE_RESOLUTIONS} is enabled.
+	 * @param resolver resolver
+	 * @param link relationship link
+	 * @return pending response
+	 */
+	private CompletableFuture<byte []> fetch(final AsyncRelationshipResolver resolver, final String link) {
+		if (!isEnabled(DeserializationFeature.COALESCE_RESOLUTIONS)) {
+			return request(resolver, link);
+		}
+
+		return inFlightResolutions.fetch(link, new Supplier<CompletableFuture<byte []>>() {
+			@Override
+			public CompletableFuture<byte []> get() {
+				return request(resolver, link);
+			}
+		});
+	}
+
+	/**
+	 * Issues request to asynchronous resolver, respecting the concurrency limit.
+	 * @param resolver resolver
+	 * @param link relationship link
+	 * @return pending response
+	 */
+	private CompletableFuture<byte []> request(final AsyncRelationshipResolver resolver, final String link) {
+		ResolutionLimiter limiter = resolutionLimiter;
+
+		if (limiter == null) {
+			return resolver.resolve(link);
+		}
+
+		return limiter.submit(new Supplier<CompletableFuture<byte []>>() {
+			@Override
+			public CompletableFuture<byte []> get() {
+				return resolver.resolve(link);
+			}
+		});
+	}
+
+	/**
+	 * Waits for relationship data requested from asynchronous resolver. In case the reading thread is interrupted
+	 * while waiting, its interrupt status is restored and reading fails.
+	 * @param response pending response
+	 * @return raw response
+	 */
+	private byte [] await(CompletableFuture<byte []> response) {
+		try {
+			return response.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for relationship data.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
 	/**
 	 * Builds an error message when a resolved relationship contains an {@code ErrorResponse}.
 	 *
@@ -566,20 +1436,50 @@ public class ResourceConverter {
         }
 	}
 
+	/**
+	 * Resolves relationship using {@link ResolutionStrategy#LAZY} strategy, on its first access.
+	 * @param relationship relationship being resolved
+	 * @param link relationship link
+	 * @param type type of related resources
+	 * @param resolver resolver used to fetch the relationship
+	 * @param <T> type of related resources
+	 * @return related resources
+	 */
+	<T> List<T> resolveLazily(RelationshipDescriptor relationship, String link, Class<T> type,
+							  RelationshipResolver resolver) {
+		ResolverState resolverState = new ResolverState(relationship.getField(), relationship.getRelType().getRelName());
+		resolverState.visited(link);
+
+		byte [] content = resolutionCache != null ? resolutionCache.get(link) : null;
+		boolean fetched = content == null;
+
+		if (fetched) {
+			content = resolver.resolve(link);
+		}
+
+		ResourceList<T> resources = readObjectCollectionInternal(content, type, resolverState);
+
+		if (fetched && resolutionCache != null) {
+			resolutionCache.put(link, content);
+		}
+
+		return createPaginatedList(resources, resolver, type);
+	}
+
 	/**
 	 * Unmarshals the supplied byte array to a Java object (resolving any JSON-API relationships that are
 	 * present).  The unmarshaled object is set on {@code targetObject}, using the {@code targetField}.
 	 *
 	 * @param targetObject the Java object that will have the unmarshaled object set on it
-	 * @param targetField the field of the target Java object that is being set
+	 * @param targetField the relationship of the target Java object that is being set
 	 * @param toUnmarshal the byte array being unmarshaled to a Java object
 	 * @param unmarshaledType the expected type of the unmarshaled object
 	 * @param resolverState contains state necessary for resolving relationships
 	 * @return the unmarshaled object
 	 * @throws IllegalAccessException
      */
-	private Object unmarshalAndSetObject(Object targetObject, Field targetField, byte[] toUnmarshal,
-										 Class<?> unmarshaledType, ResolverState resolverState)
+	private Object unmarshalAndSetObject(Object targetObject, RelationshipDescriptor targetField,
+										 byte[] toUnmarshal, Class<?> unmarshaledType, ResolverState resolverState)
 			throws IllegalAccessException {
 		Object resolvedObject = readObjectInternal(toUnmarshal, unmarshaledType, resolverState);
 		targetField.set(targetObject, resolvedObject);
@@ -591,22 +1491,39 @@ public class ResourceConverter {
 	 * present).  The unmarshaled collection is set on {@code targetObject}, using the {@code targetField}.
 	 *
 	 * @param targetObject the Java object that will have the unmarshaled object set on it
-	 * @param targetField the field of the target Java object that is being set
+	 * @param targetField the relationship of the target Java object that is being set
 	 * @param toUnmarshal the byte array being unmarshaled to a Java collection
 	 * @param unmarshaledType the byte array being unmarshaled to a Java object
 	 * @param resolverState contains state necessary for resolving relationships
 	 * @return the unmarshaled collection
 	 * @throws IllegalAccessException
      */
-	private Object unmarshalAndSetCollection(Object targetObject, Field targetField, byte[] toUnmarshal,
-											 Class<?> unmarshaledType, ResolverState resolverState)
+	private Object unmarshalAndSetCollection(Object targetObject, RelationshipDescriptor targetField,
+											 byte[] toUnmarshal, Class<?> unmarshaledType, ResolverState resolverState)
 			throws IllegalAccessException {
 		ResourceList supplier = readObjectCollectionInternal(toUnmarshal, unmarshaledType, resolverState);
-		final PaginatedResourceList<?> paginatedResult = new PaginatedResourceList<>(supplier, getResolver(unmarshaledType), this, unmarshaledType);
+		final PaginatedResourceList<?> paginatedResult = createPaginatedList(supplier, getResolver(unmarshaledType),
+				unmarshaledType);
 		targetField.set(targetObject, paginatedResult);
 		return paginatedResult;
 	}
 
+	/**
+	 * Wraps resolved collection into a list that fetches following pages on demand, as configured by
+	 * {@link #setPagePrefetch(int, Executor)} and {@link #setPageWindow(int, boolean)}.
+	 * @param resources first page of the collection
+	 * @param resolver resolver used to fetch following pages
+	 * @param type type of collection elements
+	 * @param <T> type of collection elements
+	 * @return paginated list
+	 */
+	private <T> PaginatedResourceList<T> createPaginatedList(ResourceList<T> resources, RelationshipResolver resolver,
+															 Class<T> type) {
+		Executor executor = pagePrefetchExecutor != null ? pagePrefetchExecutor : ForkJoinPool.commonPool();
+		return new PaginatedResourceList<>(resources, resolver, this, type, pagePrefetchDepth, executor,
+				pageWindow, spillPages);
+	}
+
 	/**
 	 * Deserializes a <a href="http://jsonapi.org/format/#document-links">JSON-API links object</a> to a {@code Map}
 	 * keyed by the link name.
@@ -638,7 +1555,7 @@ public class ResourceConverter {
 	 * @param linksObject a {@code JsonNode} representing a links object
 	 * @return a {@code Map} keyed by link name
      */
-	private Map<String, Link> mapLinks(JsonNode linksObject) {
+	Map<String, Link> mapLinks(JsonNode linksObject) {
 		Map<String, Link> result = new HashMap<>();
 
 		Iterator<Map.Entry<String, JsonNode>> linkItr = linksObject.fields();
@@ -714,15 +1631,31 @@ public class ResourceConverter {
 	 * @throws IllegalAccessException
 	 * @throws InstantiationException
 	 */
-	private Object parseRelationship(JsonNode relationshipDataNode, Class<?> type, Map<String, Object> cache, ResolverState resolverState)
+	private Object parseRelationship(JsonNode relationshipDataNode, Class<?> type, Map<ResourceIdentifier, Object> cache,
+									 ResolverState resolverState)
 			throws IOException, IllegalAccessException, InstantiationException {
 		if (ValidationUtils.isRelationshipParsable(relationshipDataNode)) {
-			String identifier = createIdentifier(relationshipDataNode);
+			ResourceIdentifier identifier = createIdentifier(relationshipDataNode);
+			Object cached = cache.get(identifier);
+
+			if (cached == null) {
+				// Resource is neither included nor bound yet, it is bound from its identifier. All references to it
+				// share the instance that ends up in the cache.
+				Object resource = readObjectInternal(relationshipDataNode, type, null, resolverState);
+				handleRelationships(relationshipDataNode.get(RELATIONSHIPS), resource,
+						registry.getDescriptor(type), cache, resolverState);
 
-			if (cache.containsKey(identifier)) {
-				return cache.get(identifier);
+				cached = cache.putIfAbsent(identifier, resource);
+
+				if (cached == null) {
+					return resource;
+				}
+			}
+
+			if (cached instanceof DeferredResource) {
+				return ((DeferredResource) cached).materialize();
 			} else {
-				return readObjectInternal(relationshipDataNode, type, cache, resolverState);
+				return cached;
 			}
 		}
 
@@ -730,28 +1663,13 @@ public class ResourceConverter {
 	}
 
 	/**
-	 * Generates unique resource identifier by combining resource type and resource id fields. <br />
+	 * Generates unique resource identifier from resource type and resource id fields. <br />
 	 * By specification id/type combination guarantees uniqueness.
 	 * @param object data object
-	 * @return concatenated id and type values
-	 */
-	private String createIdentifier(JsonNode object) {
-		Object id = object.get(ID).asText();
-		String type = object.get(TYPE).asText();
-		return type.concat(id.toString());
-	}
-
-	/**
-	 * Sets an id attribute value to a target object.
-	 * @param target target POJO
-	 * @param idValue id node
-	 * @throws IllegalAccessException thrown in case target field is not accessible
+	 * @return resource identifier
 	 */
-	private void setIdValue(Object target, JsonNode idValue) throws IllegalAccessException {
-		Field idField = ID_MAP.get(target.getClass());
-
-		// By specification, id value is always a String type
-		idField.set(target, idValue.asText());
+	private ResourceIdentifier createIdentifier(JsonNode object) {
+		return new ResourceIdentifier(object.get(TYPE).asText(), object.get(ID).asText());
 	}
 
 	/**
@@ -768,7 +1686,6 @@ public class ResourceConverter {
 		return relationshipObj.has(DATA);
 	}
 
-
 	/**
 	 * Converts input object to byte array.
 	 * @param object input object
@@ -777,33 +1694,226 @@ public class ResourceConverter {
 	 * @throws IllegalAccessException
 	 */
 	public byte [] writeObject(Object object) throws JsonProcessingException, IllegalAccessException {
-		ObjectNode dataNode = getDataNode(object);
-		ObjectNode result = objectMapper.createObjectNode();
+		return writeBytes(object, false, null);
+	}
 
-		result.set(DATA, dataNode);
+	/**
+	 * Converts input object to byte array, using given per-document settings. Documents with settings are always
+	 * written using the streaming engine (see {@link SerializationFeature#USE_STREAMING_GENERATOR}).
+	 * @param object input object
+	 * @param settings serialization settings
+	 * @return raw bytes
+	 * @throws JsonProcessingException
+	 * @throws IllegalAccessException
+	 */
+	public byte [] writeObject(Object object, SerializationSettings settings)
+			throws JsonProcessingException, IllegalAccessException {
+		return writeBytes(object, false, settings);
+	}
 
-		return objectMapper.writeValueAsBytes(result);
+	/**
+	 * Writes input object to the output stream, using given per-document settings. Stream is closed after writing in
+	 * case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param object input object
+	 * @param settings serialization settings
+	 * @param output output stream
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public void writeObject(Object object, SerializationSettings settings, OutputStream output)
+			throws IOException, IllegalAccessException {
+		writeDocument(objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8), object, false, settings,
+				true);
 	}
 
-	private ObjectNode getDataNode(Object object) throws IllegalAccessException {
+	/**
+	 * Writes input object to the generator, using given per-document settings. Generator is flushed, but not closed.
+	 * @param object input object
+	 * @param settings serialization settings
+	 * @param generator generator
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public void writeObject(Object object, SerializationSettings settings, JsonGenerator generator)
+			throws IOException, IllegalAccessException {
+		writeDocument(generator, object, false, settings, false);
+	}
 
-		// Perform initial conversion
-		ObjectNode attributesNode = objectMapper.valueToTree(object);
+	/**
+	 * Writes input object to the output stream, without buffering the whole document first. Stream is closed after
+	 * writing in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param object input object
+	 * @param output output stream
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public void writeObject(Object object, OutputStream output) throws IOException, IllegalAccessException {
+		writeDocument(objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8), object, false, null, true);
+	}
 
-		// Remove id, meta and relationship fields
-		Field idField = ID_MAP.get(object.getClass());
-		attributesNode.remove(idField.getName());
+	/**
+	 * Writes input object to the writer, without buffering the whole document first. Writer is closed after writing
+	 * in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param object input object
+	 * @param writer writer
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public void writeObject(Object object, Writer writer) throws IOException, IllegalAccessException {
+		writeDocument(objectMapper.getFactory().createGenerator(writer), object, false, null, true);
+	}
 
-		Field metaField = META_FIELD.get(object.getClass());
-		if (metaField != null) {
-			attributesNode.remove(metaField.getName());
+	/**
+	 * Writes input object to the channel, without buffering the whole document first. Channel is closed after writing
+	 * in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param object input object
+	 * @param channel channel
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public void writeObject(Object object, WritableByteChannel channel) throws IOException, IllegalAccessException {
+		writeObject(object, Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Writes input object to the generator. Generator is flushed, but not closed.
+	 * @param object input object
+	 * @param generator generator
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public void writeObject(Object object, JsonGenerator generator) throws IOException, IllegalAccessException {
+		writeDocument(generator, object, false, null, false);
+	}
+
+	/**
+	 * Creates writer that writes a resource collection document to the output stream one resource at a time. Stream
+	 * is closed together with the writer in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on
+	 * the object mapper (default).
+	 * @param output output stream
+	 * @return collection writer, must be closed to complete the document
+	 * @throws IOException in case start of the document cannot be written
+	 */
+	public ResourceCollectionWriter createCollectionWriter(OutputStream output) throws IOException {
+		return new ResourceCollectionWriter(streamingWriter,
+				objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8), true);
+	}
+
+	/**
+	 * Creates writer that writes a resource collection document to the writer one resource at a time. Writer is closed
+	 * together with the collection writer in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on
+	 * the object mapper (default).
+	 * @param writer writer
+	 * @return collection writer, must be closed to complete the document
+	 * @throws IOException in case start of the document cannot be written
+	 */
+	public ResourceCollectionWriter createCollectionWriter(Writer writer) throws IOException {
+		return new ResourceCollectionWriter(streamingWriter, objectMapper.getFactory().createGenerator(writer), true);
+	}
+
+	/**
+	 * Creates writer that writes a resource collection document to the channel one resource at a time. Channel is
+	 * closed together with the writer in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the
+	 * object mapper (default).
+	 * @param channel channel
+	 * @return collection writer, must be closed to complete the document
+	 * @throws IOException in case start of the document cannot be written
+	 */
+	public ResourceCollectionWriter createCollectionWriter(WritableByteChannel channel) throws IOException {
+		return createCollectionWriter(Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Creates writer that writes a resource collection document to the generator one resource at a time. Generator
+	 * is flushed, but not closed, when the writer is closed.
+	 * @param generator generator
+	 * @return collection writer, must be closed to complete the document
+	 * @throws IOException in case start of the document cannot be written
+	 */
+	public ResourceCollectionWriter createCollectionWriter(JsonGenerator generator) throws IOException {
+		return new ResourceCollectionWriter(streamingWriter, generator, false);
+	}
+
+	/**
+	 * Writes document holding given primary data into a byte array.
+	 * @param data single resource or an {@link Iterable} of resources
+	 * @param collection <code>true</code> if data is a collection of resources
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return raw bytes
+	 * @throws JsonProcessingException
+	 * @throws IllegalAccessException
+	 */
+	private byte [] writeBytes(Object data, boolean collection, SerializationSettings settings)
+			throws JsonProcessingException, IllegalAccessException {
+		ByteArrayBuilder output = new ByteArrayBuilder(objectMapper.getFactory()._getBufferRecycler());
+
+		try {
+			writeDocument(objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8), data, collection,
+					settings, true);
+		} catch (JsonProcessingException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		byte [] result = output.toByteArray();
+		output.release();
+		return result;
+	}
+
+	/**
+	 * Writes document holding given primary data.
+	 * @param generator generator
+	 * @param data single resource or an {@link Iterable} of resources
+	 * @param collection <code>true</code> if data is a collection of resources
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @param close <code>true</code> if generator should be closed once done
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	private void writeDocument(JsonGenerator generator, Object data, boolean collection,
+							   SerializationSettings settings, boolean close)
+			throws IOException, IllegalAccessException {
+		try {
+			if (settings != null || isEnabled(SerializationFeature.USE_STREAMING_GENERATOR)) {
+				streamingWriter.writeDocument(generator, data, collection, settings);
+			} else {
+				ObjectNode result = objectMapper.createObjectNode();
+
+				if (collection) {
+					ArrayNode results = objectMapper.createArrayNode();
+
+					for (Object object : (Iterable<?>) data) {
+						results.add(getDataNode(object));
+					}
+
+					result.set(DATA, results);
+				} else {
+					result.set(DATA, getDataNode(data));
+				}
+
+				objectMapper.writeValue(generator, result);
+			}
+
+			generator.flush();
+		} finally {
+			if (close) {
+				generator.close();
+			}
 		}
+	}
+
+	private ObjectNode getDataNode(Object object) throws IllegalAccessException {
+		ResourceDescriptor descriptor = registry.getDescriptor(object.getClass());
+
+		// Perform initial conversion
+		ObjectNode attributesNode = getAttributesNode(object, descriptor);
 
 		// Handle resource identifier
 		ObjectNode dataNode = objectMapper.createObjectNode();
-		dataNode.put(TYPE, TYPE_ANNOTATIONS.get(object.getClass()).value());
+		dataNode.put(TYPE, descriptor.getTypeName());
 
-		String resourceId = (String) idField.get(object);
+		String resourceId = descriptor.getId(object);
 		if (resourceId != null) {
 			dataNode.put(ID, resourceId);
 		}
@@ -811,32 +1921,37 @@ public class ResourceConverter {
 
 
 		// Handle relationships (remove from base type and add as relationships)
-		List<Field> relationshipFields = RELATIONSHIPS_MAP.get(object.getClass());
-
-		if (relationshipFields != null) {
+		if (descriptor.hasRelationships()) {
 			ObjectNode relationshipsNode = objectMapper.createObjectNode();
 
-			for (Field relationshipField : relationshipFields) {
-				Object relationshipObject = relationshipField.get(object);
+			for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+				Object relationshipObject = relationship.get(object);
 
 				if (relationshipObject != null) {
-					attributesNode.remove(relationshipField.getName());
-
-					Relationship relationship = FIELD_RELATIONSHIP_MAP.get(relationshipField);
-
 					// In case serialisation is disabled for a given relationship, skipp it
-					if (!relationship.serialise()) {
+					if (!relationship.isSerialise()) {
 						continue;
 					}
 
-					String relationshipName = relationship.value();
+					String relationshipName = relationship.getName();
+
+					if (LazyResourceList.isUnresolved(relationshipObject)) {
+						// Writing must not resolve the relationship, only its link is known
+						ObjectNode linksNode = objectMapper.createObjectNode();
+						linksNode.put(relationship.getRelType().getRelName(),
+								((LazyResourceList<?>) relationshipObject).getLink());
 
-					if (relationshipObject instanceof List) {
+						ObjectNode relationshipLinksNode = objectMapper.createObjectNode();
+						relationshipLinksNode.set(LINKS, linksNode);
+						relationshipsNode.set(relationshipName, relationshipLinksNode);
+
+					} else if (relationshipObject instanceof List) {
 						ArrayNode dataArrayNode = objectMapper.createArrayNode();
 
 						for (Object element : (List<?>) relationshipObject) {
-							String relationshipType = TYPE_ANNOTATIONS.get(element.getClass()).value();
-							String idValue = (String) ID_MAP.get(element.getClass()).get(element);
+							ResourceDescriptor elementDescriptor = registry.getDescriptor(element.getClass());
+							String relationshipType = elementDescriptor.getTypeName();
+							String idValue = elementDescriptor.getId(element);
 
 							ObjectNode identifierNode = objectMapper.createObjectNode();
 							identifierNode.put(TYPE, relationshipType);
@@ -849,8 +1964,9 @@ public class ResourceConverter {
 						relationshipsNode.set(relationshipName, relationshipDataNode);
 
 					} else {
-						String relationshipType = TYPE_ANNOTATIONS.get(relationshipObject.getClass()).value();
-						String idValue = (String) ID_MAP.get(relationshipObject.getClass()).get(relationshipObject);
+						ResourceDescriptor relationshipDescriptor = registry.getDescriptor(relationshipObject.getClass());
+						String relationshipType = relationshipDescriptor.getTypeName();
+						String idValue = relationshipDescriptor.getId(relationshipObject);
 
 						ObjectNode identifierNode = objectMapper.createObjectNode();
 						identifierNode.put(TYPE, relationshipType);
@@ -873,6 +1989,32 @@ public class ResourceConverter {
 		return dataNode;
 	}
 
+	/**
+	 * Converts resource into <code>attributes</code> node, removing id, meta and relationship fields.
+	 * @param object resource
+	 * @param descriptor descriptor of the resource type
+	 * @return attributes node
+	 * @throws IllegalAccessException
+	 */
+	ObjectNode getAttributesNode(Object object, ResourceDescriptor descriptor) throws IllegalAccessException {
+		ObjectNode attributesNode = objectMapper.valueToTree(object);
+
+		attributesNode.remove(descriptor.getIdField().getName());
+
+		Field metaField = descriptor.getMetaField();
+		if (metaField != null) {
+			attributesNode.remove(metaField.getName());
+		}
+
+		for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+			if (relationship.get(object) != null) {
+				attributesNode.remove(relationship.getField().getName());
+			}
+		}
+
+		return attributesNode;
+	}
+
 	/**
 	 * Converts input object to byte array.
 	 *
@@ -882,17 +2024,101 @@ public class ResourceConverter {
 	 * @throws IllegalAccessException
 	 */
 	public <T> byte[] writeObjectCollection(Iterable<T> objects) throws JsonProcessingException, IllegalAccessException {
-		ArrayNode results = objectMapper.createArrayNode();
+		return writeBytes(objects, true, null);
+	}
 
-		for(T object : objects) {
-			results.add(getDataNode(object));
-		}
+	/**
+	 * Converts input objects to byte array, using given per-document settings. Documents with settings are always
+	 * written using the streaming engine (see {@link SerializationFeature#USE_STREAMING_GENERATOR}).
+	 * @param objects input objects
+	 * @param settings serialization settings
+	 * @return raw bytes
+	 * @throws JsonProcessingException
+	 * @throws IllegalAccessException
+	 */
+	public <T> byte[] writeObjectCollection(Iterable<T> objects, SerializationSettings settings)
+			throws JsonProcessingException, IllegalAccessException {
+		return writeBytes(objects, true, settings);
+	}
+
+	/**
+	 * Writes input objects to the output stream, using given per-document settings. Stream is closed after writing in
+	 * case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param objects input objects
+	 * @param settings serialization settings
+	 * @param output output stream
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public <T> void writeObjectCollection(Iterable<T> objects, SerializationSettings settings, OutputStream output)
+			throws IOException, IllegalAccessException {
+		writeDocument(objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8), objects, true, settings,
+				true);
+	}
+
+	/**
+	 * Writes input objects to the generator, using given per-document settings. Generator is flushed, but not closed.
+	 * @param objects input objects
+	 * @param settings serialization settings
+	 * @param generator generator
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public <T> void writeObjectCollection(Iterable<T> objects, SerializationSettings settings,
+										  JsonGenerator generator) throws IOException, IllegalAccessException {
+		writeDocument(generator, objects, true, settings, false);
+	}
+
+	/**
+	 * Writes input objects to the output stream, without buffering the whole document first. Stream is closed after
+	 * writing in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param objects input objects
+	 * @param output output stream
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public <T> void writeObjectCollection(Iterable<T> objects, OutputStream output)
+			throws IOException, IllegalAccessException {
+		writeDocument(objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8), objects, true, null, true);
+	}
+
+	/**
+	 * Writes input objects to the writer, without buffering the whole document first. Writer is closed after writing
+	 * in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param objects input objects
+	 * @param writer writer
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public <T> void writeObjectCollection(Iterable<T> objects, Writer writer)
+			throws IOException, IllegalAccessException {
+		writeDocument(objectMapper.getFactory().createGenerator(writer), objects, true, null, true);
+	}
 
-		ObjectNode result = objectMapper.createObjectNode();
-		result.set(DATA, results);
-		return objectMapper.writeValueAsBytes(result);
+	/**
+	 * Writes input objects to the channel, without buffering the whole document first. Channel is closed after
+	 * writing in case <code>JsonGenerator.Feature.AUTO_CLOSE_TARGET</code> is enabled on the object mapper (default).
+	 * @param objects input objects
+	 * @param channel channel
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public <T> void writeObjectCollection(Iterable<T> objects, WritableByteChannel channel)
+			throws IOException, IllegalAccessException {
+		writeObjectCollection(objects, Channels.newOutputStream(channel));
 	}
 
+	/**
+	 * Writes input objects to the generator. Generator is flushed, but not closed.
+	 * @param objects input objects
+	 * @param generator generator
+	 * @throws IOException
+	 * @throws IllegalAccessException
+	 */
+	public <T> void writeObjectCollection(Iterable<T> objects, JsonGenerator generator)
+			throws IOException, IllegalAccessException {
+		writeDocument(generator, objects, true, null, false);
+	}
 
 	/**
 	 * Checks if provided type is registered with this converter instance.
@@ -900,7 +2126,34 @@ public class ResourceConverter {
 	 * @return returns <code>true</code> if type is registered, else <code>false</code>
 	 */
 	public boolean isRegisteredType(Class<?> type) {
-		return TYPE_ANNOTATIONS.containsKey(type);
+		return registry.isRegistered(type);
+	}
+
+	/**
+	 * Returns descriptor of given registered type.
+	 * @param type registered type
+	 * @return descriptor or <code>null</code> in case type is not registered
+	 */
+	ResourceDescriptor getDescriptor(Class<?> type) {
+		return registry.getDescriptor(type);
+	}
+
+	/**
+	 * Returns descriptor of the type registered under given JSON API type name.
+	 * @param typeName type name
+	 * @return descriptor or <code>null</code> in case type is not registered
+	 */
+	ResourceDescriptor getDescriptor(String typeName) {
+		return registry.getDescriptor(typeName);
+	}
+
+	/**
+	 * Checks if resources of given type can be referred to by a relationship of any registered type.
+	 * @param type class to check
+	 * @return <code>true</code> if resources of given type may be relationship targets
+	 */
+	boolean isRelationshipTarget(Class<?> type) {
+		return registry.isRelationshipTarget(type);
 	}
 
 	/**
@@ -911,25 +2164,174 @@ public class ResourceConverter {
 	 */
 	private RelationshipResolver getResolver(Class<?> type) {
 		RelationshipResolver resolver = typedResolvers.get(type);
-		return resolver != null ? resolver : globalResolver;
+
+		if (resolver == null && !typedAsyncResolvers.containsKey(type)) {
+			resolver = globalResolver;
+		}
+
+		// Asynchronous resolvers are awaited where a response is needed right away, e.g. when fetching pages
+		final AsyncRelationshipResolver asyncResolver = getAsyncResolver(type);
+
+		if (asyncResolver != null) {
+			return new RelationshipResolver() {
+				@Override
+				public byte[] resolve(String relationshipURL) {
+					return await(fetch(asyncResolver, relationshipURL));
+				}
+			};
+		}
+
+		if (resolver == null && batchResolver != null && !typedAsyncResolvers.containsKey(type)) {
+			resolver = new RelationshipResolver() {
+				@Override
+				public byte[] resolve(String relationshipURL) {
+					Map<String, byte []> responses = batchResolver.resolve(Collections.singleton(relationshipURL));
+					byte [] content = responses != null ? responses.get(relationshipURL) : null;
+
+					if (content == null) {
+						throw new RuntimeException("Batch resolver returned no document for '" + relationshipURL +
+								"'.");
+					}
+
+					return content;
+				}
+			};
+		}
+
+		return coalesce(resolver);
+	}
+
+	/**
+	 * Wraps resolver so that concurrent requests for the same URL are shared, in case
+	 * {@link DeserializationFeature#COALESCE_RESOLUTIONS} is enabled.
+	 * @param resolver resolver, may be <code>null</code>
+	 * @return coalescing resolver or <code>resolver</code> itself
+	 */
+	private RelationshipResolver coalesce(final RelationshipResolver resolver) {
+		if (resolver == null || !isEnabled(DeserializationFeature.COALESCE_RESOLUTIONS)) {
+			return resolver;
+		}
+
+		return new RelationshipResolver() {
+			@Override
+			public byte[] resolve(final String relationshipURL) {
+				return await(inFlightResolutions.fetch(relationshipURL, new Supplier<CompletableFuture<byte []>>() {
+					@Override
+					public CompletableFuture<byte []> get() {
+						return CompletableFuture.completedFuture(resolver.resolve(relationshipURL));
+					}
+				}));
+			}
+		};
+	}
+
+	private AsyncRelationshipResolver getAsyncResolver(Class<?> type) {
+		AsyncRelationshipResolver resolver = typedAsyncResolvers.get(type);
+
+		if (resolver == null && !typedResolvers.containsKey(type)) {
+			resolver = globalAsyncResolver;
+		}
+
+		return resolver;
+	}
+
+	/**
+	 * Response taken from the resolution cache instead of being fetched by an asynchronous resolver.
+	 */
+	private static class CachedResponse extends CompletableFuture<byte []> {
+		CachedResponse(byte [] content) {
+			complete(content);
+		}
+	}
+
+	/**
+	 * Binds a range of <code>data</code> elements, splitting it in halves until it is small enough. Relationships are
+	 * not linked, that is left to the calling thread.
+	 */
+	private class BindTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final JsonNode dataNode;
+		private final Class<?> clazz;
+		private final Object[] result;
+		private final int from;
+		private final int to;
+		private final int batchSize;
+
+		BindTask(JsonNode dataNode, Class<?> clazz, Object[] result, int from, int to, int batchSize) {
+			this.dataNode = dataNode;
+			this.clazz = clazz;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > batchSize) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BindTask(dataNode, clazz, result, from, middle, batchSize),
+						new BindTask(dataNode, clazz, result, middle, to, batchSize));
+				return;
+			}
+
+			try {
+				for (int i = from; i < to; i++) {
+					result[i] = readObjectInternal(dataNode.get(i), clazz, null, null);
+				}
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Included resource kept as a node of the document tree until it is referred to.
+	 */
+	private class DeferredNode extends DeferredResource {
+		private final JsonNode node;
+
+		DeferredNode(ResourceIdentifier identifier, ResourceDescriptor descriptor, JsonNode node) {
+			super(identifier, descriptor);
+			this.node = node;
+		}
+
+		@Override
+		Object bind() throws IOException, IllegalAccessException, InstantiationException {
+			return readObjectInternal(node, getDescriptor().getResourceClass(), null, null);
+		}
+
+		@Override
+		JsonNode getRelationships() {
+			return node.get(RELATIONSHIPS);
+		}
 	}
 
 	private static class Resource {
-		private String identifier;
+		private ResourceIdentifier identifier;
 		private Object object;
+		private ResourceDescriptor descriptor;
 
-		public Resource(String identifier, Object resource) {
+		public Resource(ResourceIdentifier identifier, Object resource, ResourceDescriptor descriptor) {
 			this.identifier = identifier;
 			this.object = resource;
+			this.descriptor = descriptor;
 		}
 
-		public String getIdentifier() {
+		public ResourceIdentifier getIdentifier() {
 			return identifier;
 		}
 
 		public Object getObject() {
 			return object;
 		}
+
+		public ResourceDescriptor getDescriptor() {
+			return descriptor;
+		}
 	}
 
 
@@ -0,0 +1,352 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Links;
+import com.github.jasminb.jsonapi.annotations.Meta;
+import com.github.jasminb.jsonapi.annotations.Relationship;
+import com.github.jasminb.jsonapi.annotations.Type;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Immutable, precompiled metadata of a registered resource class.
+ * <p>
+ * Everything the converter needs to know about a resource class (type name, id, relationship, link and meta slots)
+ * is collected once, when the class is registered, so reading and writing a resource takes a single descriptor
+ * lookup instead of one lookup per annotated field.
+ * </p>
+ * <p>
+ * In case an accessor was generated for the resource class at compile time (see {@link ResourceAccessor}), it is used
+ * for instantiation and field access. Otherwise, public resource classes are instantiated through a constructor
+ * reference generated with {@link LambdaMetafactory}, other classes fall back to {@link Class#newInstance()}, and
+ * fields are accessed as described by {@link FieldAccessor}.
+ * </p>
+ */
+final class ResourceDescriptor {
+	private final Class<?> resourceClass;
+	private final ResourceAccessor<Object> accessor;
+	private final Supplier<?> instantiator;
+	private final String typeName;
+	private final Field idField;
+	private final FieldAccessor idAccessor;
+	private final Field linksField;
+	private final FieldAccessor linksAccessor;
+	private final Field metaField;
+	private final FieldAccessor metaAccessor;
+	private final Class<?> metaType;
+	private final List<RelationshipDescriptor> relationships;
+	private final Map<String, RelationshipDescriptor> relationshipsByName;
+
+	private ResourceDescriptor(Class<?> resourceClass, ResourceAccessor<Object> accessor, String typeName,
+							   Field idField, Field linksField, Field metaField, Class<?> metaType,
+							   List<RelationshipDescriptor> relationships) {
+		this.resourceClass = resourceClass;
+		this.accessor = accessor;
+		this.instantiator = accessor == null ? createInstantiator(resourceClass) : null;
+		this.typeName = typeName;
+		this.idField = idField;
+		this.idAccessor = FieldAccessor.create(idField, accessor);
+		this.linksField = linksField;
+		this.linksAccessor = linksField != null ? FieldAccessor.create(linksField, accessor) : null;
+		this.metaField = metaField;
+		this.metaAccessor = metaField != null ? FieldAccessor.create(metaField, accessor) : null;
+		this.metaType = metaType;
+		this.relationships = Collections.unmodifiableList(relationships);
+
+		Map<String, RelationshipDescriptor> byName = new HashMap<>();
+		for (RelationshipDescriptor relationship : relationships) {
+			byName.put(relationship.getName(), relationship);
+		}
+		this.relationshipsByName = Collections.unmodifiableMap(byName);
+	}
+
+	/**
+	 * Collects metadata of given resource class.
+	 * @param clazz resource class
+	 * @return descriptor
+	 * @throws IllegalArgumentException in case class is not a valid resource class
+	 */
+	static ResourceDescriptor compile(Class<?> clazz) {
+		Type annotation = clazz.getAnnotation(Type.class);
+
+		if (annotation == null) {
+			throw new IllegalArgumentException("All resource classes must be annotated with Type annotation!");
+		}
+
+		ResourceAccessor<Object> accessor = findGeneratedAccessor(clazz);
+
+		// collecting Relationship fields
+		List<RelationshipDescriptor> relationships = new ArrayList<>();
+
+		for (Field relationshipField : ReflectionUtils.getAnnotatedFields(clazz, Relationship.class, true)) {
+			Relationship relationship = relationshipField.getAnnotation(Relationship.class);
+			if (relationship.resolve() && relationship.relType() == null) {
+				throw new IllegalArgumentException("@Relationship on " + clazz.getName() + "#" +
+						relationshipField.getName() + " with 'resolve = true' must have a relType attribute " +
+						"set." );
+			}
+
+			// Lazy relationships are set to a list, which must be assignable to the field
+			if (relationship.strategy() == ResolutionStrategy.LAZY &&
+					!(relationshipField.getType().isAssignableFrom(List.class) &&
+							Iterable.class.isAssignableFrom(relationshipField.getType()))) {
+				throw new IllegalArgumentException("Lazy resolution strategy requires List, Collection or Iterable " +
+						"type, but " + clazz.getName() + "#" + relationshipField.getName() + " has type " +
+						relationshipField.getType().getName());
+			}
+
+			relationships.add(new RelationshipDescriptor(relationshipField, relationship,
+					ReflectionUtils.getFieldType(relationshipField), accessor));
+		}
+
+		// collecting Id fields
+		List<Field> idAnnotatedFields = ReflectionUtils.getAnnotatedFields(clazz, Id.class, true);
+
+		if (idAnnotatedFields.isEmpty()) {
+			throw new IllegalArgumentException("All resource classes must have a field annotated with the " +
+					"@Id annotation");
+		} else if (idAnnotatedFields.size() > 1) {
+			throw new IllegalArgumentException("Only single @Id annotation is allowed per defined type!");
+		}
+
+		Field idField = idAnnotatedFields.get(0);
+
+		// collecting Meta fields
+		List<Field> metaFields = ReflectionUtils.getAnnotatedFields(clazz, Meta.class, true);
+		if (metaFields.size() > 1) {
+			throw new IllegalArgumentException(String.format("Only one meta field is allowed for type '%s'",
+					clazz.getCanonicalName()));
+		}
+
+		Field metaField = null;
+		Class<?> metaType = null;
+		if (metaFields.size() == 1) {
+			metaField = metaFields.get(0);
+			metaType = ReflectionUtils.getFieldType(metaField);
+		}
+
+		// link fields
+		List<Field> linkFields = ReflectionUtils.getAnnotatedFields(clazz, Links.class, true);
+		if (linkFields.size() > 1) {
+			throw new IllegalArgumentException(String.format("Only one link field is allowed for type '%s'",
+					clazz.getCanonicalName()));
+		}
+
+		Field linksField = null;
+		if (linkFields.size() == 1) {
+			linksField = linkFields.get(0);
+		}
+
+		return new ResourceDescriptor(clazz, accessor, annotation.value(), idField, linksField, metaField, metaType,
+				relationships);
+	}
+
+	/**
+	 * Loads accessor generated for given class at compile time.
+	 * @param clazz resource class
+	 * @return accessor or <code>null</code> in case none was generated
+	 */
+	@SuppressWarnings("unchecked")
+	private static ResourceAccessor<Object> findGeneratedAccessor(Class<?> clazz) {
+		String name = clazz.getName();
+		int packageEnd = name.lastIndexOf('.') + 1;
+		String accessorName = name.substring(0, packageEnd) + name.substring(packageEnd).replace('$', '_') +
+				ResourceAccessor.SUFFIX;
+
+		try {
+			Class<?> accessorClass = Class.forName(accessorName, true, clazz.getClassLoader());
+
+			if (!ResourceAccessor.class.isAssignableFrom(accessorClass)) {
+				return null;
+			}
+
+			return (ResourceAccessor<Object>) accessorClass.newInstance();
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Generated accessor " + accessorName + " cannot be instantiated", e);
+		}
+	}
+
+	/**
+	 * Generates constructor reference for given class, equivalent to <code>Type::new</code>.
+	 * <p>
+	 * Reference is only generated for public classes with a public no-argument constructor that are visible from
+	 * the class loader of this library, as the generated class is defined there.
+	 * </p>
+	 * @param clazz resource class
+	 * @return instantiator or <code>null</code> in case class must be instantiated reflectively
+	 */
+	private static Supplier<?> createInstantiator(Class<?> clazz) {
+		int modifiers = clazz.getModifiers();
+
+		if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || !FieldAccessor.isVisible(clazz)) {
+			return null;
+		}
+
+		try {
+			Constructor<?> constructor = clazz.getConstructor();
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+			CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+					MethodType.methodType(Object.class), lookup.unreflectConstructor(constructor),
+					MethodType.methodType(clazz));
+
+			return (Supplier<?>) site.getTarget().invoke();
+		} catch (Throwable e) {
+			// No usable constructor, instantiation will fail (or succeed) the same way it does reflectively
+			return null;
+		}
+	}
+
+	/**
+	 * Creates new instance of described resource class using its no-argument constructor.
+	 * @return new instance
+	 * @throws InstantiationException thrown in case class cannot be instantiated
+	 * @throws IllegalAccessException thrown in case constructor is not accessible
+	 */
+	Object newInstance() throws InstantiationException, IllegalAccessException {
+		if (accessor != null) {
+			return accessor.newInstance();
+		}
+
+		if (instantiator != null) {
+			return instantiator.get();
+		}
+
+		return resourceClass.newInstance();
+	}
+
+	/**
+	 * Returns described resource class.
+	 * @return resource class
+	 */
+	Class<?> getResourceClass() {
+		return resourceClass;
+	}
+
+	/**
+	 * Returns accessor generated for described class.
+	 * @return generated accessor or <code>null</code> in case class is accessed reflectively
+	 */
+	ResourceAccessor<Object> getAccessor() {
+		return accessor;
+	}
+
+	/**
+	 * Returns JSON API type name, as defined by {@link Type} annotation.
+	 * @return type name
+	 */
+	String getTypeName() {
+		return typeName;
+	}
+
+	/**
+	 * Returns the field annotated with {@link Id}.
+	 * @return id field
+	 */
+	Field getIdField() {
+		return idField;
+	}
+
+	/**
+	 * Returns the field annotated with {@link Links}.
+	 * @return link field or <code>null</code>
+	 */
+	Field getLinksField() {
+		return linksField;
+	}
+
+	/**
+	 * Returns the field annotated with {@link Meta}.
+	 * @return meta field or <code>null</code>
+	 */
+	Field getMetaField() {
+		return metaField;
+	}
+
+	/**
+	 * Returns the type of the field annotated with {@link Meta}.
+	 * @return meta type or <code>null</code>
+	 */
+	Class<?> getMetaType() {
+		return metaType;
+	}
+
+	/**
+	 * Returns relationships in declaration order.
+	 * @return relationships, may be empty
+	 */
+	List<RelationshipDescriptor> getRelationships() {
+		return relationships;
+	}
+
+	/**
+	 * Returns relationship with given name.
+	 * @param name relationship name, as used in serialized JSON
+	 * @return relationship or <code>null</code>
+	 */
+	RelationshipDescriptor getRelationship(String name) {
+		return relationshipsByName.get(name);
+	}
+
+	/**
+	 * Checks if described type declares any relationships.
+	 * @return <code>true</code> if type has relationships, else <code>false</code>
+	 */
+	boolean hasRelationships() {
+		return !relationships.isEmpty();
+	}
+
+	/**
+	 * Reads the id of given resource.
+	 * @param resource resource instance
+	 * @return id value
+	 * @throws IllegalAccessException thrown in case id field is not accessible
+	 */
+	String getId(Object resource) throws IllegalAccessException {
+		return (String) idAccessor.get(resource);
+	}
+
+	/**
+	 * Sets the id of given resource.
+	 * @param resource resource instance
+	 * @param id id value
+	 * @throws IllegalAccessException thrown in case id field is not accessible
+	 */
+	void setId(Object resource, String id) throws IllegalAccessException {
+		idAccessor.set(resource, id);
+	}
+
+	/**
+	 * Sets the value of the field annotated with {@link Links}. Must not be called in case type has no such field.
+	 * @param resource resource instance
+	 * @param links links value
+	 * @throws IllegalAccessException thrown in case link field is not accessible
+	 */
+	void setLinks(Object resource, Object links) throws IllegalAccessException {
+		linksAccessor.set(resource, links);
+	}
+
+	/**
+	 * Sets the value of the field annotated with {@link Meta}. Must not be called in case type has no such field.
+	 * @param resource resource instance
+	 * @param meta meta value
+	 * @throws IllegalAccessException thrown in case meta field is not accessible
+	 */
+	void setMeta(Object resource, Object meta) throws IllegalAccessException {
+		metaAccessor.set(resource, meta);
+	}
+}
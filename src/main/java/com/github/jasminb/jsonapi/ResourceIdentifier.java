@@ -0,0 +1,66 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Identity of a resource within a document, made of its <code>type</code> and <code>id</code> values.
+ * <p>
+ * Used as key of the index linking resource linkage to included (or already converted) resources. Hash code is
+ * computed once, as each key is hashed at least twice (when indexed and when looked up).
+ * </p>
+ */
+final class ResourceIdentifier {
+	private final String type;
+	private final String id;
+	private final int hash;
+
+	ResourceIdentifier(String type, String id) {
+		this.type = type;
+		this.id = id;
+		this.hash = 31 * (type != null ? type.hashCode() : 0) + (id != null ? id.hashCode() : 0);
+	}
+
+	/**
+	 * Creates resource index able to hold given number of resources without being resized.
+	 * @param expectedSize expected number of resources
+	 * @return empty index
+	 */
+	static Map<ResourceIdentifier, Object> createIndex(int expectedSize) {
+		return new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+	}
+
+	String getType() {
+		return type;
+	}
+
+	String getId() {
+		return id;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (!(o instanceof ResourceIdentifier)) {
+			return false;
+		}
+
+		ResourceIdentifier other = (ResourceIdentifier) o;
+
+		return hash == other.hash && Objects.equals(type, other.type) && Objects.equals(id, other.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return type + ":" + id;
+	}
+}
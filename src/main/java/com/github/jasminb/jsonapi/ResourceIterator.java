@@ -0,0 +1,197 @@
+package com.github.jasminb.jsonapi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily converted collection of resource objects.
+ * <p>
+ * Elements of the <code>data</code> array are bound one at a time, as the caller pulls them, so the whole primary
+ * data never has to be held in memory. Top-level <a href="http://jsonapi.org/format/#document-links">links</a> and
+ * <a href="http://jsonapi.org/format/#document-meta">meta</a> are exposed the same way as by {@link ResourceList};
+ * members that follow the <code>data</code> array in the document are only available once the iterator is
+ * exhausted. The same applies to included resources following the <code>data</code> array: resource linkage of
+ * elements handed out before they were read is bound to them once the iterator is exhausted.
+ * </p>
+ * <p>
+ * Iterator holds the underlying input open until all elements are consumed or until it is closed. Callers that stop
+ * early should close it (directly or by closing the {@link #stream() stream}).
+ * </p>
+ *
+ * @see ResourceConverter#readObjectIterator(byte[], Class)
+ */
+public class ResourceIterator<E> implements Iterator<E>, Closeable {
+
+	/**
+	 * A map of link objects keyed by link name.
+	 */
+	private Map<String, Link> links = Collections.emptyMap();
+
+	/**
+	 * A map of meta fields, keyed by the meta field name
+	 */
+	private Map<String, ?> meta = Collections.emptyMap();
+
+	private final Source<E> source;
+
+	private E next;
+
+	private boolean finished;
+
+	/**
+	 * Creates iterator pulling elements from given source.
+	 * @param source element source
+	 */
+	ResourceIterator(Source<E> source) {
+		this.source = source;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !finished) {
+			try {
+				next = source.read(this);
+			} catch (RuntimeException e) {
+				closeQuietly();
+				throw e;
+			} catch (Exception e) {
+				closeQuietly();
+				throw new RuntimeException(e);
+			}
+
+			if (next == null) {
+				finished = true;
+				closeQuietly();
+			}
+		}
+
+		return next != null;
+	}
+
+	@Override
+	public E next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		E result = next;
+		next = null;
+		return result;
+	}
+
+	/**
+	 * Returns a sequential stream over remaining elements. Closing the stream closes this iterator.
+	 * @return stream of elements
+	 */
+	public Stream<E> stream() {
+		Spliterator<E> spliterator = Spliterators.spliteratorUnknownSize(this,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * Releases underlying input. Remaining elements are not read.
+	 * @throws IOException in case input cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		finished = true;
+		next = null;
+		source.close();
+	}
+
+	private void closeQuietly() {
+		try {
+			source.close();
+		} catch (IOException e) {
+			// Nothing left to read, failure to release input is not relevant to the caller
+		}
+	}
+
+	/**
+	 * Returns the <a href="http://jsonapi.org/format/#document-links">JSON API links</a> present in the
+	 * response.
+	 *
+	 * @return the links in the response keyed by link name; may be empty but never {@code null}
+	 */
+	public Map<String, Link> getLinks() {
+		return links;
+	}
+
+	/**
+	 * Convenience method for returning the value of the named link.
+	 *
+	 * @return the link value, or {@code null} if the named link does not exist or has no value
+	 */
+	public String getLink(String linkName) {
+		if (links.containsKey(linkName)) {
+			return links.get(linkName).getHref();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the <a href="http://jsonapi.org/format/#document-meta">JSON API meta information</a> present in the
+	 * response.
+	 *
+	 * @return the meta information in the response keyed by field name; may be empty but never {@code null}
+	 */
+	public Map<String, ?> getMeta() {
+		return meta;
+	}
+
+	/**
+	 * Package-private method for setting the meta information.
+	 *
+	 * @param meta the meta information, must not be {@code null}
+	 */
+	void setMeta(Map<String, ?> meta) {
+		if (meta == null) {
+			throw new IllegalArgumentException("Meta information must not be null.");
+		}
+		this.meta = meta;
+	}
+
+	/**
+	 * Package-private method for setting link information.
+	 *
+	 * @param links the links information, must not be {@code null}
+	 */
+	void setLinks(Map<String, Link> links) {
+		if (links == null) {
+			throw new IllegalArgumentException("Links map must not be null.");
+		}
+		this.links = links;
+	}
+
+	/**
+	 * Supplies converted elements to the iterator.
+	 */
+	interface Source<E> extends Closeable {
+
+		/**
+		 * Converts next element.
+		 * @param target iterator being served, receives top-level links and meta as they are read
+		 * @return next element or <code>null</code> when there are no more elements
+		 * @throws Exception in case conversion fails
+		 */
+		E read(ResourceIterator<E> target) throws Exception;
+	}
+}
@@ -0,0 +1,51 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enumerates serialization options that can be turned on or off on a {@link ResourceConverter} instance.
+ *
+ * @see ResourceConverter#enableSerializationOption(SerializationFeature)
+ * @see ResourceConverter#disableSerializationOption(SerializationFeature)
+ */
+public enum SerializationFeature {
+
+	/**
+	 * Writes documents directly to a {@code JsonGenerator} instead of first converting each resource into a
+	 * {@code JsonNode} tree. Attributes are written by the object mapper's own property serializers, while id, meta
+	 * and relationship fields are never serialized as attributes in the first place. Produces the same results as the
+	 * tree-based writer.
+	 */
+	USE_STREAMING_GENERATOR(false);
+
+	private final boolean enabledByDefault;
+
+	SerializationFeature(boolean enabledByDefault) {
+		this.enabledByDefault = enabledByDefault;
+	}
+
+	/**
+	 * Returns <code>true</code> if this feature is turned on for newly created converters.
+	 * @return default state of the feature
+	 */
+	public boolean isEnabledByDefault() {
+		return enabledByDefault;
+	}
+
+	/**
+	 * Returns a new, mutable set containing all features that are enabled by default.
+	 * @return default features
+	 */
+	public static Set<SerializationFeature> getDefaultFeatures() {
+		Set<SerializationFeature> result = EnumSet.noneOf(SerializationFeature.class);
+
+		for (SerializationFeature feature : values()) {
+			if (feature.isEnabledByDefault()) {
+				result.add(feature);
+			}
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,130 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-document serialization options, passed to the write methods of {@link ResourceConverter}.
+ * <p>
+ * Settings are immutable and can be shared between threads. Use {@link Builder} to create them.
+ * </p>
+ *
+ * @see ResourceConverter#writeObject(Object, SerializationSettings)
+ * @see ResourceConverter#writeObjectCollection(Iterable, SerializationSettings)
+ */
+public final class SerializationSettings {
+	private final Set<String> includedPaths;
+	private final int includedDepth;
+	private final Map<String, Set<String>> fields;
+
+	private SerializationSettings(Builder builder) {
+		this.includedPaths = Collections.unmodifiableSet(new LinkedHashSet<>(builder.includedPaths));
+		this.includedDepth = builder.includedDepth;
+		this.fields = Collections.unmodifiableMap(new HashMap<>(builder.fields));
+	}
+
+	/**
+	 * Returns relationship paths of resources written to the <code>included</code> section.
+	 * @return dot-separated relationship paths, may be empty but never {@code null}
+	 */
+	public Set<String> getIncludedPaths() {
+		return includedPaths;
+	}
+
+	/**
+	 * Returns number of relationship levels, starting from primary data, of resources written to the
+	 * <code>included</code> section.
+	 * @return depth, <code>0</code> in case resources are included by path or not at all
+	 */
+	public int getIncludedDepth() {
+		return includedDepth;
+	}
+
+	/**
+	 * Checks if documents written with these settings have an <code>included</code> section.
+	 * @return <code>true</code> if related resources are included
+	 */
+	public boolean hasIncluded() {
+		return includedDepth > 0 || !includedPaths.isEmpty();
+	}
+
+	/**
+	 * Returns names of attributes and relationships that are written for resources of given type.
+	 * @param type resource type name
+	 * @return field names or {@code null} in case all fields are written
+	 */
+	public Set<String> getFields(String type) {
+		return fields.get(type);
+	}
+
+	/**
+	 * Builds {@link SerializationSettings} instances.
+	 */
+	public static class Builder {
+		private final Set<String> includedPaths = new LinkedHashSet<>();
+		private final Map<String, Set<String>> fields = new HashMap<>();
+		private int includedDepth;
+
+		/**
+		 * Includes resources reachable from primary data over given relationship paths, the same way as the
+		 * <a href="http://jsonapi.org/format/#fetching-includes">include</a> request parameter does. For example
+		 * <code>comments.author</code> includes comments of primary resources, as well as authors of those comments.
+		 * @param paths dot-separated relationship names
+		 * @return this builder
+		 */
+		public Builder includeRelationships(String... paths) {
+			for (String path : paths) {
+				if (path == null || path.isEmpty()) {
+					throw new IllegalArgumentException("Included path must not be empty.");
+				}
+				includedPaths.add(path);
+			}
+			return this;
+		}
+
+		/**
+		 * Includes all resources reachable from primary data over at most given number of relationships.
+		 * @param depth number of relationship levels, <code>0</code> disables inclusion by depth
+		 * @return this builder
+		 */
+		public Builder includeDepth(int depth) {
+			if (depth < 0) {
+				throw new IllegalArgumentException("Included depth must not be negative.");
+			}
+			this.includedDepth = depth;
+			return this;
+		}
+
+		/**
+		 * Limits resources of given type to a
+		 * <a href="http://jsonapi.org/format/#fetching-sparse-fieldsets">sparse fieldset</a>. Attributes and
+		 * relationships that are not listed are left out of written resources.
+		 * @param type resource type name
+		 * @param names names of attributes and relationships to write, as they appear in the document
+		 * @return this builder
+		 */
+		public Builder fields(String type, String... names) {
+			if (type == null) {
+				throw new IllegalArgumentException("Type must not be null.");
+			}
+			fields.put(type, Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names))));
+			return this;
+		}
+
+		/**
+		 * Creates settings.
+		 * @return settings
+		 * @throws IllegalArgumentException in case both included paths and included depth are set
+		 */
+		public SerializationSettings build() {
+			if (includedDepth > 0 && !includedPaths.isEmpty()) {
+				throw new IllegalArgumentException("Resources can be included either by path or by depth.");
+			}
+			return new SerializationSettings(this);
+		}
+	}
+}
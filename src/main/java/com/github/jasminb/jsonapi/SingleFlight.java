@@ -0,0 +1,58 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Shares requests for the same relationship URL that are in flight at the same time.
+ * <p>
+ * The first caller issues the request, callers arriving before it completes receive the same pending response.
+ * Once the response completes, the URL is forgotten and the next caller issues a new request.
+ * </p>
+ */
+class SingleFlight {
+	private final ConcurrentMap<String, CompletableFuture<byte []>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns response of request for given URL that is in flight, or issues a new one.
+	 * @param url relationship URL
+	 * @param request issues the request, invoked only when no request for the URL is in flight
+	 * @return pending response
+	 */
+	CompletableFuture<byte []> fetch(final String url, Supplier<CompletableFuture<byte []>> request) {
+		final CompletableFuture<byte []> call = new CompletableFuture<>();
+		CompletableFuture<byte []> existing = inFlight.putIfAbsent(url, call);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		CompletableFuture<byte []> response;
+
+		try {
+			response = request.get();
+		} catch (RuntimeException e) {
+			inFlight.remove(url, call);
+			call.completeExceptionally(e);
+			throw e;
+		}
+
+		response.whenComplete(new BiConsumer<byte [], Throwable>() {
+			@Override
+			public void accept(byte [] content, Throwable throwable) {
+				inFlight.remove(url, call);
+
+				if (throwable != null) {
+					call.completeExceptionally(throwable);
+				} else {
+					call.complete(content);
+				}
+			}
+		});
+
+		return call;
+	}
+}
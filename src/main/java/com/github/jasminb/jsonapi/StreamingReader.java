@@ -0,0 +1,841 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.jasminb.jsonapi.exceptions.ResourceParseException;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.github.jasminb.jsonapi.JSONAPISpecConstants.*;
+
+/**
+ * Token-streaming read engine used by {@link ResourceConverter} when
+ * {@link DeserializationFeature#USE_STREAMING_PARSER} is enabled.
+ * <p>
+ * Primary data, included resources, attributes, links and meta are bound directly from a {@link JsonParser}, so the
+ * document is never materialized as a full {@code JsonNode} tree. Only the <code>relationships</code> object of each
+ * resource, which holds nothing but resource linkage and links, is read as a tree so that relationship handling
+ * stays shared with the tree-based engine.
+ * </p>
+ * <p>
+ * Since JSON API does not mandate member order, <code>included</code> may follow <code>data</code> and a resource's
+ * <code>type</code> may follow its <code>attributes</code>. Resources are therefore bound while the document is
+ * read and linked once the closing token of the document has been reached. Attributes of included resources whose
+ * type is not yet known are buffered as tokens until the type is seen.
+ * </p>
+ */
+class StreamingReader {
+	private final ResourceConverter converter;
+	private final ObjectMapper objectMapper;
+	private final MapType metaMapType;
+
+	StreamingReader(ResourceConverter converter, ObjectMapper objectMapper) {
+		this.converter = converter;
+		this.objectMapper = objectMapper;
+		this.metaMapType = objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, Object.class);
+	}
+
+	/**
+	 * Reads single resource document from the parser.
+	 * @param parser parser positioned before the root object
+	 * @param clazz target type
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @param <T> target type
+	 * @return converted object
+	 */
+	<T> T readObject(JsonParser parser, Class<T> clazz, ResolverState resolverState, DeserializationSettings settings)
+			throws IOException, IllegalAccessException, InstantiationException {
+		Document document = readDocument(parser, clazz, false, settings);
+
+		if (resolverState == null && converter.isBatchResolving()) {
+			resolverState = batchResolve(document);
+		}
+
+		Map<ResourceIdentifier, Object> included = linkIncluded(document, resolverState);
+
+		BoundResource resource = document.data.get(0);
+		linkResource(resource, included, resolverState);
+
+		T result = clazz.cast(resource.object);
+
+		if (document.meta != null) {
+			resource.descriptor.setMeta(result, document.meta);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Reads resource collection document from the parser.
+	 * @param parser parser positioned before the root object
+	 * @param clazz target type
+	 * @param resolverState used when resolving recursive relationships;  may be {@code null}
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @param <T> target type
+	 * @return collection of converted elements
+	 */
+	<T> ResourceList<T> readObjectCollection(JsonParser parser, Class<T> clazz, ResolverState resolverState,
+											 DeserializationSettings settings)
+			throws IOException, IllegalAccessException, InstantiationException {
+		Document document = readDocument(parser, clazz, true, settings);
+
+		if (resolverState == null && converter.isBatchResolving()) {
+			resolverState = batchResolve(document);
+		}
+
+		// Relationships of all elements are requested before any of them waits for a response
+		Map<String, CompletableFuture<byte []>> prefetched = new HashMap<>();
+
+		for (BoundResource resource : document.data) {
+			converter.prefetchRelationships(resource.relationships, resource.descriptor, resolverState, prefetched);
+		}
+
+		Map<ResourceIdentifier, Object> included = linkIncluded(document, resolverState);
+
+		List<T> result = new ArrayList<>(document.data.size());
+
+		for (BoundResource resource : document.data) {
+			converter.handleRelationships(resource.relationships, resource.object, resource.descriptor, included,
+					resolverState, true, true, prefetched);
+			included.put(resource.getIdentifier(), resource.object);
+			result.add(clazz.cast(resource.object));
+		}
+
+		ResourceList<T> wrapper = new ResourceList<>(result);
+
+		if (document.links != null) {
+			wrapper.setLinks(converter.mapLinks(document.links));
+		}
+
+		if (document.meta != null) {
+			@SuppressWarnings("unchecked")
+			Map<String, ?> meta = (Map<String, ?>) document.meta;
+			wrapper.setMeta(meta);
+		}
+
+		return wrapper;
+	}
+
+	/**
+	 * Creates iterator that binds elements of the <code>data</code> array one at a time, linked to included resources
+	 * wherever they appear in the document.
+	 * @param parser parser positioned before the root object, closed once iterator is exhausted or closed
+	 * @param rescan creates another parser over the same document, used to read included resources following
+	 *               <code>data</code>; {@code null} for streamed documents, whose data array is buffered instead
+	 * @param clazz target type
+	 * @param <T> target type
+	 * @return lazy iterator
+	 */
+	<T> ResourceIterator<T> readObjectIterator(JsonParser parser, Supplier<JsonParser> rescan, Class<T> clazz) {
+		return new ResourceIterator<>(new LazyCollection<>(parser, rescan, clazz));
+	}
+
+	/**
+	 * Fetches documents of links found in bound resources using the converter's batch resolver.
+	 * @param document document
+	 * @return state holding fetched documents, or {@code null} in case there is nothing to resolve
+	 */
+	private ResolverState batchResolve(Document document) throws IOException {
+		Set<String> links = new LinkedHashSet<>();
+
+		for (BoundResource resource : document.data) {
+			converter.collectBatchLinks(resource.descriptor, resource.relationships, links);
+		}
+
+		for (BoundResource resource : document.included) {
+			converter.collectBatchLinks(resource.descriptor, resource.relationships, links);
+		}
+
+		return converter.batchResolve(links);
+	}
+
+	/**
+	 * Reads top-level members of the document, binding resources as they are encountered.
+	 * @param parser parser positioned before the root object
+	 * @param clazz primary data type
+	 * @param collection <code>true</code> if primary data is expected to be an array
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return document holding bound, but not yet linked resources
+	 */
+	private Document readDocument(JsonParser parser, Class<?> clazz, boolean collection,
+								  DeserializationSettings settings)
+			throws IOException, IllegalAccessException, InstantiationException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IllegalArgumentException("Object is missing 'data' node!");
+		}
+
+		Document document = new Document(settings);
+		String dataError = "Object is missing 'data' node!";
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+
+			switch (field) {
+				case DATA:
+					dataError = readData(parser, token, clazz, collection, document);
+					break;
+				case INCLUDED:
+					readIncluded(parser, token, document);
+					break;
+				case ERRORS:
+					ensureNotError(parser, token);
+					break;
+				case META:
+					document.meta = readMeta(parser, token, clazz, collection);
+					break;
+				case LINKS:
+					if (collection && token == JsonToken.START_OBJECT) {
+						document.links = objectMapper.readTree(parser);
+					} else {
+						parser.skipChildren();
+					}
+					break;
+				default:
+					parser.skipChildren();
+			}
+		}
+
+		if (dataError != null) {
+			throw new IllegalArgumentException(dataError);
+		}
+
+		return document;
+	}
+
+	/**
+	 * Reads the <code>data</code> member. Shape violations are reported rather than thrown, as an
+	 * <code>errors</code> member later in the document takes precedence over them.
+	 * @return error message in case data node is not valid, else <code>null</code>
+	 */
+	private String readData(JsonParser parser, JsonToken token, Class<?> clazz, boolean collection, Document document)
+			throws IOException, IllegalAccessException, InstantiationException {
+		if (!token.isStructStart()) {
+			return "'data' node cannot be simple attribute!";
+		}
+
+		if (collection && token != JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return "'data' node is not an array!";
+		}
+
+		if (!collection && token == JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return "'data' node is not an object!";
+		}
+
+		if (collection) {
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				document.data.add(readResource(parser, clazz, document.settings));
+			}
+		} else {
+			document.data.add(readResource(parser, clazz, document.settings));
+		}
+
+		return null;
+	}
+
+	private void ensureNotError(JsonParser parser, JsonToken token) throws IOException {
+		if (token != JsonToken.VALUE_NULL) {
+			ObjectNode errorsNode = objectMapper.createObjectNode();
+			errorsNode.set(ERRORS, objectMapper.readTree(parser));
+			throw new ResourceParseException(ErrorUtils.parseError(errorsNode));
+		}
+	}
+
+	private void readIncluded(JsonParser parser, JsonToken token, Document document)
+			throws IOException, IllegalAccessException, InstantiationException {
+		if (token != JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return;
+		}
+
+		if (converter.isEnabled(DeserializationFeature.BIND_INCLUDED_ON_DEMAND)) {
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				DeferredResource resource = skimResource(parser, document.settings);
+
+				if (resource != null) {
+					document.deferred.add(resource);
+				}
+			}
+			return;
+		}
+
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			BoundResource resource = readResource(parser, null, document.settings);
+
+			// Resources of unregistered types are not part of the result
+			if (resource != null) {
+				document.included.add(resource);
+			}
+		}
+	}
+
+	private Object readMeta(JsonParser parser, JsonToken token, Class<?> clazz, boolean collection)
+			throws IOException {
+		if (token != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return null;
+		}
+
+		if (collection) {
+			return objectMapper.readValue(parser, metaMapType);
+		}
+
+		ResourceDescriptor descriptor = converter.getDescriptor(clazz);
+		Class<?> metaType = descriptor != null ? descriptor.getMetaType() : null;
+
+		if (metaType == null) {
+			parser.skipChildren();
+			return null;
+		}
+
+		return objectMapper.readValue(parser, metaType);
+	}
+
+	/**
+	 * Reads identifier of a resource and buffers the resource, without binding it. Parser must be positioned on the
+	 * start of the resource object.
+	 * @param parser parser
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return deferred resource or <code>null</code> if resource type is not registered
+	 */
+	private DeferredResource skimResource(JsonParser parser, DeserializationSettings settings) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			throw new IllegalArgumentException("Resource must be represented as JSON object!");
+		}
+
+		TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+		buffer.writeStartObject();
+
+		String type = null;
+		String id = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+
+			if (!token.isStructStart()) {
+				if (TYPE.equals(field)) {
+					type = parser.getValueAsString();
+				} else if (ID.equals(field)) {
+					id = parser.getValueAsString();
+				}
+			}
+
+			buffer.writeFieldName(field);
+			buffer.copyCurrentStructure(parser);
+		}
+
+		buffer.writeEndObject();
+
+		ResourceDescriptor descriptor = type != null ? converter.getDescriptor(type) : null;
+
+		if (descriptor == null) {
+			return null;
+		}
+
+		return new DeferredTokens(new ResourceIdentifier(type, id), descriptor, buffer, settings);
+	}
+
+	/**
+	 * Binds single resource object. Parser must be positioned on the start of the resource object.
+	 * @param parser parser
+	 * @param clazz target type, or <code>null</code> if type should be taken from the <code>type</code> member
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return bound resource or <code>null</code> if resource type is not registered
+	 */
+	private BoundResource readResource(JsonParser parser, Class<?> clazz, DeserializationSettings settings)
+			throws IOException, IllegalAccessException, InstantiationException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			throw new IllegalArgumentException("Resource must be represented as JSON object!");
+		}
+
+		ResourceDescriptor descriptor = null;
+		if (clazz != null) {
+			descriptor = converter.getDescriptor(clazz);
+			if (descriptor == null) {
+				throw new IllegalArgumentException(String.format("Type '%s' is not registered",
+						clazz.getCanonicalName()));
+			}
+		}
+
+		String type = null;
+		String id = null;
+		Object object = null;
+		Object links = null;
+		JsonNode relationships = null;
+		TokenBuffer bufferedAttributes = null;
+		TokenBuffer bufferedLinks = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+
+			switch (field) {
+				case TYPE:
+					type = readText(parser, token);
+					if (descriptor == null && type != null) {
+						descriptor = converter.getDescriptor(type);
+					}
+					break;
+				case ID:
+					id = readText(parser, token);
+					break;
+				case ATTRIBUTES:
+					if (token == JsonToken.VALUE_NULL) {
+						break;
+					}
+					if (descriptor != null) {
+						object = readAttributes(parser, descriptor, settings);
+					} else if (type == null) {
+						bufferedAttributes = buffer(parser);
+					} else {
+						parser.skipChildren();
+					}
+					break;
+				case LINKS:
+					if (token == JsonToken.VALUE_NULL) {
+						break;
+					}
+					if (descriptor != null) {
+						links = readLinks(parser, descriptor);
+					} else if (type == null) {
+						bufferedLinks = buffer(parser);
+					} else {
+						parser.skipChildren();
+					}
+					break;
+				case RELATIONSHIPS:
+					if (token == JsonToken.START_OBJECT && (descriptor == null || descriptor.hasRelationships())) {
+						relationships = objectMapper.readTree(parser);
+					} else {
+						parser.skipChildren();
+					}
+					break;
+				default:
+					parser.skipChildren();
+			}
+		}
+
+		if (descriptor == null) {
+			return null;
+		}
+
+		if (bufferedAttributes != null) {
+			try (JsonParser attributesParser = bufferedAttributes.asParser()) {
+				attributesParser.nextToken();
+				object = readAttributes(attributesParser, descriptor, settings);
+			}
+		}
+
+		Set<String> fields = settings != null ? settings.getFields(descriptor.getTypeName()) : null;
+
+		if (fields != null && relationships instanceof ObjectNode) {
+			((ObjectNode) relationships).retain(fields);
+		}
+
+		if (object == null) {
+			object = descriptor.newInstance();
+		}
+
+		if (bufferedLinks != null) {
+			try (JsonParser linksParser = bufferedLinks.asParser()) {
+				linksParser.nextToken();
+				links = readLinks(linksParser, descriptor);
+			}
+		}
+
+		if (links != null) {
+			descriptor.setLinks(object, links);
+		}
+
+		descriptor.setId(object, id);
+
+		return new BoundResource(descriptor, type, id, object, relationships);
+	}
+
+	/**
+	 * Binds attributes object the parser is positioned on. Attributes that are not part of the sparse fieldset of the
+	 * resource type are skipped at token level, without being buffered or bound.
+	 * @param parser parser
+	 * @param descriptor resource type
+	 * @param settings per-document settings, {@code null} for defaults
+	 * @return bound resource object
+	 */
+	private Object readAttributes(JsonParser parser, ResourceDescriptor descriptor, DeserializationSettings settings)
+			throws IOException {
+		Set<String> fields = settings != null ? settings.getFields(descriptor.getTypeName()) : null;
+
+		if (fields == null || parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			return objectMapper.readValue(parser, descriptor.getResourceClass());
+		}
+
+		TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+		buffer.writeStartObject();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+
+			if (fields.contains(field)) {
+				buffer.writeFieldName(field);
+				buffer.copyCurrentStructure(parser);
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		buffer.writeEndObject();
+
+		try (JsonParser attributesParser = buffer.asParser()) {
+			return objectMapper.readValue(attributesParser, descriptor.getResourceClass());
+		}
+	}
+
+	private Object readLinks(JsonParser parser, ResourceDescriptor descriptor) throws IOException {
+		Field linkField = descriptor.getLinksField();
+
+		if (linkField == null) {
+			parser.skipChildren();
+			return null;
+		}
+
+		return objectMapper.readValue(parser, linkField.getType());
+	}
+
+	private TokenBuffer buffer(JsonParser parser) throws IOException {
+		TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+		buffer.copyCurrentStructure(parser);
+		return buffer;
+	}
+
+	private String readText(JsonParser parser, JsonToken token) throws IOException {
+		if (token.isStructStart()) {
+			parser.skipChildren();
+			return null;
+		}
+
+		return parser.getValueAsString();
+	}
+
+	/**
+	 * Indexes included resources by their identifiers and links their relationships.
+	 * @return identifier/object pairs
+	 */
+	private Map<ResourceIdentifier, Object> linkIncluded(Document document, ResolverState resolverState)
+			throws IOException, IllegalAccessException, InstantiationException {
+		Map<ResourceIdentifier, Object> result = ResourceIdentifier.createIndex(document.included.size() +
+				document.deferred.size());
+
+		if (!document.deferred.isEmpty()) {
+			DeferredResource.Linker linker = new DeferredResource.Linker(converter, result, resolverState);
+
+			for (DeferredResource resource : document.deferred) {
+				linker.add(resource);
+			}
+		}
+
+		for (BoundResource resource : document.included) {
+			result.put(resource.getIdentifier(), resource.object);
+		}
+
+		for (BoundResource resource : document.included) {
+			converter.handleRelationships(resource.relationships, resource.object, resource.descriptor, result,
+					resolverState);
+		}
+
+		return result;
+	}
+
+	private void linkResource(BoundResource resource, Map<ResourceIdentifier, Object> included, ResolverState resolverState)
+			throws IOException, IllegalAccessException, InstantiationException {
+		converter.handleRelationships(resource.relationships, resource.object, resource.descriptor, included,
+				resolverState);
+		included.put(resource.getIdentifier(), resource.object);
+	}
+
+	/**
+	 * Iterator source binding one element of the <code>data</code> array per request.
+	 * <p>
+	 * Elements are only handed out fully linked. Included resources are therefore read before the first element is
+	 * bound: when <code>included</code> follows <code>data</code>, in-memory documents are scanned for it by a second
+	 * parser, while the data array of streamed documents is buffered as tokens until the rest of the document is read.
+	 * Neither is needed when <code>included</code> precedes <code>data</code>, or when the elements have no
+	 * relationships. Without included resources each element is linked against its own identifier cache, so memory
+	 * use does not grow with the number of elements read. With included resources, elements are added to their index
+	 * only in case a registered type has relationships of the element type, so elements released by the caller are
+	 * not kept alive.
+	 * </p>
+	 */
+	private class LazyCollection<T> implements ResourceIterator.Source<T> {
+		private final JsonParser source;
+		private final Supplier<JsonParser> rescan;
+		private final Class<T> clazz;
+		private final Document document = new Document(null);
+		private final boolean indexed;
+		private JsonParser parser;
+		private Map<ResourceIdentifier, Object> included;
+		private boolean started;
+		private boolean dataDone;
+
+		LazyCollection(JsonParser parser, Supplier<JsonParser> rescan, Class<T> clazz) {
+			this.source = parser;
+			this.parser = parser;
+			this.rescan = rescan;
+			this.clazz = clazz;
+			this.indexed = converter.isRelationshipTarget(clazz);
+		}
+
+		@Override
+		public T read(ResourceIterator<T> target) throws Exception {
+			if (dataDone) {
+				return null;
+			}
+
+			if (!started) {
+				started = true;
+				advanceToData(target);
+			}
+
+			if (parser.nextToken() == JsonToken.END_ARRAY) {
+				dataDone = true;
+				readRemaining(target, false);
+				return null;
+			}
+
+			BoundResource resource = readResource(parser, clazz, null);
+
+			if (included != null) {
+				converter.handleRelationships(resource.relationships, resource.object, resource.descriptor, included,
+						null);
+
+				// Elements handed out are only kept in the index in case other elements may refer to them
+				if (indexed) {
+					included.put(resource.getIdentifier(), resource.object);
+				}
+			} else {
+				linkResource(resource, new HashMap<ResourceIdentifier, Object>(), null);
+			}
+
+			return clazz.cast(resource.object);
+		}
+
+		/**
+		 * Reads members preceding <code>data</code>, and included resources following it, and positions the parser on
+		 * the start of the data array.
+		 */
+		private void advanceToData(ResourceIterator<T> target) throws Exception {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException("Object is missing 'data' node!");
+			}
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken token = parser.nextToken();
+
+				if (DATA.equals(field)) {
+					if (!token.isStructStart()) {
+						throw new IllegalArgumentException("'data' node cannot be simple attribute!");
+					}
+					if (token != JsonToken.START_ARRAY) {
+						throw new IllegalArgumentException("'data' node is not an array!");
+					}
+
+					if (document.included.isEmpty() && document.deferred.isEmpty() &&
+							converter.getDescriptor(clazz).hasRelationships()) {
+						if (rescan != null) {
+							scanIncluded();
+						} else {
+							bufferData(target);
+						}
+					}
+
+					if (!document.included.isEmpty() || !document.deferred.isEmpty()) {
+						included = linkIncluded(document, null);
+					}
+					return;
+				}
+
+				if (INCLUDED.equals(field)) {
+					readIncluded(parser, token, document);
+				} else {
+					readTopLevel(field, token, target);
+				}
+			}
+
+			throw new IllegalArgumentException("Object is missing 'data' node!");
+		}
+
+		/**
+		 * Reads included resources following <code>data</code> of an in-memory document using a second parser.
+		 */
+		private void scanIncluded() throws Exception {
+			try (JsonParser scanner = rescan.get()) {
+				if (scanner.nextToken() != JsonToken.START_OBJECT) {
+					return;
+				}
+
+				while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+					String field = scanner.getCurrentName();
+					JsonToken token = scanner.nextToken();
+
+					if (INCLUDED.equals(field)) {
+						readIncluded(scanner, token, document);
+					} else {
+						scanner.skipChildren();
+					}
+				}
+			}
+		}
+
+		/**
+		 * Buffers the data array of a streamed document and reads the members following it, so included resources
+		 * are known before elements are bound from the buffer.
+		 */
+		private void bufferData(ResourceIterator<T> target) throws Exception {
+			TokenBuffer data = new TokenBuffer(parser);
+			data.copyCurrentStructure(parser);
+
+			readRemaining(target, true);
+
+			parser = data.asParser();
+			parser.nextToken();
+		}
+
+		/**
+		 * Reads members following <code>data</code> from the source.
+		 * @param bindIncluded <code>true</code> if included resources are to be bound, i.e. when the data array is
+		 *                     buffered and elements are bound after them
+		 */
+		private void readRemaining(ResourceIterator<T> target, boolean bindIncluded) throws Exception {
+			while (source.nextToken() == JsonToken.FIELD_NAME) {
+				String field = source.getCurrentName();
+				JsonToken token = source.nextToken();
+
+				if (INCLUDED.equals(field) && bindIncluded) {
+					readIncluded(source, token, document);
+				} else {
+					readTopLevel(field, token, target);
+				}
+			}
+		}
+
+		private void readTopLevel(String field, JsonToken token, ResourceIterator<T> target) throws IOException {
+			switch (field) {
+				case ERRORS:
+					ensureNotError(source, token);
+					break;
+				case META:
+					@SuppressWarnings("unchecked")
+					Map<String, ?> meta = (Map<String, ?>) readMeta(source, token, clazz, true);
+					if (meta != null) {
+						target.setMeta(meta);
+					}
+					break;
+				case LINKS:
+					if (token == JsonToken.START_OBJECT) {
+						target.setLinks(converter.mapLinks(objectMapper.readTree(source)));
+					} else {
+						source.skipChildren();
+					}
+					break;
+				default:
+					source.skipChildren();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			parser.close();
+			source.close();
+		}
+	}
+
+	/**
+	 * Resource bound from the token stream, together with what is needed to link it.
+	 */
+	private static class BoundResource {
+		private final ResourceDescriptor descriptor;
+		private final String type;
+		private final String id;
+		private final Object object;
+		private final JsonNode relationships;
+
+		BoundResource(ResourceDescriptor descriptor, String type, String id, Object object, JsonNode relationships) {
+			this.descriptor = descriptor;
+			this.type = type;
+			this.id = id;
+			this.object = object;
+			this.relationships = relationships;
+		}
+
+		ResourceIdentifier getIdentifier() {
+			return new ResourceIdentifier(type, id);
+		}
+	}
+
+	/**
+	 * Included resource kept as buffered tokens until it is referred to.
+	 */
+	private class DeferredTokens extends DeferredResource {
+		private final TokenBuffer tokens;
+		private final DeserializationSettings settings;
+		private JsonNode relationships;
+
+		DeferredTokens(ResourceIdentifier identifier, ResourceDescriptor descriptor, TokenBuffer tokens,
+					   DeserializationSettings settings) {
+			super(identifier, descriptor);
+			this.tokens = tokens;
+			this.settings = settings;
+		}
+
+		@Override
+		Object bind() throws IOException, IllegalAccessException, InstantiationException {
+			try (JsonParser parser = tokens.asParser()) {
+				parser.nextToken();
+
+				BoundResource resource = readResource(parser, getDescriptor().getResourceClass(), settings);
+				relationships = resource.relationships;
+
+				return resource.object;
+			}
+		}
+
+		@Override
+		JsonNode getRelationships() {
+			return relationships;
+		}
+	}
+
+	/**
+	 * Top-level members of a document read from the token stream.
+	 */
+	private static class Document {
+		private final List<BoundResource> data = new ArrayList<>();
+		private final List<BoundResource> included = new ArrayList<>();
+		private final List<DeferredResource> deferred = new ArrayList<>();
+		private final DeserializationSettings settings;
+		private JsonNode links;
+		private Object meta;
+
+		Document(DeserializationSettings settings) {
+			this.settings = settings;
+		}
+	}
+}
@@ -0,0 +1,551 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.github.jasminb.jsonapi.JSONAPISpecConstants.*;
+
+/**
+ * Token-streaming write engine used by {@link ResourceConverter} when
+ * {@link SerializationFeature#USE_STREAMING_GENERATOR} is enabled.
+ * <p>
+ * Resources are written to a {@link JsonGenerator} in a single pass. Attributes are written by the property writers
+ * of the bean serializer that the object mapper would use for the resource class, skipping properties that hold the
+ * id, meta and relationships, so those are never serialized only to be thrown away.
+ * </p>
+ * <p>
+ * Classes whose serialization cannot be split into properties (custom serializers, polymorphic type information,
+ * object ids, any-getters, filters or active views) fall back to the tree-based attribute conversion, so output is
+ * the same as that of the tree-based writer.
+ * </p>
+ */
+class StreamingWriter {
+	/**
+	 * Marks classes whose attributes are converted using the tree-based writer.
+	 */
+	private static final AttributeLayout TREE_LAYOUT = new AttributeLayout(null, null);
+
+	private final ResourceConverter converter;
+	private final ObjectMapper objectMapper;
+	private final ConcurrentMap<Class<?>, AttributeLayout> layouts = new ConcurrentHashMap<>();
+
+	StreamingWriter(ResourceConverter converter, ObjectMapper objectMapper) {
+		this.converter = converter;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Writes document holding given primary data.
+	 * @param generator generator
+	 * @param data single resource or an {@link Iterable} of resources
+	 * @param collection <code>true</code> if data is a collection of resources
+	 */
+	void writeDocument(JsonGenerator generator, Object data, boolean collection)
+			throws IOException, IllegalAccessException {
+		writeDocument(generator, data, collection, null);
+	}
+
+	/**
+	 * Writes document holding given primary data, using given per-document settings.
+	 * @param generator generator
+	 * @param data single resource or an {@link Iterable} of resources
+	 * @param collection <code>true</code> if data is a collection of resources
+	 * @param settings per-document settings, {@code null} for defaults
+	 */
+	void writeDocument(JsonGenerator generator, Object data, boolean collection, SerializationSettings settings)
+			throws IOException, IllegalAccessException {
+		configure(generator);
+
+		SerializerProvider provider = createProvider();
+
+		generator.writeStartObject();
+
+		if (collection) {
+			generator.writeArrayFieldStart(DATA);
+
+			for (Object object : (Iterable<?>) data) {
+				writeResource(generator, provider, object, settings);
+			}
+
+			generator.writeEndArray();
+		} else {
+			generator.writeFieldName(DATA);
+			writeResource(generator, provider, data, settings);
+		}
+
+		if (settings != null && settings.hasIncluded()) {
+			writeIncluded(generator, provider, collection ? (Iterable<?>) data : Collections.singletonList(data),
+					settings);
+		}
+
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Writes single resource object.
+	 * @param generator generator
+	 * @param provider provider used to serialize attributes
+	 * @param object resource
+	 */
+	void writeResource(JsonGenerator generator, SerializerProvider provider, Object object)
+			throws IOException, IllegalAccessException {
+		writeResource(generator, provider, object, null);
+	}
+
+	/**
+	 * Writes single resource object, limited to the sparse fieldset of its type.
+	 * @param generator generator
+	 * @param provider provider used to serialize attributes
+	 * @param object resource
+	 * @param settings per-document settings, {@code null} for defaults
+	 */
+	private void writeResource(JsonGenerator generator, SerializerProvider provider, Object object,
+							   SerializationSettings settings) throws IOException, IllegalAccessException {
+		ResourceDescriptor descriptor = converter.getDescriptor(object.getClass());
+		Set<String> fields = settings != null ? settings.getFields(descriptor.getTypeName()) : null;
+
+		generator.writeStartObject();
+		generator.writeStringField(TYPE, descriptor.getTypeName());
+
+		String resourceId = descriptor.getId(object);
+		if (resourceId != null) {
+			generator.writeStringField(ID, resourceId);
+		}
+
+		generator.writeFieldName(ATTRIBUTES);
+		writeAttributes(generator, provider, object, descriptor, fields);
+
+		writeRelationships(generator, object, descriptor, fields);
+
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Configures generator the same way the object mapper configures generators it writes to.
+	 * @param generator generator
+	 */
+	void configure(JsonGenerator generator) {
+		SerializationConfig config = objectMapper.getSerializationConfig();
+
+		if (config.isEnabled(com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT) &&
+				generator.getPrettyPrinter() == null) {
+			generator.setPrettyPrinter(config.constructDefaultPrettyPrinter());
+		}
+	}
+
+	/**
+	 * Creates serializer provider instance for a single document.
+	 * @return provider
+	 */
+	SerializerProvider createProvider() {
+		return ((DefaultSerializerProvider) objectMapper.getSerializerProvider())
+				.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
+	}
+
+	private void writeAttributes(JsonGenerator generator, SerializerProvider provider, Object object,
+								 ResourceDescriptor descriptor, Set<String> fields)
+			throws IOException, IllegalAccessException {
+		AttributeLayout layout = provider.getActiveView() == null ? getLayout(provider, descriptor) : TREE_LAYOUT;
+
+		if (layout == TREE_LAYOUT) {
+			ObjectNode attributesNode = converter.getAttributesNode(object, descriptor);
+
+			if (fields != null) {
+				attributesNode.retain(fields);
+			}
+
+			generator.writeTree(attributesNode);
+			return;
+		}
+
+		generator.writeStartObject();
+
+		for (int i = 0; i < layout.properties.length; i++) {
+			RelationshipDescriptor relationship = layout.relationships[i];
+
+			if (fields != null && !fields.contains(layout.properties[i].getName())) {
+				continue;
+			}
+
+			// Relationships are written as attributes only while not set
+			if (relationship != null && relationship.get(object) != null) {
+				continue;
+			}
+
+			try {
+				layout.properties[i].serializeAsField(object, generator, provider);
+			} catch (IOException | RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw JsonMappingException.from(generator, e.getMessage(), e);
+			}
+		}
+
+		generator.writeEndObject();
+	}
+
+	private void writeRelationships(JsonGenerator generator, Object object, ResourceDescriptor descriptor,
+									Set<String> fields) throws IOException, IllegalAccessException {
+		boolean started = false;
+
+		for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+			// In case serialisation is disabled for a given relationship, skip it
+			if (!relationship.isSerialise()) {
+				continue;
+			}
+
+			if (fields != null && !fields.contains(relationship.getName())) {
+				continue;
+			}
+
+			Object relationshipObject = relationship.get(object);
+
+			if (relationshipObject == null) {
+				continue;
+			}
+
+			if (!started) {
+				generator.writeObjectFieldStart(RELATIONSHIPS);
+				started = true;
+			}
+
+			generator.writeObjectFieldStart(relationship.getName());
+
+			if (LazyResourceList.isUnresolved(relationshipObject)) {
+				// Writing must not resolve the relationship, only its link is known
+				generator.writeObjectFieldStart(LINKS);
+				generator.writeStringField(relationship.getRelType().getRelName(),
+						((LazyResourceList<?>) relationshipObject).getLink());
+				generator.writeEndObject();
+				generator.writeEndObject();
+				continue;
+			}
+
+			generator.writeFieldName(DATA);
+
+			if (relationshipObject instanceof List) {
+				generator.writeStartArray();
+
+				for (Object element : (List<?>) relationshipObject) {
+					writeIdentifier(generator, element);
+				}
+
+				generator.writeEndArray();
+			} else {
+				writeIdentifier(generator, relationshipObject);
+			}
+
+			generator.writeEndObject();
+		}
+
+		if (started) {
+			generator.writeEndObject();
+		}
+	}
+
+	/**
+	 * Writes the <code>included</code> section, walking relationships of primary resources breadth-first. Each related
+	 * resource is written once, no matter how many times it is referenced, and resources that are part of primary data
+	 * are never repeated. Walk stops once a resource has been visited at a given include node, so cyclic graphs
+	 * terminate.
+	 * @param generator generator
+	 * @param provider provider used to serialize attributes
+	 * @param primaries primary resources
+	 * @param settings per-document settings
+	 */
+	private void writeIncluded(JsonGenerator generator, SerializerProvider provider, Iterable<?> primaries,
+							   SerializationSettings settings) throws IOException, IllegalAccessException {
+		IncludeNode root = IncludeNode.create(settings);
+		Set<ResourceIdentifier> written = new HashSet<>();
+		Set<Visit> visited = new HashSet<>();
+		Deque<Visit> queue = new ArrayDeque<>();
+
+		for (Object primary : primaries) {
+			ResourceIdentifier identifier = getIdentifier(primary);
+
+			Visit visit = new Visit(primary, identifier, root);
+
+			if (identifier != null) {
+				written.add(identifier);
+				visited.add(visit);
+			}
+
+			queue.add(visit);
+		}
+
+		boolean started = false;
+
+		while (!queue.isEmpty()) {
+			Visit visit = queue.poll();
+			ResourceDescriptor descriptor = converter.getDescriptor(visit.resource.getClass());
+
+			for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+				IncludeNode node = visit.node.getChild(relationship.getName());
+
+				// Relationships that are not serialised have no linkage that included resources could be matched to
+				if (node == null || !relationship.isSerialise()) {
+					continue;
+				}
+
+				Object relationshipObject = relationship.get(visit.resource);
+
+				// Resources of unresolved lazy relationships are not known without calling the resolver
+				if (relationshipObject == null || LazyResourceList.isUnresolved(relationshipObject)) {
+					continue;
+				}
+
+				Iterable<?> elements = relationshipObject instanceof List ? (List<?>) relationshipObject :
+						Collections.singletonList(relationshipObject);
+
+				for (Object element : elements) {
+					ResourceIdentifier identifier = getIdentifier(element);
+
+					// Resources without id cannot be referenced from relationships
+					if (identifier == null) {
+						continue;
+					}
+
+					if (written.add(identifier)) {
+						if (!started) {
+							generator.writeArrayFieldStart(INCLUDED);
+							started = true;
+						}
+
+						writeResource(generator, provider, element, settings);
+					}
+
+					Visit next = new Visit(element, identifier, node);
+
+					if (node.hasChildren() && visited.add(next)) {
+						queue.add(next);
+					}
+				}
+			}
+		}
+
+		if (started) {
+			generator.writeEndArray();
+		}
+	}
+
+	private ResourceIdentifier getIdentifier(Object object) throws IllegalAccessException {
+		ResourceDescriptor descriptor = converter.getDescriptor(object.getClass());
+		String resourceId = descriptor.getId(object);
+
+		return resourceId != null ? new ResourceIdentifier(descriptor.getTypeName(), resourceId) : null;
+	}
+
+	private void writeIdentifier(JsonGenerator generator, Object object) throws IOException, IllegalAccessException {
+		ResourceDescriptor descriptor = converter.getDescriptor(object.getClass());
+
+		generator.writeStartObject();
+		generator.writeStringField(TYPE, descriptor.getTypeName());
+		generator.writeStringField(ID, descriptor.getId(object));
+		generator.writeEndObject();
+	}
+
+	private AttributeLayout getLayout(SerializerProvider provider, ResourceDescriptor descriptor)
+			throws JsonMappingException {
+		AttributeLayout layout = layouts.get(descriptor.getResourceClass());
+
+		if (layout == null) {
+			layout = createLayout(provider, descriptor);
+
+			AttributeLayout existing = layouts.putIfAbsent(descriptor.getResourceClass(), layout);
+			if (existing != null) {
+				layout = existing;
+			}
+		}
+
+		return layout;
+	}
+
+	/**
+	 * Finds property writers used to serialize attributes of given resource type.
+	 * @return attribute layout or {@link #TREE_LAYOUT} in case attributes cannot be written property by property
+	 */
+	private AttributeLayout createLayout(SerializerProvider provider, ResourceDescriptor descriptor)
+			throws JsonMappingException {
+		JavaType type = provider.constructType(descriptor.getResourceClass());
+		JsonSerializer<Object> serializer = provider.findValueSerializer(type, null);
+
+		// Only plain bean serializers write the properties they expose, in the order they expose them
+		if (serializer.getClass() != BeanSerializer.class || serializer.usesObjectId() ||
+				provider.findTypeSerializer(type) != null) {
+			return TREE_LAYOUT;
+		}
+
+		BeanDescription bean = provider.getConfig().introspect(type);
+
+		if (bean.findAnyGetter() != null ||
+				provider.getAnnotationIntrospector().findFilterId(bean.getClassInfo()) != null) {
+			return TREE_LAYOUT;
+		}
+
+		String idName = descriptor.getIdField().getName();
+		Field metaField = descriptor.getMetaField();
+		String metaName = metaField != null ? metaField.getName() : null;
+
+		List<PropertyWriter> properties = new ArrayList<>();
+		List<RelationshipDescriptor> relationships = new ArrayList<>();
+
+		Iterator<PropertyWriter> writers = serializer.properties();
+
+		while (writers.hasNext()) {
+			PropertyWriter writer = writers.next();
+			String name = writer.getName();
+
+			if (name.equals(idName) || name.equals(metaName)) {
+				continue;
+			}
+
+			RelationshipDescriptor relationship = null;
+
+			for (RelationshipDescriptor candidate : descriptor.getRelationships()) {
+				if (candidate.getField().getName().equals(name)) {
+					relationship = candidate;
+					break;
+				}
+			}
+
+			properties.add(writer);
+			relationships.add(relationship);
+		}
+
+		return new AttributeLayout(properties.toArray(new PropertyWriter[properties.size()]),
+				relationships.toArray(new RelationshipDescriptor[relationships.size()]));
+	}
+
+	/**
+	 * Node of the tree of relationships whose resources are included. Children of a node are either keyed by
+	 * relationship name (include paths) or shared by all relationships (include depth).
+	 */
+	private static class IncludeNode {
+		private final Map<String, IncludeNode> children = new HashMap<>();
+		private final int depth;
+		private final IncludeNode scope;
+		private IncludeNode next;
+
+		private IncludeNode(int depth, IncludeNode scope) {
+			this.depth = depth;
+			this.scope = scope != null ? scope : this;
+		}
+
+		static IncludeNode create(SerializationSettings settings) {
+			IncludeNode root = new IncludeNode(settings.getIncludedDepth(), null);
+
+			for (String path : settings.getIncludedPaths()) {
+				IncludeNode node = root;
+
+				for (String name : path.split("\\.")) {
+					IncludeNode child = node.children.get(name);
+
+					if (child == null) {
+						child = new IncludeNode(0, null);
+						node.children.put(name, child);
+					}
+
+					node = child;
+				}
+			}
+
+			return root;
+		}
+
+		IncludeNode getChild(String relationship) {
+			if (depth > 0) {
+				// Levels are created as the walk reaches them, depth may be far larger than the graph
+				if (next == null) {
+					next = new IncludeNode(depth - 1, scope);
+				}
+				return next;
+			}
+
+			return children.get(relationship);
+		}
+
+		boolean hasChildren() {
+			return depth > 0 || !children.isEmpty();
+		}
+
+		/**
+		 * Returns node that visits are deduplicated by. All levels of a depth walk share the same scope: walk is
+		 * breadth-first, so the first visit of a resource is also the one with most levels left below it.
+		 * @return scope node
+		 */
+		IncludeNode getScope() {
+			return scope;
+		}
+	}
+
+	/**
+	 * Resource reached at a given include node. Visits are equal when they reach the same resource in the same scope.
+	 */
+	private static class Visit {
+		private final Object resource;
+		private final ResourceIdentifier identifier;
+		private final IncludeNode node;
+
+		Visit(Object resource, ResourceIdentifier identifier, IncludeNode node) {
+			this.resource = resource;
+			this.identifier = identifier;
+			this.node = node;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Visit)) {
+				return false;
+			}
+			Visit visit = (Visit) o;
+			return node.getScope() == visit.node.getScope() && Objects.equals(identifier, visit.identifier);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(node.getScope()) + Objects.hashCode(identifier);
+		}
+	}
+
+	/**
+	 * Property writers of attributes of a resource type, together with relationships held by those properties.
+	 */
+	private static class AttributeLayout {
+		private final PropertyWriter[] properties;
+		private final RelationshipDescriptor[] relationships;
+
+		AttributeLayout(PropertyWriter[] properties, RelationshipDescriptor[] relationships) {
+			this.properties = properties;
+			this.relationships = relationships;
+		}
+	}
+}
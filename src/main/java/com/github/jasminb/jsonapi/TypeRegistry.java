@@ -0,0 +1,184 @@
+package com.github.jasminb.jsonapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable registry of resource classes known to a {@link ResourceConverter}.
+ * <p>
+ * Registry is fully built before it is published and never modified afterwards, so it can be read from any number of
+ * threads without locking. Descriptors are compiled once per class and registries are shared between converters
+ * created with the same classes in the same order, so creating many converters does not repeat the work. Order
+ * matters because classes registered later take precedence when multiple classes use the same type name.
+ * </p>
+ * <p>
+ * Descriptors are attached to the class they describe. A registry is attached to one of its classes whose class
+ * loader delegates to the loaders of all other registered classes, so it never keeps classes of a loader alive
+ * that could otherwise be unloaded before that class. In case classes come from unrelated loaders, no such class
+ * exists and the registry is not cached.
+ * </p>
+ */
+final class TypeRegistry {
+	private static final TypeRegistry EMPTY = new TypeRegistry(Collections.<Class<?>>emptyList());
+
+	private static final ClassValue<ResourceDescriptor> DESCRIPTORS = new ClassValue<ResourceDescriptor>() {
+		@Override
+		protected ResourceDescriptor computeValue(Class<?> type) {
+			return ResourceDescriptor.compile(type);
+		}
+	};
+
+	private static final ClassValue<ConcurrentMap<List<Class<?>>, TypeRegistry>> REGISTRIES =
+			new ClassValue<ConcurrentMap<List<Class<?>>, TypeRegistry>>() {
+		@Override
+		protected ConcurrentMap<List<Class<?>>, TypeRegistry> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final Map<Class<?>, ResourceDescriptor> descriptors;
+	private final Map<String, ResourceDescriptor> typeDescriptors;
+	private final Set<Class<?>> relationshipTargets;
+
+	private TypeRegistry(List<Class<?>> classes) {
+		Map<Class<?>, ResourceDescriptor> byClass = new HashMap<>();
+		Map<String, ResourceDescriptor> byType = new HashMap<>();
+		Set<Class<?>> targets = new HashSet<>();
+
+		for (Class<?> clazz : classes) {
+			ResourceDescriptor descriptor = DESCRIPTORS.get(clazz);
+			byClass.put(clazz, descriptor);
+
+			// Last class registered under a type name wins
+			byType.put(descriptor.getTypeName(), descriptor);
+
+			for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+				if (relationship.getTargetType() != null) {
+					targets.add(relationship.getTargetType());
+				}
+			}
+		}
+
+		this.descriptors = Collections.unmodifiableMap(byClass);
+		this.typeDescriptors = Collections.unmodifiableMap(byType);
+		this.relationshipTargets = Collections.unmodifiableSet(targets);
+	}
+
+	/**
+	 * Returns registry holding given classes, reusing existing one if available.
+	 * @param classes resource classes
+	 * @return registry
+	 * @throws IllegalArgumentException in case any of the classes is not a valid resource class
+	 */
+	static TypeRegistry of(Class<?>... classes) {
+		if (classes.length == 0) {
+			return EMPTY;
+		}
+
+		List<Class<?>> key = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(classes)));
+		Class<?> owner = findOwner(key);
+
+		if (owner == null) {
+			return new TypeRegistry(key);
+		}
+
+		ConcurrentMap<List<Class<?>>, TypeRegistry> registries = REGISTRIES.get(owner);
+		TypeRegistry registry = registries.get(key);
+
+		if (registry == null) {
+			registry = new TypeRegistry(key);
+
+			TypeRegistry existing = registries.putIfAbsent(key, registry);
+			if (existing != null) {
+				registry = existing;
+			}
+		}
+
+		return registry;
+	}
+
+	/**
+	 * Finds registered class whose class loader delegates to the loaders of all other registered classes.
+	 * @param classes registered classes
+	 * @return class the registry can be attached to, or <code>null</code> if there is none
+	 */
+	private static Class<?> findOwner(List<Class<?>> classes) {
+		for (Class<?> candidate : classes) {
+			boolean delegates = true;
+
+			for (Class<?> clazz : classes) {
+				if (!isAncestor(clazz.getClassLoader(), candidate.getClassLoader())) {
+					delegates = false;
+					break;
+				}
+			}
+
+			if (delegates) {
+				return candidate;
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isAncestor(ClassLoader ancestor, ClassLoader loader) {
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == ancestor) {
+				return true;
+			}
+		}
+
+		// Bootstrap loader is an ancestor of all loaders
+		return ancestor == null;
+	}
+
+	/**
+	 * Returns descriptor of given registered type.
+	 * @param type registered type
+	 * @return descriptor or <code>null</code> in case type is not registered
+	 */
+	ResourceDescriptor getDescriptor(Class<?> type) {
+		return descriptors.get(type);
+	}
+
+	/**
+	 * Returns descriptor of the type registered under given JSON API type name.
+	 * @param typeName type name
+	 * @return descriptor or <code>null</code> in case type is not registered
+	 */
+	ResourceDescriptor getDescriptor(String typeName) {
+		return typeDescriptors.get(typeName);
+	}
+
+	/**
+	 * Checks if given type is registered.
+	 * @param type class to check
+	 * @return <code>true</code> if type is registered, else <code>false</code>
+	 */
+	boolean isRegistered(Class<?> type) {
+		return descriptors.containsKey(type);
+	}
+
+	/**
+	 * Checks if resources of given type can be referred to by a relationship of any registered type.
+	 * @param type class to check
+	 * @return <code>true</code> if a relationship targets given type, its super type or one of its subtypes
+	 */
+	boolean isRelationshipTarget(Class<?> type) {
+		for (Class<?> target : relationshipTargets) {
+			if (target.isAssignableFrom(type) || type.isAssignableFrom(target)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
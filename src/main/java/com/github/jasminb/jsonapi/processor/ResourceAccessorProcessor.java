@@ -0,0 +1,330 @@
+package com.github.jasminb.jsonapi.processor;
+
+import com.github.jasminb.jsonapi.ResourceAccessor;
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Links;
+import com.github.jasminb.jsonapi.annotations.Meta;
+import com.github.jasminb.jsonapi.annotations.Relationship;
+import com.github.jasminb.jsonapi.annotations.Type;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a {@link ResourceAccessor} for each class annotated with {@link Type}.
+ * <p>
+ * Generated accessors access <code>@Id</code>, <code>@Relationship</code>, <code>@Links</code> and
+ * <code>@Meta</code> fields directly, or through their getters and setters in case fields are not visible from the
+ * resource package. Resource classes that cannot be handled this way (private or abstract classes, classes without
+ * a visible no-argument constructor, fields without visible accessor methods) are reported with a note and left to
+ * reflective access.
+ * </p>
+ * <p>
+ * Processor is not part of the main library artifact, so depending on the library does not enable it. It is
+ * published as a separate artifact with the <code>processor</code> classifier, registered as a service there, and is
+ * enabled by adding that artifact (together with the library) to the annotation processor path of the compiler.
+ * </p>
+ */
+@SupportedAnnotationTypes("com.github.jasminb.jsonapi.annotations.Type")
+public class ResourceAccessorProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(Type.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				continue;
+			}
+
+			TypeElement type = (TypeElement) element;
+
+			try {
+				generate(type, collectFields(type));
+			} catch (UnsupportedResourceException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Resource accessor not generated, " +
+						type.getQualifiedName() + " will be accessed reflectively: " + e.getMessage(), type);
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write resource accessor " +
+						"for " + type.getQualifiedName() + ": " + e.getMessage(), type);
+			}
+		}
+
+		// Type annotation is left to other processors
+		return false;
+	}
+
+	/**
+	 * Collects annotated fields of given class and its superclasses, resolving how each of them is accessed.
+	 * @param type resource class
+	 * @return annotated fields
+	 * @throws UnsupportedResourceException in case accessor cannot be generated for given class
+	 */
+	private List<AccessedField> collectFields(TypeElement type) throws UnsupportedResourceException {
+		checkInstantiable(type);
+
+		List<AccessedField> result = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+
+		TypeElement current = type;
+		while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				if (!isAnnotated(field)) {
+					continue;
+				}
+
+				String name = field.getSimpleName().toString();
+
+				if (field.getModifiers().contains(Modifier.STATIC)) {
+					throw new UnsupportedResourceException("field '" + name + "' is static");
+				}
+
+				if (!names.add(name)) {
+					throw new UnsupportedResourceException("field '" + name + "' is hidden by a subclass field");
+				}
+
+				result.add(resolveAccess(type, field));
+			}
+
+			TypeMirror superclass = current.getSuperclass();
+			current = superclass.getKind() == TypeKind.DECLARED ?
+					(TypeElement) ((DeclaredType) superclass).asElement() : null;
+		}
+
+		return result;
+	}
+
+	private void checkInstantiable(TypeElement type) throws UnsupportedResourceException {
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			throw new UnsupportedResourceException("class is abstract");
+		}
+
+		if (!type.getTypeParameters().isEmpty()) {
+			throw new UnsupportedResourceException("class is generic");
+		}
+
+		for (Element enclosing = type; enclosing.getKind().isClass(); enclosing = enclosing.getEnclosingElement()) {
+			TypeElement enclosingType = (TypeElement) enclosing;
+
+			if (enclosingType.getModifiers().contains(Modifier.PRIVATE)) {
+				throw new UnsupportedResourceException("class is not visible from its package");
+			}
+
+			if (enclosingType.getNestingKind() == NestingKind.MEMBER) {
+				if (!enclosingType.getModifiers().contains(Modifier.STATIC)) {
+					throw new UnsupportedResourceException("class is an inner class");
+				}
+			} else if (enclosingType.getNestingKind() != NestingKind.TOP_LEVEL) {
+				throw new UnsupportedResourceException("class is a local class");
+			}
+		}
+
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return;
+			}
+		}
+
+		throw new UnsupportedResourceException("class has no visible no-argument constructor");
+	}
+
+	private boolean isAnnotated(VariableElement field) {
+		return field.getAnnotation(Id.class) != null || field.getAnnotation(Relationship.class) != null ||
+				field.getAnnotation(Links.class) != null || field.getAnnotation(Meta.class) != null;
+	}
+
+	/**
+	 * Resolves expressions reading and writing given field, preferring direct field access.
+	 */
+	private AccessedField resolveAccess(TypeElement type, VariableElement field) throws UnsupportedResourceException {
+		String name = field.getSimpleName().toString();
+		TypeMirror fieldType = processingEnv.getTypeUtils().erasure(field.asType());
+		boolean fieldVisible = isVisible(type, field);
+
+		String read = fieldVisible ? "resource." + name : null;
+		String write = fieldVisible && !field.getModifiers().contains(Modifier.FINAL) ? "resource." + name + " = %s" :
+				null;
+
+		String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			if (method.getModifiers().contains(Modifier.STATIC) || !isVisible(type, method)) {
+				continue;
+			}
+
+			String methodName = method.getSimpleName().toString();
+			List<? extends VariableElement> parameters = method.getParameters();
+
+			if (read == null && parameters.isEmpty() && (methodName.equals("get" + property) ||
+					methodName.equals("is" + property)) && isSameType(method.getReturnType(), fieldType)) {
+				read = "resource." + methodName + "()";
+			}
+
+			if (write == null && parameters.size() == 1 && methodName.equals("set" + property) &&
+					isSameType(parameters.get(0).asType(), fieldType)) {
+				write = "resource." + methodName + "(%s)";
+			}
+		}
+
+		if (read == null || write == null) {
+			throw new UnsupportedResourceException("field '" + name + "' is not visible and has no visible getter " +
+					"and setter");
+		}
+
+		return new AccessedField(name, castType(fieldType), read, write);
+	}
+
+	private boolean isVisible(TypeElement type, Element member) {
+		Set<Modifier> modifiers = member.getModifiers();
+
+		if (modifiers.contains(Modifier.PUBLIC)) {
+			return true;
+		}
+
+		return !modifiers.contains(Modifier.PRIVATE) && getPackage(member).equals(getPackage(type));
+	}
+
+	private boolean isSameType(TypeMirror type, TypeMirror erasedFieldType) {
+		return processingEnv.getTypeUtils().isSameType(processingEnv.getTypeUtils().erasure(type), erasedFieldType);
+	}
+
+	private String castType(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+		}
+
+		return type.toString();
+	}
+
+	private String getPackage(Element element) {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+		return packageElement.getQualifiedName().toString();
+	}
+
+	private void generate(TypeElement type, List<AccessedField> fields) throws IOException {
+		String packageName = getPackage(type);
+		String resourceName = type.getQualifiedName().toString();
+		String nestedName = packageName.isEmpty() ? resourceName : resourceName.substring(packageName.length() + 1);
+		String accessorName = nestedName.replace('.', '_') + ResourceAccessor.SUFFIX;
+		String qualifiedAccessorName = packageName.isEmpty() ? accessorName : packageName + "." + accessorName;
+
+		try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedAccessorName, type)
+				.openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+
+			out.println("/**");
+			out.println(" * Resource accessor for {@link " + resourceName + "}, generated by " +
+					ResourceAccessorProcessor.class.getSimpleName() + ".");
+			out.println(" */");
+			out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+			out.println("public final class " + accessorName + " implements " + ResourceAccessor.class.getName() +
+					"<" + resourceName + "> {");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic " + resourceName + " newInstance() {");
+			out.println("\t\treturn new " + resourceName + "();");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic int slot(String field) {");
+			out.println("\t\tswitch (field) {");
+			for (int slot = 0; slot < fields.size(); slot++) {
+				out.println("\t\t\tcase \"" + fields.get(slot).name + "\":");
+				out.println("\t\t\t\treturn " + slot + ";");
+			}
+			out.println("\t\t\tdefault:");
+			out.println("\t\t\t\tthrow new IllegalArgumentException(\"Field '\" + field + \"' is not accessible " +
+					"through " + accessorName + "\");");
+			out.println("\t\t}");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic Object get(" + resourceName + " resource, int slot) {");
+			out.println("\t\tswitch (slot) {");
+			for (int slot = 0; slot < fields.size(); slot++) {
+				out.println("\t\t\tcase " + slot + ":");
+				out.println("\t\t\t\treturn " + fields.get(slot).read + ";");
+			}
+			out.println("\t\t\tdefault:");
+			out.println("\t\t\t\tthrow unknownSlot(slot);");
+			out.println("\t\t}");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic void set(" + resourceName + " resource, int slot, Object value) {");
+			out.println("\t\tswitch (slot) {");
+			for (int slot = 0; slot < fields.size(); slot++) {
+				AccessedField field = fields.get(slot);
+				out.println("\t\t\tcase " + slot + ":");
+				out.println("\t\t\t\t" + String.format(field.write, "(" + field.type + ") value") + ";");
+				out.println("\t\t\t\tbreak;");
+			}
+			out.println("\t\t\tdefault:");
+			out.println("\t\t\t\tthrow unknownSlot(slot);");
+			out.println("\t\t}");
+			out.println("\t}");
+			out.println();
+			out.println("\tprivate static IllegalArgumentException unknownSlot(int slot) {");
+			out.println("\t\treturn new IllegalArgumentException(\"Slot \" + slot + \" is not accessible through " +
+					accessorName + "\");");
+			out.println("\t}");
+			out.println("}");
+		}
+	}
+
+	/**
+	 * Annotated field together with expressions used to access it.
+	 */
+	private static class AccessedField {
+		private final String name;
+		private final String type;
+		private final String read;
+		private final String write;
+
+		AccessedField(String name, String type, String read, String write) {
+			this.name = name;
+			this.type = type;
+			this.read = read;
+			this.write = write;
+		}
+	}
+
+	/**
+	 * Thrown in case accessor cannot be generated for a resource class.
+	 */
+	private static class UnsupportedResourceException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedResourceException(String message) {
+			super(message);
+		}
+	}
+}
@@ -24,10 +24,14 @@ public class JSONAPIResponseBodyConverter<T> implements Converter<ResponseBody,
 
 	@Override
 	public T convert(ResponseBody responseBody) throws IOException {
-		if (isCollection) {
-			return (T) parser.readObjectCollection(responseBody.bytes(), clazz);
-		} else {
-			return (T) parser.readObject(responseBody.bytes(), clazz);
+		try {
+			if (isCollection) {
+				return (T) parser.readObjectCollection(responseBody.byteStream(), clazz);
+			} else {
+				return (T) parser.readObject(responseBody.byteStream(), clazz);
+			}
+		} finally {
+			responseBody.close();
 		}
 	}
 }
@@ -0,0 +1,260 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Relationship;
+import com.github.jasminb.jsonapi.annotations.Type;
+import com.github.jasminb.jsonapi.models.User;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Testing functionality of asynchronous relationship resolution against a server with artificial latency.
+ */
+public class AsyncRelationshipResolverTest {
+	private static final long LATENCY = 300;
+
+	private MockWebServer server;
+	private ExecutorService executor;
+	private ResourceConverter converter;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	private final AtomicInteger requests = new AtomicInteger();
+
+	@Before
+	public void setup() throws IOException {
+		server = new MockWebServer();
+		server.setDispatcher(new Dispatcher() {
+			@Override
+			public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+				int current = inFlight.incrementAndGet();
+				requests.incrementAndGet();
+
+				synchronized (maxInFlight) {
+					maxInFlight.set(Math.max(maxInFlight.get(), current));
+				}
+
+				try {
+					Thread.sleep(LATENCY);
+				} finally {
+					inFlight.decrementAndGet();
+				}
+
+				String id = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+
+				return new MockResponse().setResponseCode(200).setBody("{\"data\": {\"type\": \"users\", " +
+						"\"id\": \"" + id + "\", \"attributes\": {\"name\": \"user " + id + "\"}}}");
+			}
+		});
+		server.start();
+
+		executor = Executors.newCachedThreadPool();
+
+		converter = new ResourceConverter(Dashboard.class, User.class);
+		converter.setGlobalAsyncResolver(new AsyncRelationshipResolver() {
+			@Override
+			public CompletableFuture<byte[]> resolve(final String relationshipURL) {
+				return CompletableFuture.supplyAsync(new Supplier<byte[]>() {
+					@Override
+					public byte[] get() {
+						try (InputStream input = new URL(relationshipURL).openStream()) {
+							return org.apache.commons.io.IOUtils.toByteArray(input);
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					}
+				}, executor);
+			}
+		});
+	}
+
+	@After
+	public void destroy() throws IOException {
+		executor.shutdownNow();
+		server.shutdown();
+	}
+
+	@Test
+	public void testRelationshipsFetchedConcurrently() {
+		long start = System.nanoTime();
+		Dashboard dashboard = converter.readObject(createDashboard(), Dashboard.class);
+		long elapsed = (System.nanoTime() - start) / 1000000;
+
+		assertResolved(dashboard);
+		Assert.assertEquals(4, maxInFlight.get());
+
+		// Sequential resolution would take at least four times the latency
+		Assert.assertTrue("Took " + elapsed + " ms", elapsed < 3 * LATENCY);
+	}
+
+	@Test
+	public void testConcurrencyLimit() {
+		converter.setMaxConcurrentResolutions(2);
+
+		long start = System.nanoTime();
+		Dashboard dashboard = converter.readObject(createDashboard(), Dashboard.class);
+		long elapsed = (System.nanoTime() - start) / 1000000;
+
+		assertResolved(dashboard);
+		Assert.assertEquals(2, maxInFlight.get());
+		Assert.assertTrue("Took " + elapsed + " ms", elapsed >= 2 * LATENCY);
+	}
+
+	@Test
+	public void testSameLinkFetchedOnce() {
+		String document = "{\"data\": {\"type\": \"dashboards\", \"id\": \"1\", \"relationships\": {" +
+				"\"owner\": {\"links\": {\"related\": \"" + server.url("/users/1") + "\"}}, " +
+				"\"editor\": {\"links\": {\"related\": \"" + server.url("/users/1") + "\"}}}}}";
+
+		Dashboard dashboard = converter.readObject(document.getBytes(), Dashboard.class);
+
+		Assert.assertEquals("user 1", dashboard.owner.getName());
+		Assert.assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testRelationshipsOfAllElementsFetchedConcurrently() {
+		StringBuilder document = new StringBuilder("{\"data\": [");
+
+		for (int i = 0; i < 4; i++) {
+			document.append(i == 0 ? "" : ", ").append("{\"type\": \"dashboards\", \"id\": \"").append(i)
+					.append("\", \"relationships\": {\"owner\": {\"links\": {\"related\": \"")
+					.append(server.url("/users/" + i)).append("\"}}}}");
+		}
+
+		byte [] collection = document.append("]}").toString().getBytes();
+
+		for (boolean streaming : new boolean[] {false, true}) {
+			if (streaming) {
+				converter.enableDeserializationOption(DeserializationFeature.USE_STREAMING_PARSER);
+			}
+
+			maxInFlight.set(0);
+
+			List<Dashboard> dashboards = converter.readObjectCollection(collection, Dashboard.class);
+
+			Assert.assertEquals("user 3", dashboards.get(3).owner.getName());
+			Assert.assertEquals(4, maxInFlight.get());
+		}
+	}
+
+	@Test
+	public void testInterruptWhileWaiting() throws Exception {
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final AtomicBoolean interrupted = new AtomicBoolean();
+
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					converter.readObject(createDashboard(), Dashboard.class);
+				} catch (RuntimeException e) {
+					failure.set(e);
+					interrupted.set(Thread.currentThread().isInterrupted());
+				}
+			}
+		});
+
+		reader.start();
+		Thread.sleep(LATENCY / 3);
+		reader.interrupt();
+		reader.join();
+
+		Assert.assertTrue(failure.get().getCause() instanceof InterruptedException);
+		Assert.assertTrue(interrupted.get());
+	}
+
+	@Test
+	public void testLimiterIssuesSynchronousResponsesIteratively() {
+		ResolutionLimiter limiter = new ResolutionLimiter(1);
+		final CompletableFuture<byte []> first = new CompletableFuture<>();
+		List<CompletableFuture<byte []>> responses = new ArrayList<>();
+
+		responses.add(limiter.submit(new Supplier<CompletableFuture<byte []>>() {
+			@Override
+			public CompletableFuture<byte []> get() {
+				return first;
+			}
+		}));
+
+		for (int i = 0; i < 100000; i++) {
+			responses.add(limiter.submit(new Supplier<CompletableFuture<byte []>>() {
+				@Override
+				public CompletableFuture<byte []> get() {
+					return CompletableFuture.completedFuture(new byte[0]);
+				}
+			}));
+		}
+
+		// Queued requests are issued once the first one completes, without growing the stack
+		Assert.assertFalse(responses.get(1).isDone());
+		first.complete(new byte[0]);
+
+		for (CompletableFuture<byte []> response : responses) {
+			Assert.assertTrue(response.isDone());
+		}
+	}
+
+	private byte [] createDashboard() {
+		StringBuilder document = new StringBuilder("{\"data\": {\"type\": \"dashboards\", \"id\": \"1\", " +
+				"\"relationships\": {");
+
+		String[] names = {"owner", "editor", "reviewer", "viewer"};
+
+		for (int i = 0; i < names.length; i++) {
+			if (i > 0) {
+				document.append(", ");
+			}
+			document.append("\"").append(names[i]).append("\": {\"links\": {\"related\": \"")
+					.append(server.url("/users/" + i)).append("\"}}");
+		}
+
+		return document.append("}}}").toString().getBytes();
+	}
+
+	private void assertResolved(Dashboard dashboard) {
+		Assert.assertEquals("user 0", dashboard.owner.getName());
+		Assert.assertEquals("user 1", dashboard.editor.getName());
+		Assert.assertEquals("user 2", dashboard.reviewer.getName());
+		Assert.assertEquals("user 3", dashboard.viewer.getName());
+		Assert.assertEquals(4, requests.get());
+	}
+
+	@Type("dashboards")
+	public static class Dashboard {
+		@Id
+		public String id;
+
+		@Relationship(value = "owner", resolve = true, relType = RelType.RELATED)
+		public User owner;
+
+		@Relationship(value = "editor", resolve = true, relType = RelType.RELATED)
+		public User editor;
+
+		@Relationship(value = "reviewer", resolve = true, relType = RelType.RELATED)
+		public User reviewer;
+
+		@Relationship(value = "viewer", resolve = true, relType = RelType.RELATED)
+		public User viewer;
+	}
+}
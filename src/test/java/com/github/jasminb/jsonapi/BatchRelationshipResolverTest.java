@@ -0,0 +1,136 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Relationship;
+import com.github.jasminb.jsonapi.annotations.Type;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Testing functionality of batch relationship resolution.
+ */
+public class BatchRelationshipResolverTest {
+	private static final String POSTS = "{\"data\": [" + post("1", "people/1") + ", " + post("2", "people/2") + ", " +
+			post("3", "people/1") + "]}";
+
+	private ResourceConverter converter;
+	private Map<String, String> documents;
+	private List<Set<String>> batches;
+
+	@Before
+	public void setup() {
+		documents = new HashMap<>();
+		documents.put("people/1", person("1", "companies/1"));
+		documents.put("people/2", person("2", "companies/1"));
+		documents.put("companies/1", "{\"data\": {\"type\": \"companies\", \"id\": \"1\", \"attributes\": " +
+				"{\"name\": \"acme\"}}}");
+
+		batches = new ArrayList<>();
+
+		converter = new ResourceConverter(Post.class, Person.class, Company.class);
+		converter.setBatchResolver(new BatchRelationshipResolver() {
+			@Override
+			public Map<String, byte[]> resolve(Set<String> relationshipURLs) {
+				batches.add(new HashSet<>(relationshipURLs));
+
+				Map<String, byte []> result = new HashMap<>();
+				for (String url : relationshipURLs) {
+					if (documents.containsKey(url)) {
+						result.put(url, documents.get(url).getBytes());
+					}
+				}
+				return result;
+			}
+		});
+	}
+
+	@Test
+	public void testResolveLevelsInBatches() {
+		assertResolved(converter.readObjectCollection(POSTS.getBytes(), Post.class));
+
+		converter.enableDeserializationOption(DeserializationFeature.USE_STREAMING_PARSER);
+		batches.clear();
+
+		assertResolved(converter.readObjectCollection(POSTS.getBytes(), Post.class));
+	}
+
+	@Test
+	public void testMissingDocumentsResolvedOneByOne() {
+		final List<String> resolved = new ArrayList<>();
+
+		converter.setGlobalResolver(new RelationshipResolver() {
+			@Override
+			public byte[] resolve(String relationshipURL) {
+				resolved.add(relationshipURL);
+				return person("2", "companies/1").getBytes();
+			}
+		});
+
+		documents.remove("people/2");
+
+		List<Post> posts = converter.readObjectCollection(POSTS.getBytes(), Post.class);
+
+		Assert.assertEquals("2", posts.get(1).author.id);
+		Assert.assertEquals("acme", posts.get(1).author.employer.name);
+		Assert.assertEquals(Arrays.asList("people/2"), resolved);
+	}
+
+	private void assertResolved(List<Post> posts) {
+		Assert.assertEquals(3, posts.size());
+		Assert.assertEquals("1", posts.get(0).author.id);
+		Assert.assertEquals("2", posts.get(1).author.id);
+		Assert.assertSame(posts.get(0).author, posts.get(2).author);
+		Assert.assertEquals("acme", posts.get(0).author.employer.name);
+		Assert.assertSame(posts.get(0).author.employer, posts.get(1).author.employer);
+
+		// One call per level of the graph: authors of all posts, then employers of all authors
+		Assert.assertEquals(2, batches.size());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("people/1", "people/2")), batches.get(0));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("companies/1")), batches.get(1));
+	}
+
+	private static String post(String id, String author) {
+		return "{\"type\": \"posts\", \"id\": \"" + id + "\", \"relationships\": {\"author\": " +
+				"{\"links\": {\"related\": \"" + author + "\"}}}}";
+	}
+
+	private static String person(String id, String employer) {
+		return "{\"data\": {\"type\": \"people\", \"id\": \"" + id + "\", \"relationships\": {\"employer\": " +
+				"{\"links\": {\"related\": \"" + employer + "\"}}}}}";
+	}
+
+	@Type("posts")
+	public static class Post {
+		@Id
+		public String id;
+
+		@Relationship(value = "author", resolve = true, relType = RelType.RELATED)
+		public Person author;
+	}
+
+	@Type("people")
+	public static class Person {
+		@Id
+		public String id;
+
+		@Relationship(value = "employer", resolve = true, relType = RelType.RELATED)
+		public Company employer;
+	}
+
+	@Type("companies")
+	public static class Company {
+		@Id
+		public String id;
+
+		public String name;
+	}
+}
@@ -0,0 +1,133 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testing functionality of sharing concurrent relationship requests for the same URL.
+ */
+public class CoalescingResolutionTest {
+	private static final int THREADS = 8;
+	private static final long LATENCY = 200;
+
+	private ExecutorService executor;
+	private ResourceConverter converter;
+	private byte [] status;
+	private byte [] user;
+
+	private final AtomicInteger resolved = new AtomicInteger();
+	private volatile boolean failing;
+
+	@Before
+	public void setup() throws IOException {
+		status = IOUtils.getResourceAsString("status.json").getBytes();
+		user = IOUtils.getResourceAsString("user-liz.json").getBytes();
+		executor = Executors.newFixedThreadPool(THREADS);
+
+		converter = new ResourceConverter(Status.class, User.class);
+		converter.enableDeserializationOption(DeserializationFeature.COALESCE_RESOLUTIONS);
+		converter.setGlobalResolver(new RelationshipResolver() {
+			@Override
+			public byte[] resolve(String relationshipURL) {
+				resolved.incrementAndGet();
+
+				try {
+					Thread.sleep(LATENCY);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+
+				if (failing) {
+					throw new IllegalStateException("Unavailable");
+				}
+				return user;
+			}
+		});
+	}
+
+	@After
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentReadsShareRequest() throws Exception {
+		List<Status> statuses = readConcurrently();
+
+		Assert.assertEquals(1, resolved.get());
+
+		for (int i = 0; i < statuses.size(); i++) {
+			Assert.assertEquals("liz", statuses.get(i).getUser().getName());
+
+			// Every read binds its own objects
+			if (i > 0) {
+				Assert.assertNotSame(statuses.get(0).getUser(), statuses.get(i).getUser());
+			}
+		}
+
+		// Completed requests are not shared with later reads
+		converter.readObject(status, Status.class);
+		Assert.assertEquals(2, resolved.get());
+	}
+
+	@Test
+	public void testFailureSharedWithWaitingReads() throws Exception {
+		failing = true;
+
+		try {
+			readConcurrently();
+			Assert.fail("Expected failure");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		Assert.assertEquals(1, resolved.get());
+	}
+
+	@Test
+	public void testDisabled() throws Exception {
+		converter.disableDeserializationOption(DeserializationFeature.COALESCE_RESOLUTIONS);
+
+		readConcurrently();
+
+		Assert.assertEquals(THREADS, resolved.get());
+	}
+
+	private List<Status> readConcurrently() throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+		List<Future<Status>> futures = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			futures.add(executor.submit(new Callable<Status>() {
+				@Override
+				public Status call() throws Exception {
+					barrier.await();
+					return converter.readObject(status, Status.class);
+				}
+			}));
+		}
+
+		List<Status> result = new ArrayList<>();
+
+		for (Future<Status> future : futures) {
+			result.add(future.get());
+		}
+
+		return result;
+	}
+}
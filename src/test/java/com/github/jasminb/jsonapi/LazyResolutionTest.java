@@ -0,0 +1,214 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Relationship;
+import com.github.jasminb.jsonapi.annotations.Type;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Testing functionality of relationships resolved on first access.
+ */
+public class LazyResolutionTest {
+	private static final String TEAM = "{\"data\": {\"type\": \"teams\", \"id\": \"1\", \"relationships\": {" +
+			"\"members\": {\"links\": {\"related\": \"teams/1/members\"}}}}}";
+
+	private static final String ROSTER = "{\"data\": {\"type\": \"rosters\", \"id\": \"1\", \"relationships\": {" +
+			"\"members\": {\"links\": {\"related\": \"rosters/1/members\"}}, " +
+			"\"alumni\": {\"links\": {\"related\": \"rosters/1/alumni\"}}}}}";
+
+	private static final String MEMBERS = "{\"data\": [" +
+			"{\"type\": \"members\", \"id\": \"1\", \"attributes\": {\"name\": \"liz\"}}, " +
+			"{\"type\": \"members\", \"id\": \"2\", \"attributes\": {\"name\": \"john\"}}]}";
+
+	private ResourceConverter converter;
+	private List<String> resolved;
+	private boolean failing;
+
+	@Before
+	public void setup() {
+		resolved = new ArrayList<>();
+
+		converter = new ResourceConverter(Team.class, Member.class, Roster.class);
+		converter.setGlobalResolver(new RelationshipResolver() {
+			@Override
+			public byte[] resolve(String relationshipURL) {
+				resolved.add(relationshipURL);
+
+				if (failing) {
+					throw new IllegalStateException("Unavailable");
+				}
+				return MEMBERS.getBytes();
+			}
+		});
+	}
+
+	@Test
+	public void testResolvedOnFirstAccess() {
+		assertResolvedOnFirstAccess();
+
+		converter.enableDeserializationOption(DeserializationFeature.USE_STREAMING_PARSER);
+		resolved.clear();
+
+		assertResolvedOnFirstAccess();
+	}
+
+	@Test
+	public void testFailedResolutionRetried() {
+		failing = true;
+		Team team = converter.readObject(TEAM.getBytes(), Team.class);
+
+		try {
+			team.members.size();
+			Assert.fail("Expected failure");
+		} catch (IllegalStateException e) {
+			Assert.assertFalse(((LazyResourceList<?>) team.members).isResolved());
+		}
+
+		failing = false;
+		Assert.assertEquals(2, team.members.size());
+		Assert.assertEquals(2, resolved.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLazyRequiresListOnRegistration() {
+		new ResourceConverter(InvalidTeam.class, Member.class);
+	}
+
+	@Test
+	public void testCollectionAndIterableFields() {
+		Roster roster = converter.readObject(ROSTER.getBytes(), Roster.class);
+		Assert.assertTrue(resolved.isEmpty());
+
+		Assert.assertEquals(2, roster.members.size());
+
+		Iterator<Member> alumni = roster.alumni.iterator();
+		Assert.assertEquals("liz", alumni.next().name);
+
+		Assert.assertEquals(Arrays.asList("rosters/1/members", "rosters/1/alumni"), resolved);
+	}
+
+	@Test
+	public void testWritingDoesNotResolve() throws Exception {
+		assertWrittenAsLink();
+
+		converter.enableSerializationOption(SerializationFeature.USE_STREAMING_GENERATOR);
+		assertWrittenAsLink();
+	}
+
+	@Test
+	public void testResolvedWrittenAsData() throws Exception {
+		Team team = converter.readObject(TEAM.getBytes(), Team.class);
+		team.members.size();
+
+		String written = new String(converter.writeObject(team));
+		Assert.assertTrue(written, written.contains("\"members\":{\"data\":[{\"type\":\"members\",\"id\":\"1\"}"));
+		Assert.assertEquals(1, resolved.size());
+	}
+
+	@Test
+	public void testPaginatedWithoutTotal() throws Exception {
+		final String firstPage = "{\"data\": [" +
+				"{\"type\": \"members\", \"id\": \"1\", \"attributes\": {\"name\": \"liz\"}}], " +
+				"\"links\": {\"next\": \"teams/1/members?page=2\"}}";
+		final String secondPage = "{\"data\": [" +
+				"{\"type\": \"members\", \"id\": \"2\", \"attributes\": {\"name\": \"john\"}}]}";
+
+		converter.setGlobalResolver(new RelationshipResolver() {
+			@Override
+			public byte[] resolve(String relationshipURL) {
+				resolved.add(relationshipURL);
+				return (relationshipURL.endsWith("page=2") ? secondPage : firstPage).getBytes();
+			}
+		});
+
+		Team team = converter.readObject(TEAM.getBytes(), Team.class);
+
+		Assert.assertEquals(2, team.members.size());
+		Assert.assertEquals(2, new ArrayList<>(team.members).size());
+
+		String written = new String(converter.writeObject(team));
+		Assert.assertTrue(written, written.contains("\"members\":{\"data\":[{\"type\":\"members\",\"id\":\"1\"}," +
+				"{\"type\":\"members\",\"id\":\"2\"}]}"));
+		Assert.assertEquals(Arrays.asList("teams/1/members", "teams/1/members?page=2"), resolved);
+	}
+
+	private void assertWrittenAsLink() throws Exception {
+		Team team = converter.readObject(TEAM.getBytes(), Team.class);
+
+		String written = new String(converter.writeObject(team));
+
+		Assert.assertTrue(written, written.contains("\"members\":{\"links\":{\"related\":\"teams/1/members\"}}"));
+		Assert.assertFalse(written, written.contains("\"attributes\":{\"members\""));
+		Assert.assertTrue(resolved.isEmpty());
+		Assert.assertFalse(((LazyResourceList<?>) team.members).isResolved());
+	}
+
+	private void assertResolvedOnFirstAccess() {
+		Team team = converter.readObject(TEAM.getBytes(), Team.class);
+
+		Assert.assertTrue(team.members instanceof LazyResourceList);
+		Assert.assertTrue(resolved.isEmpty());
+
+		Assert.assertEquals(2, team.members.size());
+		Assert.assertEquals("liz", team.members.get(0).name);
+		Assert.assertEquals("john", team.members.get(1).name);
+
+		List<String> names = new ArrayList<>();
+		for (Member member : team.members) {
+			names.add(member.name);
+		}
+
+		Assert.assertEquals(Arrays.asList("liz", "john"), names);
+		Assert.assertEquals(Arrays.asList("teams/1/members"), resolved);
+	}
+
+	@Type("teams")
+	public static class Team {
+		@Id
+		public String id;
+
+		@Relationship(value = "members", resolve = true, relType = RelType.RELATED,
+				strategy = ResolutionStrategy.LAZY)
+		public List<Member> members;
+	}
+
+	@Type("members")
+	public static class Member {
+		@Id
+		public String id;
+
+		public String name;
+	}
+
+	@Type("rosters")
+	public static class Roster {
+		@Id
+		public String id;
+
+		@Relationship(value = "members", resolve = true, relType = RelType.RELATED,
+				strategy = ResolutionStrategy.LAZY)
+		public Collection<Member> members;
+
+		@Relationship(value = "alumni", resolve = true, relType = RelType.RELATED,
+				strategy = ResolutionStrategy.LAZY)
+		public Iterable<Member> alumni;
+	}
+
+	@Type("invalid-teams")
+	public static class InvalidTeam {
+		@Id
+		public String id;
+
+		@Relationship(value = "owner", resolve = true, relType = RelType.RELATED,
+				strategy = ResolutionStrategy.LAZY)
+		public Member owner;
+	}
+}
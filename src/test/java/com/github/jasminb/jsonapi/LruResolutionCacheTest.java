@@ -0,0 +1,119 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testing functionality of the cross-document relationship resolution cache.
+ */
+public class LruResolutionCacheTest {
+	private long now;
+	private LruResolutionCache cache;
+
+	@Before
+	public void setup() {
+		cache = new LruResolutionCache(10, 1, TimeUnit.SECONDS) {
+			@Override
+			long nanoTime() {
+				return now;
+			}
+		};
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() {
+		cache.put("a", new byte[4]);
+		cache.put("b", new byte[4]);
+
+		// Access makes "a" most recently used, so "b" is evicted
+		Assert.assertNotNull(cache.get("a"));
+		cache.put("c", new byte[4]);
+
+		Assert.assertNull(cache.get("b"));
+		Assert.assertNotNull(cache.get("a"));
+		Assert.assertNotNull(cache.get("c"));
+		Assert.assertEquals(8, cache.getWeight());
+		Assert.assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testDocumentHeavierThanCacheNotCached() {
+		cache.put("a", new byte[4]);
+		cache.put("b", new byte[11]);
+
+		Assert.assertNull(cache.get("b"));
+		Assert.assertNotNull(cache.get("a"));
+		Assert.assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testExpiration() {
+		cache.put("a", new byte[4]);
+
+		now += TimeUnit.MILLISECONDS.toNanos(999);
+		Assert.assertNotNull(cache.get("a"));
+
+		now += TimeUnit.MILLISECONDS.toNanos(1);
+		Assert.assertNull(cache.get("a"));
+		Assert.assertEquals(1, cache.getExpirationCount());
+		Assert.assertEquals(0, cache.size());
+		Assert.assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void testInvalidate() {
+		cache.put("a", new byte[4]);
+		cache.put("b", new byte[4]);
+
+		cache.invalidate("a");
+		Assert.assertNull(cache.get("a"));
+		Assert.assertNotNull(cache.get("b"));
+
+		cache.invalidateAll();
+		Assert.assertNull(cache.get("b"));
+		Assert.assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void testStatistics() {
+		Assert.assertEquals(0, cache.getHitRate(), 0);
+
+		cache.put("a", new byte[4]);
+		cache.get("a");
+		cache.get("a");
+		cache.get("b");
+
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(2.0 / 3, cache.getHitRate(), 0.0001);
+	}
+
+	@Test
+	public void testResolvedOnceAcrossDocuments() throws IOException {
+		final AtomicInteger resolved = new AtomicInteger();
+		final byte [] user = IOUtils.getResourceAsString("user-liz.json").getBytes();
+
+		ResourceConverter converter = new ResourceConverter(Status.class, User.class);
+		converter.setGlobalResolver(new RelationshipResolver() {
+			@Override
+			public byte[] resolve(String relationshipURL) {
+				resolved.incrementAndGet();
+				return user;
+			}
+		});
+		converter.setResolutionCache(new LruResolutionCache(1024 * 1024));
+
+		byte [] status = IOUtils.getResourceAsString("status.json").getBytes();
+
+		Assert.assertEquals("liz", converter.readObject(status, Status.class).getUser().getName());
+		Assert.assertEquals("liz", converter.readObject(status, Status.class).getUser().getName());
+		Assert.assertEquals(1, resolved.get());
+	}
+}
@@ -0,0 +1,59 @@
+package com.github.jasminb.jsonapi;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Testing detection of the links to the pages of a paginated collection.
+ */
+public class PageLinkPatternTest {
+
+    @Test
+    public void testPageNumber() {
+        final PageLinkPattern pattern = PageLinkPattern.parse(
+                "http://example.org/articles?page[number]=1&page[size]=10",
+                "http://example.org/articles?page[number]=12&page[size]=10",
+                "http://example.org/articles?page[number]=2&page[size]=10", 12);
+
+        assertEquals("http://example.org/articles?page[number]=7&page[size]=10", pattern.link(6));
+    }
+
+    @Test
+    public void testOffset() {
+        final PageLinkPattern pattern = PageLinkPattern.parse(
+                "http://example.org/articles?page[offset]=0&page[limit]=10",
+                "http://example.org/articles?page[offset]=40&page[limit]=10",
+                "http://example.org/articles?page[offset]=10&page[limit]=10", 5);
+
+        assertEquals("http://example.org/articles?page[offset]=20&page[limit]=10", pattern.link(2));
+    }
+
+    @Test
+    public void testNumberAtEnd() {
+        final PageLinkPattern pattern = PageLinkPattern.parse("/articles?page=1", "/articles?page=15",
+                "/articles?page=2", 15);
+
+        assertEquals("/articles?page=10", pattern.link(9));
+    }
+
+    @Test
+    public void testNoPattern() {
+        // 'first' does not carry the page number
+        assertNull(PageLinkPattern.parse("/articles", "/articles?page=3", "/articles?page=2", 3));
+
+        // more than one number changes
+        assertNull(PageLinkPattern.parse("/articles?page=1&v=1", "/articles?page=3&v=2", "/articles?page=2&v=1", 3));
+
+        // 'last' does not match the number of pages
+        assertNull(PageLinkPattern.parse("/articles?page=1", "/articles?page=4", "/articles?page=2", 3));
+
+        // 'next' does not follow the pattern
+        assertNull(PageLinkPattern.parse("/articles?page=1", "/articles?page=3", "/articles?cursor=abc", 3));
+
+        // zero-padded numbers
+        assertNull(PageLinkPattern.parse("/articles?page=01", "/articles?page=10", "/articles?page=02", 10));
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Type;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testing the window bounding the pages of a paginated collection kept in memory.
+ */
+public class PageStoreTest {
+
+    private static final int PAGES = 6;
+
+    private static final int PER_PAGE = 3;
+
+    private ResourceConverter converter;
+
+    private List<String> resolved;
+
+    private RelationshipResolver resolver;
+
+    @Before
+    public void setup() {
+        converter = new ResourceConverter(Item.class);
+        resolved = new ArrayList<>();
+        resolver = link -> {
+            resolved.add(link);
+            return page(Integer.parseInt(link.substring(link.indexOf('=') + 1)));
+        };
+    }
+
+    @Test
+    public void testUnbounded() {
+        final PageStore<Item> store = store(0, false);
+
+        assertEquals(PAGES * PER_PAGE, store.fetchAll());
+        assertEquals(PAGES, store.residentPages());
+
+        final Item item = store.get(4);
+        assertSame(item, store.get(4));
+        assertEquals(PAGES - 1, resolved.size());
+    }
+
+    @Test
+    public void testEvictedPagesRequestedAgain() {
+        final PageStore<Item> store = store(2, false);
+
+        assertEquals(PAGES * PER_PAGE, store.fetchAll());
+        assertEquals(3, store.residentPages());
+        resolved.clear();
+
+        // the first page is always kept
+        assertEquals("0", store.get(0).id);
+        assertTrue(resolved.isEmpty());
+
+        // the second page fell out of the window
+        final Item item = store.get(4);
+        assertEquals("4", item.id);
+        assertEquals(1, resolved.size());
+        assertEquals("/items?page=1", resolved.get(0));
+        assertEquals(3, store.residentPages());
+
+        // and is kept until it falls out again
+        assertSame(item, store.get(4));
+        assertEquals(1, resolved.size());
+
+        for (int i = 0; i < PAGES * PER_PAGE; i++) {
+            assertEquals(String.valueOf(i), store.get(i).id);
+            assertTrue(store.residentPages() <= 3);
+        }
+    }
+
+    @Test
+    public void testEvictedPagesSpilled() {
+        final PageStore<Item> store = store(1, true);
+
+        assertEquals(PAGES * PER_PAGE, store.fetchAll());
+        assertEquals(2, store.residentPages());
+        assertEquals(PAGES - 1, resolved.size());
+
+        final Item item = store.get(7);
+
+        for (int i = PAGES * PER_PAGE - 1; i >= 0; i--) {
+            assertEquals(String.valueOf(i), store.get(i).id);
+            assertTrue(store.residentPages() <= 2);
+        }
+
+        // pages were read again from the spill file rather than requested again, as new instances
+        assertEquals(PAGES - 1, resolved.size());
+        assertNotSame(item, store.get(7));
+        assertEquals(item.id, store.get(7).id);
+    }
+
+    @Test
+    public void testSpillFileDeletedOnClose() {
+        final PageStore<Item> store = store(1, true);
+        store.fetchAll();
+
+        final Path file = store.spillPath();
+        assertTrue(Files.exists(file));
+
+        store.close();
+        assertFalse(Files.exists(file));
+
+        // evicted pages are requested again once the file is gone
+        resolved.clear();
+        assertEquals("4", store.get(4).id);
+        assertEquals(1, resolved.size());
+    }
+
+    @Test
+    public void testNothingSpilledWithoutWindow() {
+        final PageStore<Item> store = store(0, true);
+
+        assertEquals(PAGES * PER_PAGE, store.fetchAll());
+        assertNull(store.spillPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWindow() {
+        store(-1, false);
+    }
+
+    private PageStore<Item> store(final int window, final boolean spill) {
+        final ResourceList<Item> first = converter.readObjectCollection(page(0), Item.class);
+        return new PageStore<>(first, resolver, converter, Item.class, PER_PAGE, window, spill);
+    }
+
+    private static byte[] page(final int page) {
+        final StringBuilder document = new StringBuilder("{\"data\": [");
+
+        for (int i = 0; i < PER_PAGE; i++) {
+            document.append(i > 0 ? ", " : "")
+                    .append("{\"type\": \"items\", \"id\": \"").append(page * PER_PAGE + i).append("\"}");
+        }
+
+        document.append("], \"meta\": {\"per_page\": ").append(PER_PAGE).append("}");
+
+        if (page < PAGES - 1) {
+            document.append(", \"links\": {\"next\": \"/items?page=").append(page + 1).append("\"}");
+        }
+
+        return document.append("}").toString().getBytes();
+    }
+
+    @Type("items")
+    public static class Item {
+        @Id
+        public String id;
+    }
+
+}
@@ -21,9 +21,16 @@ import com.github.jasminb.jsonapi.PaginationTestUtils.TestResource;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.github.jasminb.jsonapi.PaginationTestUtils.ofIds;
 import static org.junit.Assert.assertEquals;
@@ -31,6 +38,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyByte;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -341,7 +349,8 @@ public class PaginatedResourceListTest {
         assertEquals(testResources.size(), results.size());
         assertTrue(results.containsAll(testResources));
         verify(resources, atLeastOnce()).getMeta();
-        verify(resources, times(2)).iterator();
+        // pages are read once the stream is traversed, not when the spliterator is created
+        verify(resources).iterator();
         verifyZeroInteractions(resolver, converter);
     }
 
@@ -359,12 +368,11 @@ public class PaginatedResourceListTest {
 
         assertEquals(testResources.size(), results.size());
         assertTrue(results.containsAll(testResources));
-        // once for verifying the initial state of the spliterator in the test, once for the execution in
-        // PaginatedIterator
-        verify(resources, times(2)).iterator();
+        // pages are read once the stream is traversed, not when the spliterator is created
+        verify(resources).iterator();
         verify(resources, atLeastOnce()).getMeta();
         verify(resolver).resolve("");
-        verify(converter).readObjectCollection(any(), any());
+        verify(converter).readObjectCollection(any(byte[].class), any());
     }
 
     @Test
@@ -444,17 +452,145 @@ public class PaginatedResourceListTest {
 
         prepareForStream(testResources);
         assertFalse(underTest.stream().isParallel());
-        verifyForStream();
+        verify(resources, atLeastOnce()).getMeta();
 
         reset(resources);
 
         prepareForStream(testResources);
-        // parallel streams are not supported
+        // parallel streams are not supported for a single page
         assertFalse(underTest.parallelStream().isParallel());
-        verifyForStream();
+        verify(resources, atLeastOnce()).getMeta();
         verifyZeroInteractions(resolver, converter);
     }
 
+    /**
+     * Demonstrates that a collection is streamed in parallel when links to its pages follow a pattern.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallelStreamByPageLinks() throws Exception {
+        ResourceList page_1 = new ResourceListBuilder()
+                .wrap(ofIds("1", "2"))
+                .withLinks()
+                    .addFirst("articles?page=1")
+                    .addNext("articles?page=2")
+                    .addLast("articles?page=4")
+                    .and()
+                .withMeta()
+                    .add("total", 7)
+                    .add("per_page", 2)
+                .finish();
+
+        for (int i = 2; i <= 4; i++) {
+            final String link = "articles?page=" + i;
+            final ResourceList page = new ResourceListBuilder()
+                    .wrap(i < 4 ? ofIds(String.valueOf(2 * i - 1), String.valueOf(2 * i)) : ofIds("7"))
+                    .finish();
+
+            when(resolver.resolve(link)).thenReturn(link.getBytes());
+            when(converter.readObjectCollection(eq(link.getBytes()), any())).thenReturn(page);
+        }
+
+        underTest = new PaginatedResourceList(page_1, resolver, converter, clazz);
+
+        final Stream<TestResource> stream = underTest.parallelStream();
+        assertTrue(stream.isParallel());
+        assertEquals(ofIds("1", "2", "3", "4", "5", "6", "7"), stream.collect(Collectors.toList()));
+
+        // each page is fetched once, and the first page is not fetched at all
+        verify(resolver, never()).resolve("articles?page=1");
+        verify(resolver).resolve("articles?page=2");
+        verify(resolver).resolve("articles?page=3");
+        verify(resolver).resolve("articles?page=4");
+    }
+
+    /**
+     * Demonstrates that pages fetched by parallel streams are shared with the other consumers of the list, and the
+     * other way around.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallelStreamSharesPages() throws Exception {
+        ResourceList page_1 = new ResourceListBuilder()
+                .wrap(ofIds("1", "2"))
+                .withLinks()
+                    .addFirst("articles?page=1")
+                    .addNext("articles?page=2")
+                    .addLast("articles?page=4")
+                    .and()
+                .withMeta()
+                    .add("total", 7)
+                    .add("per_page", 2)
+                .finish();
+
+        for (int i = 2; i <= 4; i++) {
+            final String link = "articles?page=" + i;
+            final ResourceListBuilder builder = new ResourceListBuilder()
+                    .wrap(i < 4 ? ofIds(String.valueOf(2 * i - 1), String.valueOf(2 * i)) : ofIds("7"));
+            final ResourceList page = i < 4 ? builder.withLinks().addNext("articles?page=" + (i + 1)).finish() :
+                    builder.finish();
+
+            when(resolver.resolve(link)).thenReturn(link.getBytes());
+            when(converter.readObjectCollection(eq(link.getBytes()), any())).thenReturn(page);
+        }
+
+        underTest = new PaginatedResourceList(page_1, resolver, converter, clazz);
+
+        // page 2 is fetched by following the 'next' link
+        assertEquals(new TestResource("3"), underTest.get(2));
+
+        assertEquals(ofIds("1", "2", "3", "4", "5", "6", "7"),
+                underTest.parallelStream().collect(Collectors.toList()));
+
+        // pages fetched by the stream become part of the list, in order
+        final List<TestResource> iterated = new ArrayList<>();
+        underTest.iterator().forEachRemaining(iterated::add);
+        assertEquals(ofIds("1", "2", "3", "4", "5", "6", "7"), iterated);
+
+        verify(resolver).resolve("articles?page=2");
+        verify(resolver).resolve("articles?page=3");
+        verify(resolver).resolve("articles?page=4");
+    }
+
+    /**
+     * Demonstrates that iterators request pages ahead of the page being consumed, but no more than the prefetch depth.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrefetchAhead() throws Exception {
+        ResourceList page_1 = new ResourceListBuilder().wrap(ofIds("1")).withLinks().addNext("page 2").finish();
+        ResourceList page_2 = new ResourceListBuilder().wrap(ofIds("2")).withLinks().addNext("page 3").finish();
+        ResourceList page_3 = new ResourceListBuilder().wrap(ofIds("3")).withLinks().addNext("page 4").finish();
+        ResourceList page_4 = new ResourceListBuilder().wrap(ofIds("4")).finish();
+
+        for (int i = 2; i <= 4; i++) {
+            when(resolver.resolve("page " + i)).thenReturn(("page " + i).getBytes());
+        }
+
+        when(converter.readObjectCollection(eq("page 2".getBytes()), any())).thenReturn(page_2);
+        when(converter.readObjectCollection(eq("page 3".getBytes()), any())).thenReturn(page_3);
+        when(converter.readObjectCollection(eq("page 4".getBytes()), any())).thenReturn(page_4);
+
+        // Requests are executed on the calling thread, so they are complete as soon as they are issued
+        underTest = new PaginatedResourceList(page_1, resolver, converter, clazz, 2, (Executor) Runnable::run, 0,
+                false);
+        final Iterator<TestResource> itr = underTest.iterator();
+
+        assertEquals(new TestResource("1"), itr.next());
+        verify(resolver).resolve("page 2");
+        verify(resolver).resolve("page 3");
+        verify(resolver, never()).resolve("page 4");
+
+        // Moving to page 2 makes room for page 4
+        assertEquals(new TestResource("2"), itr.next());
+        verify(resolver).resolve("page 4");
+
+        assertEquals(new TestResource("3"), itr.next());
+        assertEquals(new TestResource("4"), itr.next());
+        assertFalse(itr.hasNext());
+        verify(resolver, times(3)).resolve(anyString());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testGetNegativeIndex() throws Exception {
         underTest.get(-1);
@@ -497,8 +633,8 @@ public class PaginatedResourceListTest {
 
         verifyForStream();
         verifyZeroInteractions(resolver, converter);
-        reset(resources);
-        prepareForStream(testResources);
+
+        // fetched elements are kept, so the first page is not iterated again
 
         assertFalse(underTest.contains(new TestResource("3")));
 
@@ -515,8 +651,8 @@ public class PaginatedResourceListTest {
 
         verifyForStream();
         verifyZeroInteractions(resolver, converter);
-        reset(resources);
-        prepareForStream(testResources);
+
+        // fetched elements are kept, so the first page is not iterated again
 
         assertEquals(-1, underTest.indexOf(new TestResource("3")));
 
@@ -533,8 +669,8 @@ public class PaginatedResourceListTest {
 
         verifyForStream();
         verifyZeroInteractions(resolver, converter);
-        reset(resources);
-        prepareForStream(testResources);
+
+        // fetched elements are kept, so the first page is not iterated again
 
         assertEquals(-1, underTest.indexOf(new TestResource("3")));
 
@@ -550,26 +686,140 @@ public class PaginatedResourceListTest {
 
         verifyForStream();
         verifyZeroInteractions(resolver, converter);
-        reset(resources);
-        prepareForStream(testResources);
+
+        // fetched elements are kept, so the first page is not iterated again
 
         assertEquals(testResources.subList(1, 2), underTest.subList(1, 2));
 
         verifyForStream();
         verifyZeroInteractions(resolver, converter);
-        reset(resources);
-        prepareForStream(testResources);
+
+        // fetched elements are kept, so the first page is not iterated again
 
         assertEquals(testResources.subList(0, 2), underTest.subList(0, 2));
 
         verifyForStream();
         verifyZeroInteractions(resolver, converter);
-        reset(resources);
-        prepareForStream(testResources);
+
+        // fetched elements are kept, so the first page is not iterated again
 
         assertEquals(testResources.subList(2, 2), underTest.subList(2, 2));
     }
 
+    /**
+     * Demonstrates that random access fetches each page once, and locates elements using 'per_page'.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRandomAccessFetchesPagesOnce() {
+        ResourceList page_1 = new ResourceListBuilder()
+                .wrap(ofIds("1", "2"))
+                .withLinks()
+                    .addNext("page 2")
+                    .and()
+                .withMeta()
+                    .add("total", 5)
+                    .add("per_page", 2)
+                .finish();
+
+        ResourceList page_2 = new ResourceListBuilder()
+                .wrap(ofIds("3", "4"))
+                .withLinks()
+                    .addNext("page 3")
+                    .and()
+                .withMeta()
+                    .add("total", 5)
+                    .add("per_page", 2)
+                .finish();
+
+        ResourceList page_3 = new ResourceListBuilder()
+                .wrap(ofIds("5"))
+                .withMeta()
+                    .add("total", 5)
+                    .add("per_page", 2)
+                .finish();
+
+        when(resolver.resolve("page 2")).thenReturn("page 2".getBytes());
+        when(resolver.resolve("page 3")).thenReturn("page 3".getBytes());
+        when(converter.readObjectCollection(eq("page 2".getBytes()), any())).thenReturn(page_2);
+        when(converter.readObjectCollection(eq("page 3".getBytes()), any())).thenReturn(page_3);
+
+        underTest = new PaginatedResourceList(page_1, resolver, converter, clazz);
+
+        // only the pages up to the one holding the element are fetched
+        assertEquals(new TestResource("3"), underTest.get(2));
+        verify(resolver).resolve("page 2");
+        verify(resolver, never()).resolve("page 3");
+
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < underTest.size(); j++) {
+                assertEquals(new TestResource(String.valueOf(j + 1)), underTest.get(j));
+            }
+        }
+
+        assertEquals(4, underTest.indexOf(new TestResource("5")));
+        assertTrue(underTest.contains(new TestResource("2")));
+        assertEquals(ofIds("2", "3", "4"), underTest.subList(1, 4));
+        assertEquals(5, underTest.toArray().length);
+
+        verify(resolver, times(2)).resolve(any());
+        verify(converter, times(2)).readObjectCollection(new byte[anyByte()], any());
+    }
+
+    /**
+     * Demonstrates that iterators of one list share pages, so each page is fetched once however many consumers
+     * iterate, including consumers running at the same time.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIteratorsSharePages() throws Exception {
+        ResourceList page_1 = new ResourceListBuilder()
+                .wrap(ofIds("1"))
+                .withLinks()
+                    .addNext("page 2")
+                .finish();
+
+        ResourceList page_2 = new ResourceListBuilder()
+                .wrap(ofIds("2"))
+                .withLinks()
+                    .addNext("page 3")
+                .finish();
+
+        ResourceList page_3 = new ResourceListBuilder()
+                .wrap(ofIds("3"))
+                .finish();
+
+        when(resolver.resolve("page 2")).thenReturn("page 2".getBytes());
+        when(resolver.resolve("page 3")).thenReturn("page 3".getBytes());
+        when(converter.readObjectCollection(eq("page 2".getBytes()), any())).thenReturn(page_2);
+        when(converter.readObjectCollection(eq("page 3".getBytes()), any())).thenReturn(page_3);
+
+        underTest = new PaginatedResourceList(page_1, resolver, converter, clazz);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<List<TestResource>>> consumers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                consumers.add(executor.submit(() -> underTest.stream().collect(Collectors.toList())));
+            }
+
+            for (Future<List<TestResource>> consumer : consumers) {
+                assertEquals(ofIds("1", "2", "3"), consumer.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final List<TestResource> elements = new ArrayList<>();
+        underTest.forEach(elements::add);
+        assertEquals(ofIds("1", "2", "3"), elements);
+        assertEquals(3, underTest.toArray().length);
+
+        verify(resolver, times(2)).resolve(any());
+        verify(converter, times(2)).readObjectCollection(new byte[anyByte()], any());
+    }
+
     /**
      * Prepares the mocks such that PaginatedListAdapter.stream will return a stream over the supplied list.
      *
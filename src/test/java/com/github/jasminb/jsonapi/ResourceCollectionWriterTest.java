@@ -0,0 +1,99 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Testing functionality of the streaming collection writer.
+ */
+public class ResourceCollectionWriterTest {
+	private ResourceConverter converter;
+
+	@Before
+	public void setup() {
+		converter = new ResourceConverter(Status.class, User.class);
+	}
+
+	@Test
+	public void testSameResultAsWriteObjectCollection() throws Exception {
+		List<User> users = converter.readObjectCollection(IOUtils.getResourceAsString("users.json").getBytes(),
+				User.class);
+
+		StringWriter output = new StringWriter();
+
+		try (ResourceCollectionWriter writer = converter.createCollectionWriter(output)) {
+			writer.writeAll(users.iterator());
+		}
+
+		Assert.assertEquals(new String(converter.writeObjectCollection(users)), output.toString());
+	}
+
+	@Test
+	public void testStreamWithTrailingMetaAndLinks() throws Exception {
+		FlushCountingStream output = new FlushCountingStream();
+
+		try (ResourceCollectionWriter writer = converter.createCollectionWriter(output).setFlushInterval(100)) {
+			writer.writeAll(IntStream.range(0, 1000).mapToObj(ResourceCollectionWriterTest::createUser));
+			writer.writeAll(Arrays.asList(createUser(1000), createUser(1001)).spliterator());
+
+			Assert.assertEquals(10, output.flushes);
+
+			writer.setMeta(Collections.singletonMap("total", writer.getCount()));
+			writer.setLinks(Collections.singletonMap(JSONAPISpecConstants.NEXT, new Link("users?page=2")));
+		}
+
+		ResourceList<User> users = converter.readObjectCollection(output.toByteArray(), User.class);
+
+		Assert.assertEquals(1002, users.size());
+		Assert.assertEquals("user-0", users.get(0).getName());
+		Assert.assertEquals("user-1001", users.get(1001).getName());
+		Assert.assertEquals(1002, users.getMeta().get("total"));
+		Assert.assertEquals("users?page=2", users.getNext());
+	}
+
+	@Test
+	public void testFailedWriteDoesNotCompleteDocument() throws Exception {
+		StringWriter output = new StringWriter();
+		ResourceCollectionWriter writer = converter.createCollectionWriter(output);
+
+		writer.write(createUser(0));
+
+		try {
+			writer.write("not a resource");
+			Assert.fail("Unregistered type must not be written");
+		} catch (RuntimeException e) {
+			// Expected
+		} finally {
+			writer.close();
+		}
+
+		Assert.assertFalse(output.toString().endsWith("]}"));
+	}
+
+	private static User createUser(int index) {
+		User user = new User();
+		user.setId(String.valueOf(index));
+		user.setName("user-" + index);
+		return user;
+	}
+
+	private static class FlushCountingStream extends ByteArrayOutputStream {
+		private int flushes;
+
+		@Override
+		public void flush() throws IOException {
+			flushes++;
+		}
+	}
+}
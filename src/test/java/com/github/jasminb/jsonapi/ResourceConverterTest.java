@@ -1,5 +1,6 @@
 package com.github.jasminb.jsonapi;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.github.jasminb.jsonapi.models.Article;
@@ -13,10 +14,22 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Testing functionality of JSON API converter.
@@ -192,6 +205,99 @@ public class ResourceConverterTest {
 
 	}
 
+	@Test
+	public void testReadFromInputStream() throws IOException {
+		byte [] apiResponse = IOUtils.getResourceAsString("status.json").getBytes();
+
+		Status status = converter.readObject(new ByteArrayInputStream(apiResponse), Status.class);
+
+		Assert.assertEquals("id", status.getId());
+		Assert.assertEquals("john", status.getUser().getName());
+
+		List<User> users = converter.readObjectCollection(
+				new ByteArrayInputStream(IOUtils.getResourceAsString("users.json").getBytes()), User.class);
+
+		Assert.assertEquals(2, users.size());
+		Assert.assertEquals("john", users.get(1).getName());
+	}
+
+	@Test
+	public void testReadFromByteBuffer() throws IOException {
+		byte [] apiResponse = IOUtils.getResourceAsString("users.json").getBytes();
+
+		// Heap buffer slice with non-zero offset
+		ByteBuffer padded = ByteBuffer.allocate(apiResponse.length + 4);
+		padded.put(new byte[] {'x', 'x'}).put(apiResponse).put(new byte[] {'x', 'x'});
+		padded.position(2);
+		padded.limit(2 + apiResponse.length);
+
+		List<User> users = converter.readObjectCollection(padded.slice(), User.class);
+		Assert.assertEquals(2, users.size());
+		Assert.assertEquals("liz", users.get(0).getName());
+
+		// Direct buffer
+		ByteBuffer direct = ByteBuffer.allocateDirect(apiResponse.length);
+		direct.put(apiResponse).flip();
+
+		users = converter.readObjectCollection(direct, User.class);
+		Assert.assertEquals(2, users.size());
+		Assert.assertEquals(0, direct.position());
+
+		User user = converter.readObject(ByteBuffer.wrap(IOUtils.getResourceAsString("user-liz.json").getBytes()),
+				User.class);
+		Assert.assertEquals("liz", user.getName());
+	}
+
+	@Test
+	public void testReadFromChannel() throws IOException {
+		byte [] apiResponse = IOUtils.getResourceAsString("users.json").getBytes();
+
+		List<User> users = converter.readObjectCollection(
+				Channels.newChannel(new ByteArrayInputStream(apiResponse)), User.class);
+
+		Assert.assertEquals(2, users.size());
+		Assert.assertEquals("2", users.get(1).getId());
+	}
+
+	@Test
+	public void testWriteToStreamWriterAndChannel() throws Exception {
+		User user = converter.readObject(IOUtils.getResourceAsString("user-with-statuses.json").getBytes(),
+				User.class);
+		List<User> users = converter.readObjectCollection(IOUtils.getResourceAsString("users.json").getBytes(),
+				User.class);
+
+		for (boolean streaming : new boolean[] {false, true}) {
+			if (streaming) {
+				converter.enableSerializationOption(SerializationFeature.USE_STREAMING_GENERATOR);
+			}
+
+			String expected = new String(converter.writeObject(user), StandardCharsets.UTF_8);
+			String expectedCollection = new String(converter.writeObjectCollection(users), StandardCharsets.UTF_8);
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			converter.writeObject(user, output);
+			Assert.assertEquals(expected, new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+			StringWriter writer = new StringWriter();
+			converter.writeObjectCollection(users, writer);
+			Assert.assertEquals(expectedCollection, writer.toString());
+
+			output = new ByteArrayOutputStream();
+			converter.writeObjectCollection(users, Channels.newChannel(output));
+			Assert.assertEquals(expectedCollection, new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+			// Generator is left open, so that documents can be embedded into other content
+			writer = new StringWriter();
+			JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(writer);
+			generator.writeStartArray();
+			converter.writeObject(user, generator);
+			converter.writeObjectCollection(users, generator);
+			generator.writeEndArray();
+			generator.close();
+			Assert.assertEquals("[" + expected + "," + expectedCollection + "]", writer.toString());
+		}
+	}
+
 	@Test
 	public void testReadWithCollectionRelationship() throws IOException {
 		String apiResponse = IOUtils.getResourceAsString("user-with-statuses.json");
@@ -265,6 +371,214 @@ public class ResourceConverterTest {
 		Assert.assertEquals("dgeb", commentWithAuthor.getAuthor().getTwitter());
 	}
 
+	@Test
+	public void testSparseFieldsets() throws Exception {
+		String apiResponse = "{\"data\": [{\"type\": \"statuses\", \"id\": \"1\", \"attributes\": {\"content\": " +
+				"\"content\", \"likeCount\": {\"not\": \"a number\"}}, \"relationships\": {\"user\": {\"data\": " +
+				"{\"type\": \"users\", \"id\": \"u\"}}}}], \"included\": [{\"type\": \"users\", \"id\": \"u\", " +
+				"\"attributes\": {\"name\": \"john\"}, \"relationships\": {\"statuses\": {\"data\": " +
+				"[{\"type\": \"statuses\", \"id\": \"1\"}]}}}]}";
+
+		DeserializationSettings readSettings = new DeserializationSettings.Builder()
+				.fields("statuses", "content", "user")
+				.fields("users", "name")
+				.build();
+
+		// Like count cannot be bound, which would fail the read if it were not dropped
+		List<Status> statuses = converter.readObjectCollection(apiResponse.getBytes(), Status.class, readSettings);
+
+		Status status = statuses.get(0);
+		Assert.assertEquals("content", status.getContent());
+		Assert.assertNull(status.getLikeCount());
+		Assert.assertEquals("john", status.getUser().getName());
+		Assert.assertNull(status.getUser().getStatuses());
+
+		status.setLikeCount(10);
+		status.setCommentCount(1);
+
+		SerializationSettings writeSettings = new SerializationSettings.Builder()
+				.fields("statuses", "likeCount")
+				.build();
+
+		Status written = converter.readObject(converter.writeObject(status, writeSettings), Status.class);
+		Assert.assertEquals(Integer.valueOf(10), written.getLikeCount());
+		Assert.assertNull(written.getContent());
+		Assert.assertNull(written.getCommentCount());
+		Assert.assertNull(written.getUser());
+	}
+
+	@Test
+	public void testBindIncludedOnDemand() {
+		converter.enableDeserializationOption(DeserializationFeature.BIND_INCLUDED_ON_DEMAND);
+
+		String apiResponse = "{\"data\": {\"type\": \"statuses\", \"id\": \"1\", \"relationships\": {\"user\": " +
+				"{\"data\": {\"type\": \"users\", \"id\": \"u\"}}}}, \"included\": [" +
+				"{\"type\": \"statuses\", \"id\": \"3\", \"attributes\": {\"likeCount\": {\"not\": \"a number\"}}}, " +
+				"{\"type\": \"users\", \"id\": \"u\", \"attributes\": {\"name\": \"john\"}, \"relationships\": " +
+				"{\"statuses\": {\"data\": [{\"type\": \"statuses\", \"id\": \"2\"}]}}}, " +
+				"{\"type\": \"statuses\", \"id\": \"2\", \"attributes\": {\"content\": \"second\"}, " +
+				"\"relationships\": {\"user\": {\"data\": {\"type\": \"users\", \"id\": \"u\"}}}}]}";
+
+		// Status '3' cannot be bound, which would fail the read if it were not skipped
+		Status status = converter.readObject(apiResponse.getBytes(), Status.class);
+
+		Assert.assertEquals("john", status.getUser().getName());
+		Assert.assertEquals(1, status.getUser().getStatuses().size());
+
+		Status second = status.getUser().getStatuses().get(0);
+		Assert.assertEquals("second", second.getContent());
+		Assert.assertSame(status.getUser(), second.getUser());
+	}
+
+	@Test
+	public void testBindDataInParallel() throws Exception {
+		List<Status> statuses = new ArrayList<>();
+
+		for (int i = 0; i < 2000; i++) {
+			User user = new User();
+			user.setId("user-" + (i % 10));
+
+			Status status = new Status();
+			status.setId(String.valueOf(i));
+			status.setContent("content-" + i);
+			status.setUser(user);
+			statuses.add(status);
+		}
+
+		StringBuilder included = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			included.append(i == 0 ? "" : ",").append("{\"type\": \"users\", \"id\": \"user-").append(i)
+					.append("\", \"attributes\": {\"name\": \"name-").append(i).append("\"}}");
+		}
+
+		String collection = new String(converter.writeObjectCollection(statuses));
+		byte [] apiResponse = (collection.substring(0, collection.length() - 1) + ", \"included\": [" + included +
+				"]}").getBytes();
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			converter.setBindingPool(pool);
+			converter.enableDeserializationOption(DeserializationFeature.BIND_DATA_IN_PARALLEL);
+
+			List<Status> converted = converter.readObjectCollection(apiResponse, Status.class);
+
+			Assert.assertEquals(statuses.size(), converted.size());
+
+			for (int i = 0; i < converted.size(); i++) {
+				Assert.assertEquals("content-" + i, converted.get(i).getContent());
+				Assert.assertEquals("name-" + (i % 10), converted.get(i).getUser().getName());
+				Assert.assertSame(converted.get(i % 10).getUser(), converted.get(i).getUser());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelBindingResolvesOnCallingThread() throws IOException {
+		final Set<Thread> resolvingThreads = Collections.synchronizedSet(new HashSet<Thread>());
+		final byte [] user = IOUtils.getResourceAsString("user-liz.json").getBytes();
+
+		converter.setGlobalResolver(new RelationshipResolver() {
+			@Override
+			public byte[] resolve(String relationshipURL) {
+				resolvingThreads.add(Thread.currentThread());
+				return user;
+			}
+		});
+
+		StringBuilder data = new StringBuilder();
+		for (int i = 0; i < 600; i++) {
+			data.append(i == 0 ? "" : ",").append("{\"type\": \"statuses\", \"id\": \"").append(i)
+					.append("\", \"relationships\": {\"user\": {\"links\": {\"self\": \"users/").append(i)
+					.append("\"}}}}");
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			converter.setBindingPool(pool);
+			converter.enableDeserializationOption(DeserializationFeature.BIND_DATA_IN_PARALLEL);
+
+			List<Status> converted = converter.readObjectCollection(("{\"data\": [" + data + "]}").getBytes(),
+					Status.class);
+
+			Assert.assertEquals(600, converted.size());
+			Assert.assertEquals("liz", converted.get(599).getUser().getName());
+			Assert.assertEquals(Collections.singleton(Thread.currentThread()), resolvingThreads);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelBindingMatchesSequential() {
+		StringBuilder data = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			// Even nodes refer to other elements of data, odd nodes share a few resources that are not included
+			String parent = i % 2 == 0 ? String.valueOf((i + 301) % 1000) : "missing-" + (i % 4);
+			data.append(i == 0 ? "" : ",").append("{\"type\": \"node\", \"id\": \"").append(i)
+					.append("\", \"relationships\": {\"parent\": {\"data\": {\"type\": \"node\", \"id\": \"")
+					.append(parent).append("\"}}}}");
+		}
+		byte [] apiResponse = ("{\"data\": [" + data + "]}").getBytes();
+
+		ResourceConverter nodeConverter = new ResourceConverter(RecursingNode.class);
+		List<RecursingNode> sequential = nodeConverter.readObjectCollection(apiResponse, RecursingNode.class);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			nodeConverter.setBindingPool(pool);
+			nodeConverter.setParallelBindingThreshold(1);
+			nodeConverter.enableDeserializationOption(DeserializationFeature.BIND_DATA_IN_PARALLEL);
+
+			for (int run = 0; run < 10; run++) {
+				List<RecursingNode> parallel = nodeConverter.readObjectCollection(apiResponse, RecursingNode.class);
+				Assert.assertEquals(describeParents(sequential), describeParents(parallel));
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		Assert.assertSame(sequential.get(1).getParent(), sequential.get(5).getParent());
+		Assert.assertSame(sequential.get(101), sequential.get(800).getParent());
+	}
+
+	/**
+	 * Describes parent of each node either by its position in the list, or by the first node referring to the same
+	 * instance.
+	 */
+	private List<String> describeParents(List<RecursingNode> nodes) {
+		Map<RecursingNode, Integer> positions = new IdentityHashMap<>();
+		for (int i = 0; i < nodes.size(); i++) {
+			positions.put(nodes.get(i), i);
+		}
+
+		Map<RecursingNode, Integer> referrers = new IdentityHashMap<>();
+		List<String> result = new ArrayList<>();
+
+		for (int i = 0; i < nodes.size(); i++) {
+			RecursingNode parent = nodes.get(i).getParent();
+
+			if (positions.containsKey(parent)) {
+				result.add("element " + positions.get(parent));
+			} else {
+				referrers.putIfAbsent(parent, i);
+				result.add(parent.getId() + " of " + referrers.get(parent));
+			}
+		}
+
+		return result;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelBindingNotCombinedWithStreaming() {
+		converter.enableDeserializationOption(DeserializationFeature.USE_STREAMING_PARSER);
+		converter.enableDeserializationOption(DeserializationFeature.BIND_DATA_IN_PARALLEL);
+	}
+
 	@Test
 	public void testReadWithCollectionInvalidRelationships() throws IOException {
 		String apiResponse = IOUtils.getResourceAsString("user-with-invalid-relationships.json");
@@ -0,0 +1,103 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Type;
+import com.github.jasminb.jsonapi.models.NoIdAnnotationModel;
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing functionality of precompiled resource metadata.
+ */
+public class ResourceDescriptorTest {
+
+	@Test
+	public void testCompile() throws IllegalAccessException {
+		ResourceDescriptor descriptor = ResourceDescriptor.compile(User.class);
+
+		Assert.assertEquals(User.class, descriptor.getResourceClass());
+		Assert.assertEquals("users", descriptor.getTypeName());
+		Assert.assertEquals("id", descriptor.getIdField().getName());
+		Assert.assertEquals(User.UserMeta.class, descriptor.getMetaType());
+		Assert.assertNull(descriptor.getLinksField());
+
+		RelationshipDescriptor statuses = descriptor.getRelationship("statuses");
+		Assert.assertNotNull(statuses);
+		Assert.assertEquals(Status.class, statuses.getTargetType());
+		Assert.assertEquals(1, descriptor.getRelationships().size());
+
+		User user = new User();
+		descriptor.setId(user, "userid");
+		Assert.assertEquals("userid", user.getId());
+		Assert.assertEquals("userid", descriptor.getId(user));
+	}
+
+	@Test
+	public void testFieldAccessBypassesAccessors() throws IllegalAccessException {
+		ResourceDescriptor descriptor = ResourceDescriptor.compile(Owned.class);
+
+		Owned owned = new Owned();
+		descriptor.setId(owned, "1");
+		Assert.assertEquals("1", owned.id);
+		Assert.assertEquals("1", descriptor.getId(owned));
+	}
+
+	@Test
+	public void testRelationshipFlags() {
+		ResourceDescriptor descriptor = ResourceDescriptor.compile(Status.class);
+
+		RelationshipDescriptor user = descriptor.getRelationship("user");
+		Assert.assertTrue(user.isResolve());
+		Assert.assertTrue(user.isSerialise());
+		Assert.assertEquals(User.class, user.getTargetType());
+
+		Assert.assertFalse(descriptor.getRelationship("related-user").isSerialise());
+		Assert.assertNull(descriptor.getRelationship("unknown"));
+	}
+
+	@Test
+	public void testNewInstance() throws Exception {
+		Assert.assertTrue(ResourceDescriptor.compile(User.class).newInstance() instanceof User);
+	}
+
+	@Test(expected = IllegalAccessException.class)
+	public void testNewInstanceOfInaccessibleClass() throws Exception {
+		// Same failure as with Class#newInstance
+		ResourceDescriptor.compile(Hidden.class).newInstance();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingIdAnnotation() {
+		ResourceDescriptor.compile(NoIdAnnotationModel.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingTypeAnnotation() {
+		ResourceDescriptor.compile(String.class);
+	}
+
+	@Type("hidden")
+	private static class Hidden {
+		@Id
+		private String id;
+
+		private Hidden() {
+		}
+	}
+
+	@Type("owned")
+	public static class Owned {
+		@Id
+		private String id;
+
+		public String getId() {
+			return "owner-" + id;
+		}
+
+		public void setId(String id) {
+			this.id = "owner-" + id;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.github.jasminb.jsonapi;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * Testing functionality of resource identifiers used to index included resources.
+ */
+public class ResourceIdentifierTest {
+
+	@Test
+	public void testEquality() {
+		ResourceIdentifier identifier = new ResourceIdentifier("articles", "1");
+
+		Assert.assertEquals(identifier, new ResourceIdentifier("articles", "1"));
+		Assert.assertEquals(identifier.hashCode(), new ResourceIdentifier("articles", "1").hashCode());
+		Assert.assertNotEquals(identifier, new ResourceIdentifier("people", "1"));
+		Assert.assertNotEquals(identifier, new ResourceIdentifier("articles", "2"));
+	}
+
+	@Test
+	public void testTypeAndIdAreNotConcatenated() {
+		Map<ResourceIdentifier, Object> index = ResourceIdentifier.createIndex(2);
+		index.put(new ResourceIdentifier("ab", "c"), "first");
+		index.put(new ResourceIdentifier("a", "bc"), "second");
+
+		Assert.assertEquals(2, index.size());
+		Assert.assertEquals("first", index.get(new ResourceIdentifier("ab", "c")));
+		Assert.assertEquals("second", index.get(new ResourceIdentifier("a", "bc")));
+	}
+
+	@Test
+	public void testNullValues() {
+		Assert.assertEquals(new ResourceIdentifier("articles", null), new ResourceIdentifier("articles", null));
+		Assert.assertNotEquals(new ResourceIdentifier("articles", null), new ResourceIdentifier("articles", "null"));
+	}
+}
@@ -0,0 +1,151 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.github.jasminb.jsonapi.models.Article;
+import com.github.jasminb.jsonapi.models.Author;
+import com.github.jasminb.jsonapi.models.Comment;
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Testing functionality of lazily bound collections.
+ */
+public class ResourceIteratorTest {
+	private static final String USERS = "{\"meta\": {\"first\": true}, \"data\": [" +
+			"{\"type\": \"users\", \"id\": \"1\", \"attributes\": {\"name\": \"liz\"}}, " +
+			"{\"type\": \"users\", \"id\": \"2\", \"attributes\": {\"name\": \"john\"}}], " +
+			"\"links\": {\"next\": \"users?page=2\"}, \"meta\": {\"total\": 2}}";
+
+	private ResourceConverter converter;
+
+	@Before
+	public void setup() {
+		converter = new ResourceConverter(Status.class, User.class);
+	}
+
+	@Test
+	public void testLinksAndMetaAvailableAfterEnd() {
+		ResourceIterator<User> users = converter.readObjectIterator(USERS.getBytes(), User.class);
+
+		Assert.assertTrue(users.hasNext());
+		Assert.assertEquals("liz", users.next().getName());
+
+		// Members following data were not read yet
+		Assert.assertNull(users.getLink(JSONAPISpecConstants.NEXT));
+
+		Assert.assertEquals("john", users.next().getName());
+		Assert.assertFalse(users.hasNext());
+
+		Assert.assertEquals("users?page=2", users.getLink(JSONAPISpecConstants.NEXT));
+		Assert.assertEquals(2, users.getMeta().get("total"));
+	}
+
+	@Test
+	public void testElementsBoundOnDemand() {
+		final AtomicBoolean closed = new AtomicBoolean();
+		InputStream input = new ByteArrayInputStream(USERS.getBytes()) {
+			@Override
+			public void close() throws IOException {
+				closed.set(true);
+				super.close();
+			}
+		};
+
+		try (Stream<User> users = converter.readObjectIterator(input, User.class).stream()) {
+			List<String> names = users.limit(1).map(User::getName).collect(Collectors.toList());
+			Assert.assertEquals(1, names.size());
+			Assert.assertFalse(closed.get());
+		}
+
+		Assert.assertTrue(closed.get());
+	}
+
+	@Test
+	public void testIncludedBeforeDataIsLinked() {
+		String apiResponse = "{\"included\": [{\"type\": \"users\", \"id\": \"userid\", \"attributes\": " +
+				"{\"name\": \"john\"}}], \"data\": [{\"type\": \"statuses\", \"id\": \"1\", \"relationships\": " +
+				"{\"user\": {\"data\": {\"type\": \"users\", \"id\": \"userid\"}}}}, {\"type\": \"statuses\", " +
+				"\"id\": \"2\", \"relationships\": {\"user\": {\"data\": {\"type\": \"users\", \"id\": \"userid\"}}}}]}";
+
+		ResourceIterator<Status> statuses = converter.readObjectIterator(
+				new ByteArrayInputStream(apiResponse.getBytes()), Status.class);
+
+		Status first = statuses.next();
+		Status second = statuses.next();
+
+		Assert.assertEquals("john", first.getUser().getName());
+		Assert.assertSame(first.getUser(), second.getUser());
+		Assert.assertFalse(statuses.hasNext());
+	}
+
+	@Test
+	public void testIncludedAfterDataLinkedRightAway() throws IOException {
+		ResourceIterator<Article> articles = createArticlesConverter().readObjectIterator(
+				IOUtils.getResourceAsString("articles.json").getBytes(), Article.class);
+
+		Article article = articles.next();
+
+		Assert.assertEquals("Dan", article.getAuthor().getFirstName());
+		Assert.assertEquals("I like XML better", article.getComments().get(1).getBody());
+		Assert.assertSame(article.getAuthor(), article.getComments().get(1).getAuthor());
+		Assert.assertFalse(articles.hasNext());
+	}
+
+	@Test
+	public void testIncludedAfterDataLinkedDuringIteration() {
+		String apiResponse = "{\"data\": [{\"type\": \"statuses\", \"id\": \"1\", \"relationships\": " +
+				"{\"user\": {\"data\": {\"type\": \"users\", \"id\": \"userid\"}}}}, {\"type\": \"statuses\", " +
+				"\"id\": \"2\", \"relationships\": {\"user\": {\"data\": {\"type\": \"users\", \"id\": \"userid\"}}}}], " +
+				"\"included\": [{\"type\": \"users\", \"id\": \"userid\", \"attributes\": {\"name\": \"john\"}}]}";
+
+		ResourceIterator<Status> fromBytes = converter.readObjectIterator(apiResponse.getBytes(), Status.class);
+		Assert.assertEquals("john", fromBytes.next().getUser().getName());
+
+		ResourceIterator<Status> fromBuffer = converter.readObjectIterator(
+				ByteBuffer.wrap(apiResponse.getBytes()), Status.class);
+		Assert.assertEquals("john", fromBuffer.next().getUser().getName());
+
+		List<String> names = converter.readObjectIterator(new ByteArrayInputStream(apiResponse.getBytes()),
+				Status.class).stream().map(status -> status.getUser().getName()).collect(Collectors.toList());
+		Assert.assertEquals(Arrays.asList("john", "john"), names);
+	}
+
+	@Test
+	public void testIncludedAfterDataInStreamIsLinked() throws IOException {
+		ResourceIterator<Article> articles = createArticlesConverter().readObjectIterator(
+				new ByteArrayInputStream(IOUtils.getResourceAsString("articles.json").getBytes()), Article.class);
+
+		List<Article> result = articles.stream().collect(Collectors.toList());
+
+		Assert.assertEquals(1, result.size());
+		Assert.assertEquals("Dan", result.get(0).getAuthor().getFirstName());
+		Assert.assertEquals(2, result.get(0).getComments().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExpectCollection() throws IOException {
+		converter.readObjectIterator(IOUtils.getResourceAsString("user-with-statuses.json").getBytes(),
+				User.class).hasNext();
+	}
+
+	private ResourceConverter createArticlesConverter() {
+		ObjectMapper articlesMapper = new ObjectMapper();
+		articlesMapper.setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE);
+
+		return new ResourceConverter(articlesMapper, Article.class, Author.class, Comment.class);
+	}
+}
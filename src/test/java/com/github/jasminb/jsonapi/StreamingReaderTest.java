@@ -0,0 +1,187 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.github.jasminb.jsonapi.exceptions.ResourceParseException;
+import com.github.jasminb.jsonapi.models.Article;
+import com.github.jasminb.jsonapi.models.Author;
+import com.github.jasminb.jsonapi.models.Comment;
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Testing functionality of the streaming read engine.
+ */
+public class StreamingReaderTest {
+	private ResourceConverter converter;
+
+	@Before
+	public void setup() {
+		converter = new ResourceConverter(Status.class, User.class);
+		converter.enableDeserializationOption(DeserializationFeature.USE_STREAMING_PARSER);
+	}
+
+	@Test
+	public void testReadWithIncludedSection() throws IOException {
+		String apiResponse = IOUtils.getResourceAsString("status.json");
+
+		Status status = converter.readObject(apiResponse.getBytes(), Status.class);
+
+		Assert.assertEquals("id", status.getId());
+		Assert.assertEquals("content", status.getContent());
+		Assert.assertEquals(Integer.valueOf(10), status.getLikeCount());
+
+		Assert.assertNotNull(status.getUser());
+		Assert.assertEquals("john", status.getUser().getName());
+
+		Assert.assertEquals(2, status.getUser().getStatuses().size());
+		Assert.assertEquals("id", status.getUser().getStatuses().get(0).getId());
+	}
+
+	@Test
+	public void testIncludedBeforeDataAndTypeAfterAttributes() {
+		String apiResponse = "{\"included\": [{\"attributes\": {\"name\": \"john\"}, \"id\": \"userid\", " +
+				"\"type\": \"users\"}, {\"type\": \"unknown\", \"id\": \"1\", \"attributes\": {\"a\": 1}}], " +
+				"\"data\": {\"relationships\": {\"user\": {\"data\": {\"type\": \"users\", \"id\": \"userid\"}}}, " +
+				"\"attributes\": {\"content\": \"content\"}, \"id\": \"id\", \"type\": \"statuses\"}}";
+
+		Status status = converter.readObject(apiResponse.getBytes(), Status.class);
+
+		Assert.assertEquals("id", status.getId());
+		Assert.assertEquals("content", status.getContent());
+		Assert.assertEquals("userid", status.getUser().getId());
+		Assert.assertEquals("john", status.getUser().getName());
+	}
+
+	@Test
+	public void testReadCollectionWithMeta() throws IOException {
+		String apiResponse = "{\"data\": [{\"type\": \"users\", \"id\": \"1\", \"attributes\": {\"name\": \"liz\"}}]," +
+				"\"meta\": {\"total\": 1}, \"links\": {\"next\": {\"href\": \"users?page=2\"}}}";
+
+		ResourceList<User> users = converter.readObjectCollection(apiResponse.getBytes(), User.class);
+
+		Assert.assertEquals(1, users.size());
+		Assert.assertEquals("liz", users.get(0).getName());
+		Assert.assertEquals(1, users.getMeta().get("total"));
+		Assert.assertEquals("users?page=2", users.getNext());
+	}
+
+	@Test
+	public void testReadWithMetaSection() throws IOException {
+		String apiResponse = IOUtils.getResourceAsString("user-with-meta.json");
+
+		User user = converter.readObject(apiResponse.getBytes(), User.class);
+
+		Assert.assertNotNull(user.getMeta());
+		Assert.assertEquals("asdASD123", user.getMeta().getToken());
+	}
+
+	@Test
+	public void testSameResultAsTreeEngine() throws IOException {
+		byte [] apiResponse = IOUtils.getResourceAsString("articles.json").getBytes();
+
+		ObjectMapper articlesMapper = new ObjectMapper();
+		articlesMapper.setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE);
+
+		ResourceConverter articlesConverter = new ResourceConverter(articlesMapper, Article.class, Author.class,
+				Comment.class);
+
+		List<Article> expected = articlesConverter.readObjectCollection(apiResponse, Article.class);
+
+		articlesConverter.enableDeserializationOption(DeserializationFeature.USE_STREAMING_PARSER);
+		List<Article> articles = articlesConverter.readObjectCollection(apiResponse, Article.class);
+
+		Assert.assertEquals(expected.size(), articles.size());
+
+		Article article = articles.get(0);
+		Assert.assertEquals(expected.get(0).getTitle(), article.getTitle());
+		Assert.assertEquals(expected.get(0).getAuthor().getFirstName(), article.getAuthor().getFirstName());
+		Assert.assertEquals(expected.get(0).getComments().size(), article.getComments().size());
+
+		Comment commentWithAuthor = article.getComments().get(1);
+		Assert.assertEquals("I like XML better", commentWithAuthor.getBody());
+		Assert.assertSame(article.getAuthor(), commentWithAuthor.getAuthor());
+	}
+
+	@Test
+	public void testSparseFieldsets() {
+		String apiResponse = "{\"data\": {\"type\": \"statuses\", \"id\": \"1\", \"attributes\": {\"content\": " +
+				"\"content\", \"likeCount\": {\"not\": \"a number\"}}, \"relationships\": {\"user\": {\"data\": " +
+				"{\"type\": \"users\", \"id\": \"u\"}}}}, \"included\": [{\"type\": \"users\", \"id\": \"u\", " +
+				"\"attributes\": {\"name\": \"john\"}, \"relationships\": {\"statuses\": {\"data\": " +
+				"[{\"type\": \"statuses\", \"id\": \"1\"}]}}}]}";
+
+		DeserializationSettings settings = new DeserializationSettings.Builder()
+				.fields("statuses", "content", "user")
+				.fields("users", "name")
+				.build();
+
+		// Like count cannot be bound, which would fail the read if it were not skipped
+		Status status = converter.readObject(apiResponse.getBytes(), Status.class, settings);
+
+		Assert.assertEquals("content", status.getContent());
+		Assert.assertNull(status.getLikeCount());
+		Assert.assertEquals("john", status.getUser().getName());
+		Assert.assertNull(status.getUser().getStatuses());
+
+		converter.enableDeserializationOption(DeserializationFeature.BIND_INCLUDED_ON_DEMAND);
+		status = converter.readObject(apiResponse.getBytes(), Status.class, settings);
+
+		Assert.assertEquals("john", status.getUser().getName());
+		Assert.assertNull(status.getUser().getStatuses());
+	}
+
+	@Test
+	public void testBindIncludedOnDemand() {
+		converter.enableDeserializationOption(DeserializationFeature.BIND_INCLUDED_ON_DEMAND);
+
+		String apiResponse = "{\"data\": {\"type\": \"statuses\", \"id\": \"1\", \"relationships\": {\"user\": " +
+				"{\"data\": {\"type\": \"users\", \"id\": \"u\"}}}}, \"included\": [" +
+				"{\"type\": \"statuses\", \"id\": \"3\", \"attributes\": {\"likeCount\": {\"not\": \"a number\"}}}, " +
+				"{\"type\": \"users\", \"id\": \"u\", \"attributes\": {\"name\": \"john\"}, \"relationships\": " +
+				"{\"statuses\": {\"data\": [{\"type\": \"statuses\", \"id\": \"2\"}]}}}, " +
+				"{\"type\": \"statuses\", \"id\": \"2\", \"attributes\": {\"content\": \"second\"}, " +
+				"\"relationships\": {\"user\": {\"data\": {\"type\": \"users\", \"id\": \"u\"}}}}]}";
+
+		// Status '3' cannot be bound, which would fail the read if it were not skipped
+		Status status = converter.readObject(apiResponse.getBytes(), Status.class);
+
+		Assert.assertEquals("john", status.getUser().getName());
+		Assert.assertEquals(1, status.getUser().getStatuses().size());
+
+		Status second = status.getUser().getStatuses().get(0);
+		Assert.assertEquals("second", second.getContent());
+		Assert.assertSame(status.getUser(), second.getUser());
+	}
+
+	@Test(expected = ResourceParseException.class)
+	public void testErrorsTakePrecedence() throws IOException {
+		converter.readObject("{\"data\": [], \"errors\": [{\"title\": \"title\"}]}".getBytes(), User.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExpectCollection() throws IOException {
+		converter.readObjectCollection(IOUtils.getResourceAsString("user-with-statuses.json").getBytes(), User.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExpectObject() throws IOException {
+		converter.readObject(IOUtils.getResourceAsString("users.json").getBytes(), User.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExpectData() {
+		converter.readObject("{}".getBytes(), User.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDataNodeMustBeAnObject() {
+		converter.readObject("{\"data\" : \"attribute\"}".getBytes(), User.class);
+	}
+}
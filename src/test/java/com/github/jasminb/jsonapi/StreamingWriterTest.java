@@ -0,0 +1,213 @@
+package com.github.jasminb.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Type;
+import com.github.jasminb.jsonapi.models.Article;
+import com.github.jasminb.jsonapi.models.Author;
+import com.github.jasminb.jsonapi.models.Comment;
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import com.github.jasminb.jsonapi.models.inheritance.City;
+import com.github.jasminb.jsonapi.models.inheritance.Engineer;
+import com.github.jasminb.jsonapi.models.inheritance.EngineeringField;
+import com.github.jasminb.jsonapi.models.recursion.Node;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Testing functionality of the streaming write engine.
+ */
+public class StreamingWriterTest {
+
+	@Test
+	public void testSameResultAsTreeEngine() throws Exception {
+		ResourceConverter converter = new ResourceConverter(Status.class, User.class);
+
+		Status status = converter.readObject(IOUtils.getResourceAsString("status.json").getBytes(), Status.class);
+		status.setRelatedUser(status.getUser());
+		assertSameOutput(converter, status);
+
+		User user = converter.readObject(IOUtils.getResourceAsString("user-with-statuses.json").getBytes(),
+				User.class);
+		assertSameOutput(converter, user);
+
+		User userWithMeta = converter.readObject(IOUtils.getResourceAsString("user-with-meta.json").getBytes(),
+				User.class);
+		assertSameOutput(converter, userWithMeta);
+	}
+
+	@Test
+	public void testNamingStrategyAndCollection() throws Exception {
+		ObjectMapper articlesMapper = new ObjectMapper();
+		articlesMapper.setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE);
+
+		ResourceConverter converter = new ResourceConverter(articlesMapper, Article.class, Author.class,
+				Comment.class);
+
+		List<Article> articles = converter.readObjectCollection(IOUtils.getResourceAsString("articles.json")
+				.getBytes(), Article.class);
+
+		assertSameOutput(converter, articles.get(0));
+		assertSameOutput(converter, articles.get(0).getAuthor());
+
+		byte [] expected = converter.writeObjectCollection(articles);
+
+		converter.enableSerializationOption(SerializationFeature.USE_STREAMING_GENERATOR);
+		Assert.assertEquals(new String(expected), new String(converter.writeObjectCollection(articles)));
+	}
+
+	@Test
+	public void testInheritedAnnotations() throws Exception {
+		ResourceConverter converter = new ResourceConverter(Engineer.class, EngineeringField.class, City.class);
+
+		Engineer engineer = converter.readObject(IOUtils.getResourceAsString("engineer.json").getBytes(),
+				Engineer.class);
+
+		assertSameOutput(converter, engineer);
+	}
+
+	@Test
+	public void testTreeFallback() throws Exception {
+		ResourceConverter converter = new ResourceConverter(Typed.class);
+
+		Typed typed = new Typed();
+		typed.id = "1";
+		typed.name = "name";
+
+		assertSameOutput(converter, typed);
+
+		byte [] written = new ResourceConverter(Typed.class).writeObjectCollection(Collections.singletonList(typed));
+		Assert.assertTrue(new String(written).contains("\"@class\""));
+	}
+
+	@Test
+	public void testCompoundDocumentByPath() throws Exception {
+		ObjectMapper articlesMapper = new ObjectMapper();
+		articlesMapper.setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE);
+
+		ResourceConverter converter = new ResourceConverter(articlesMapper, Article.class, Author.class,
+				Comment.class);
+
+		List<Article> articles = converter.readObjectCollection(IOUtils.getResourceAsString("articles.json")
+				.getBytes(), Article.class);
+
+		SerializationSettings settings = new SerializationSettings.Builder()
+				.includeRelationships("author", "comments.author").build();
+
+		byte [] written = converter.writeObjectCollection(articles, settings);
+
+		// Author 9 wrote the article as well as one of the comments, but is included once
+		Assert.assertEquals(Arrays.asList("people:9", "comments:5", "comments:12", "people:2"),
+				getIncluded(articlesMapper, written));
+
+		List<Article> result = converter.readObjectCollection(written, Article.class);
+		Assert.assertEquals("9", result.get(0).getAuthor().getId());
+		Assert.assertEquals("2", result.get(0).getComments().get(0).getAuthor().getId());
+		Assert.assertEquals("Dan", result.get(0).getComments().get(1).getAuthor().getFirstName());
+
+		settings = new SerializationSettings.Builder().includeRelationships("comments").build();
+		Assert.assertEquals(Arrays.asList("comments:5", "comments:12"),
+				getIncluded(articlesMapper, converter.writeObject(articles.get(0), settings)));
+	}
+
+	@Test
+	public void testCompoundDocumentByDepth() throws Exception {
+		ObjectMapper articlesMapper = new ObjectMapper();
+		articlesMapper.setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE);
+
+		ResourceConverter converter = new ResourceConverter(articlesMapper, Article.class, Author.class,
+				Comment.class);
+
+		Article article = converter.readObjectCollection(IOUtils.getResourceAsString("articles.json").getBytes(),
+				Article.class).get(0);
+
+		SerializationSettings settings = new SerializationSettings.Builder().includeDepth(1).build();
+		Assert.assertEquals(Arrays.asList("people:9", "comments:5", "comments:12"),
+				getIncluded(articlesMapper, converter.writeObject(article, settings)));
+
+		settings = new SerializationSettings.Builder().includeDepth(2).build();
+		Assert.assertEquals(Arrays.asList("people:9", "comments:5", "comments:12", "people:2"),
+				getIncluded(articlesMapper, converter.writeObject(article, settings)));
+
+		// Without included resources, output is the same as the one written without settings
+		Assert.assertEquals(new String(converter.writeObject(article)),
+				new String(converter.writeObject(article, new SerializationSettings.Builder().build())));
+	}
+
+	@Test
+	public void testCompoundDocumentWithCycles() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		ResourceConverter converter = new ResourceConverter(mapper, Node.class);
+
+		Node root = new Node();
+		root.setId("root");
+		Node child = new Node();
+		child.setId("child");
+		Node grandchild = new Node();
+		grandchild.setId("grandchild");
+
+		child.setParent(root);
+		grandchild.setParent(child);
+		root.setNode(child);
+		child.setNode(grandchild);
+		grandchild.setNode(root);
+
+		SerializationSettings settings = new SerializationSettings.Builder().includeDepth(Integer.MAX_VALUE).build();
+		Assert.assertEquals(Arrays.asList("node:child", "node:grandchild"),
+				getIncluded(mapper, converter.writeObject(root, settings)));
+
+		settings = new SerializationSettings.Builder().includeRelationships("parent.parent.parent.parent").build();
+		Assert.assertEquals(Arrays.asList("node:child", "node:root"),
+				getIncluded(mapper, converter.writeObject(grandchild, settings)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIncludeByPathAndDepth() {
+		new SerializationSettings.Builder().includeRelationships("author").includeDepth(1).build();
+	}
+
+	private List<String> getIncluded(ObjectMapper mapper, byte [] document) throws Exception {
+		List<String> result = new ArrayList<>();
+
+		JsonNode included = mapper.readTree(document).get(JSONAPISpecConstants.INCLUDED);
+
+		if (included != null) {
+			for (JsonNode resource : included) {
+				result.add(resource.get(JSONAPISpecConstants.TYPE).asText() + ":" +
+						resource.get(JSONAPISpecConstants.ID).asText());
+			}
+		}
+
+		return result;
+	}
+
+	private void assertSameOutput(ResourceConverter converter, Object object) throws Exception {
+		converter.disableSerializationOption(SerializationFeature.USE_STREAMING_GENERATOR);
+		String expected = new String(converter.writeObject(object));
+
+		converter.enableSerializationOption(SerializationFeature.USE_STREAMING_GENERATOR);
+		String actual = new String(converter.writeObject(object));
+
+		converter.disableSerializationOption(SerializationFeature.USE_STREAMING_GENERATOR);
+
+		Assert.assertEquals(expected, actual);
+	}
+
+	@Type("typed")
+	@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+	public static class Typed {
+		@Id
+		public String id;
+
+		public String name;
+	}
+}
@@ -0,0 +1,127 @@
+package com.github.jasminb.jsonapi;
+
+import com.github.jasminb.jsonapi.models.Article;
+import com.github.jasminb.jsonapi.models.Author;
+import com.github.jasminb.jsonapi.models.Comment;
+import com.github.jasminb.jsonapi.models.Status;
+import com.github.jasminb.jsonapi.models.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Testing functionality of per-converter type registries.
+ */
+public class TypeRegistryTest {
+
+	@Test
+	public void testRegistryIsShared() {
+		TypeRegistry registry = TypeRegistry.of(Status.class, User.class);
+
+		Assert.assertSame(registry, TypeRegistry.of(Status.class, User.class));
+		Assert.assertSame(registry.getDescriptor(User.class), TypeRegistry.of(User.class).getDescriptor(User.class));
+		Assert.assertSame(registry.getDescriptor(User.class), registry.getDescriptor("users"));
+	}
+
+	@Test
+	public void testLastClassWinsTypeName() {
+		Class<?> other = com.github.jasminb.jsonapi.models.collectionparsing.Article.class;
+
+		Assert.assertEquals(other, TypeRegistry.of(Article.class, other).getDescriptor("articles").getResourceClass());
+		Assert.assertEquals(Article.class,
+				TypeRegistry.of(other, Article.class).getDescriptor("articles").getResourceClass());
+
+		// Both classes remain registered
+		Assert.assertTrue(TypeRegistry.of(Article.class, other).isRegistered(Article.class));
+	}
+
+	@Test
+	public void testRegistryNotCachedAcrossUnrelatedLoaders() throws Exception {
+		URL classes = Status.class.getProtectionDomain().getCodeSource().getLocation();
+
+		try (URLClassLoader first = new ModelLoader(classes); URLClassLoader second = new ModelLoader(classes)) {
+			// Models from two sibling loaders, neither of which can see the other
+			Class<?> user = first.loadClass(User.class.getName());
+			Class<?> status = second.loadClass(Status.class.getName());
+
+			Assert.assertNotSame(TypeRegistry.of(status, user), TypeRegistry.of(status, user));
+			Assert.assertNotNull(TypeRegistry.of(status, user).getDescriptor("users"));
+		}
+	}
+
+	@Test
+	public void testRelationshipTargets() {
+		TypeRegistry registry = TypeRegistry.of(Article.class, Author.class, Comment.class);
+
+		Assert.assertTrue(registry.isRelationshipTarget(Author.class));
+		Assert.assertTrue(registry.isRelationshipTarget(Comment.class));
+		Assert.assertFalse(registry.isRelationshipTarget(Article.class));
+	}
+
+	@Test
+	public void testConvertersDoNotShareTypes() {
+		ResourceConverter statusConverter = new ResourceConverter(Status.class, User.class);
+		ResourceConverter articleConverter = new ResourceConverter(Article.class, Author.class, Comment.class);
+
+		Assert.assertTrue(statusConverter.isRegisteredType(Status.class));
+		Assert.assertFalse(statusConverter.isRegisteredType(Article.class));
+		Assert.assertFalse(articleConverter.isRegisteredType(Status.class));
+		Assert.assertNull(new ResourceConverter(User.class).getDescriptor("statuses"));
+	}
+
+	@Test
+	public void testConcurrentConstruction() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		try {
+			List<Future<ResourceConverter>> futures = new ArrayList<>();
+
+			for (int i = 0; i < 64; i++) {
+				futures.add(executor.submit(new Callable<ResourceConverter>() {
+					@Override
+					public ResourceConverter call() {
+						return new ResourceConverter(Article.class, Author.class, Comment.class);
+					}
+				}));
+			}
+
+			ResourceDescriptor expected = TypeRegistry.of(Article.class, Author.class, Comment.class)
+					.getDescriptor("articles");
+
+			for (Future<ResourceConverter> future : futures) {
+				Assert.assertSame(expected, future.get().getDescriptor(Article.class));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Defines model classes itself, delegating everything else to the test class loader.
+	 */
+	private static class ModelLoader extends URLClassLoader {
+		ModelLoader(URL classes) {
+			super(new URL[] {classes}, TypeRegistryTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			synchronized (getClassLoadingLock(name)) {
+				if (!name.startsWith(User.class.getPackage().getName() + ".")) {
+					return super.loadClass(name, resolve);
+				}
+
+				Class<?> clazz = findLoadedClass(name);
+				return clazz != null ? clazz : findClass(name);
+			}
+		}
+	}
+}
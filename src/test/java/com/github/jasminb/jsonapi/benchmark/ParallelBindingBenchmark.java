@@ -0,0 +1,88 @@
+package com.github.jasminb.jsonapi.benchmark;
+
+import com.github.jasminb.jsonapi.DeserializationFeature;
+import com.github.jasminb.jsonapi.ResourceConverter;
+import com.github.jasminb.jsonapi.benchmark.RelationshipBindingBenchmark.Node;
+import com.github.jasminb.jsonapi.benchmark.RelationshipBindingBenchmark.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how binding of <code>data</code> arrays of different sizes scales with the number of threads binding
+ * them, which is what the parallel binding threshold should be tuned by. Parallelism of <code>0</code> stands for
+ * sequential binding on the calling thread, otherwise arrays of any size are bound in parallel.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.jasminb.jsonapi.benchmark.ParallelBindingBenchmark</code> or from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParallelBindingBenchmark {
+	@Param({"0", "2", "4", "8"})
+	private int parallelism;
+
+	@Param({"128", "512", "10000"})
+	private int size;
+
+	private ResourceConverter converter;
+	private ForkJoinPool pool;
+	private byte [] collection;
+
+	@Setup
+	public void setup() throws Exception {
+		converter = new ResourceConverter(Node.class, Tag.class);
+
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			nodes.add(Node.create(String.valueOf(i)));
+		}
+
+		collection = converter.writeObjectCollection(nodes);
+
+		if (parallelism > 0) {
+			pool = new ForkJoinPool(parallelism);
+			converter.setBindingPool(pool);
+			converter.setParallelBindingThreshold(1);
+			converter.enableDeserializationOption(DeserializationFeature.BIND_DATA_IN_PARALLEL);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	@Benchmark
+	public Object readCollection() {
+		return converter.readObjectCollection(collection, Node.class);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ParallelBindingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,140 @@
+package com.github.jasminb.jsonapi.benchmark;
+
+import com.github.jasminb.jsonapi.ResourceConverter;
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Relationship;
+import com.github.jasminb.jsonapi.annotations.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binding of resources declaring many relationships, where most of the time goes into id and relationship
+ * field access rather than attribute parsing.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.jasminb.jsonapi.benchmark.RelationshipBindingBenchmark</code> or from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RelationshipBindingBenchmark {
+	private static final int COLLECTION_SIZE = 100;
+
+	private ResourceConverter converter;
+	private byte [] collection;
+	private List<Node> nodes;
+
+	@Setup
+	public void setup() throws Exception {
+		converter = new ResourceConverter(Node.class, Tag.class);
+
+		nodes = new ArrayList<>();
+		for (int i = 0; i < COLLECTION_SIZE; i++) {
+			nodes.add(Node.create(String.valueOf(i)));
+		}
+
+		collection = converter.writeObjectCollection(nodes);
+	}
+
+	@Benchmark
+	public Object readCollection() {
+		return converter.readObjectCollection(collection, Node.class);
+	}
+
+	@Benchmark
+	public Object writeCollection() throws Exception {
+		return converter.writeObjectCollection(nodes);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RelationshipBindingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Type("tags")
+	public static class Tag {
+		@Id
+		public String id;
+
+		public String name;
+
+		static Tag create(String id) {
+			Tag tag = new Tag();
+			tag.id = id;
+			tag.name = "tag-" + id;
+			return tag;
+		}
+	}
+
+	@Type("nodes")
+	public static class Node {
+		@Id
+		public String id;
+
+		public String title;
+
+		@Relationship("r1")
+		public Tag r1;
+
+		@Relationship("r2")
+		public Tag r2;
+
+		@Relationship("r3")
+		public Tag r3;
+
+		@Relationship("r4")
+		public Tag r4;
+
+		@Relationship("r5")
+		public Tag r5;
+
+		@Relationship("r6")
+		public Tag r6;
+
+		@Relationship("r7")
+		public Tag r7;
+
+		@Relationship("r8")
+		public Tag r8;
+
+		@Relationship("tags")
+		public List<Tag> tags;
+
+		static Node create(String id) {
+			Node node = new Node();
+			node.id = id;
+			node.title = "node-" + id;
+			node.r1 = Tag.create(id + "-1");
+			node.r2 = Tag.create(id + "-2");
+			node.r3 = Tag.create(id + "-3");
+			node.r4 = Tag.create(id + "-4");
+			node.r5 = Tag.create(id + "-5");
+			node.r6 = Tag.create(id + "-6");
+			node.r7 = Tag.create(id + "-7");
+			node.r8 = Tag.create(id + "-8");
+			node.tags = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				node.tags.add(Tag.create(id + "-t" + i));
+			}
+			return node;
+		}
+	}
+}
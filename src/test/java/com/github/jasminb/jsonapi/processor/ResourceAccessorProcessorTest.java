@@ -0,0 +1,166 @@
+package com.github.jasminb.jsonapi.processor;
+
+import com.github.jasminb.jsonapi.ResourceAccessor;
+import com.github.jasminb.jsonapi.ResourceConverter;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiles resource classes with the processor enabled and checks that generated accessors are picked up by the
+ * converter.
+ */
+public class ResourceAccessorProcessorTest {
+	private static final String BOOK = "package library;\n" +
+			"import com.github.jasminb.jsonapi.annotations.*;\n" +
+			"@Type(\"books\")\n" +
+			"public class Book {\n" +
+			"  @Id private String isbn;\n" +
+			"  private String title;\n" +
+			"  @Relationship(\"author\") private Author author;\n" +
+			"  private boolean isbnSetter;\n" +
+			"  public String getIsbn() { return isbn; }\n" +
+			"  public void setIsbn(String isbn) { this.isbn = isbn; this.isbnSetter = true; }\n" +
+			"  public boolean isIsbnSetter() { return isbnSetter; }\n" +
+			"  public String getTitle() { return title; }\n" +
+			"  public void setTitle(String title) { this.title = title; }\n" +
+			"  public Author getAuthor() { return author; }\n" +
+			"  public void setAuthor(Author author) { this.author = author; }\n" +
+			"}\n";
+
+	private static final String AUTHOR = "package library;\n" +
+			"import com.github.jasminb.jsonapi.annotations.*;\n" +
+			"import java.util.List;\n" +
+			"@Type(\"authors\")\n" +
+			"public class Author {\n" +
+			"  @Id String id;\n" +
+			"  public String name;\n" +
+			"  @Relationship(\"books\") List<Book> books;\n" +
+			"  public static class Hidden {\n" +
+			"    @Type(\"hidden\") private static class Secret { @Id String id; }\n" +
+			"  }\n" +
+			"}\n";
+
+	private File output;
+
+	@Before
+	public void setup() throws Exception {
+		output = Files.createTempDirectory("processor").toFile();
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		FileUtils.deleteDirectory(output);
+	}
+
+	@Test
+	public void testGeneratedAccessorIsUsed() throws Exception {
+		try (URLClassLoader loader = compile()) {
+			Class<?> bookClass = loader.loadClass("library.Book");
+			Class<?> authorClass = loader.loadClass("library.Author");
+
+			Assert.assertTrue(ResourceAccessor.class.isAssignableFrom(
+					loader.loadClass("library.Book" + ResourceAccessor.SUFFIX)));
+			Assert.assertTrue(ResourceAccessor.class.isAssignableFrom(
+					loader.loadClass("library.Author" + ResourceAccessor.SUFFIX)));
+
+			ResourceConverter converter = new ResourceConverter(bookClass, authorClass);
+
+			String apiResponse = "{\"data\": {\"type\": \"books\", \"id\": \"1\", \"attributes\": {\"title\": " +
+					"\"Dune\"}, \"relationships\": {\"author\": {\"data\": {\"type\": \"authors\", \"id\": \"2\"}}}}, " +
+					"\"included\": [{\"type\": \"authors\", \"id\": \"2\", \"attributes\": {\"name\": \"Frank\"}, " +
+					"\"relationships\": {\"books\": {\"data\": [{\"type\": \"books\", \"id\": \"1\"}]}}}]}";
+
+			Object book = converter.readObject(apiResponse.getBytes(), bookClass);
+
+			// Private id field can only be set through its setter by generated code
+			Assert.assertEquals(Boolean.TRUE, bookClass.getMethod("isIsbnSetter").invoke(book));
+			Assert.assertEquals("1", bookClass.getMethod("getIsbn").invoke(book));
+
+			Object author = bookClass.getMethod("getAuthor").invoke(book);
+			Assert.assertEquals("Frank", authorClass.getField("name").get(author));
+
+			String written = new String(converter.writeObject(book));
+			Assert.assertTrue(written.contains("\"author\":{\"data\":{\"type\":\"authors\",\"id\":\"2\"}}"));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFieldsAccessedBySlot() throws Exception {
+		try (URLClassLoader loader = compile()) {
+			ResourceAccessor<Object> accessor = (ResourceAccessor<Object>) loader.loadClass(
+					"library.Book" + ResourceAccessor.SUFFIX).newInstance();
+
+			int isbn = accessor.slot("isbn");
+			int author = accessor.slot("author");
+			Assert.assertNotEquals(isbn, author);
+
+			Object book = accessor.newInstance();
+			accessor.set(book, isbn, "1");
+
+			Assert.assertEquals("1", accessor.get(book, isbn));
+			Assert.assertNull(accessor.get(book, author));
+
+			try {
+				accessor.slot("title");
+				Assert.fail("Non-annotated field must not have a slot");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testPrivateClassIsSkipped() throws Exception {
+		try (URLClassLoader loader = compile()) {
+			Assert.assertNotNull(loader.loadClass("library.Author$Hidden$Secret"));
+			Assert.assertNull(loader.getResource("library/Author_Hidden_Secret" + ResourceAccessor.SUFFIX + ".class"));
+		}
+	}
+
+	private URLClassLoader compile() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+		String classpath = new File(ResourceAccessor.class.getProtectionDomain().getCodeSource().getLocation()
+				.toURI()).getPath();
+
+		List<String> options = Arrays.asList("-d", output.getPath(), "-classpath", classpath);
+		List<JavaFileObject> sources = Arrays.asList(source("library/Book", BOOK), source("library/Author", AUTHOR));
+
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, sources);
+		task.setProcessors(Collections.singletonList(new ResourceAccessorProcessor()));
+
+		boolean success = task.call();
+		Assert.assertTrue(diagnostics.getDiagnostics().toString(), success);
+
+		return new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader());
+	}
+
+	private JavaFileObject source(String name, final String content) {
+		return new SimpleJavaFileObject(URI.create("string:///" + name + JavaFileObject.Kind.SOURCE.extension),
+				JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return content;
+			}
+		};
+	}
+}